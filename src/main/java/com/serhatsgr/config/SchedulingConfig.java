@@ -0,0 +1,10 @@
+package com.serhatsgr.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Periyodik işler (ör. puan istatistiği mutabakatı) için
+}
@@ -4,6 +4,7 @@ import com.serhatsgr.dto.DtoCategory;
 import com.serhatsgr.dto.DtoCategoryIU;
 import com.serhatsgr.dto.ApiSuccess;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -11,9 +12,9 @@ public interface ICategoryController {
 
     ResponseEntity<ApiSuccess<DtoCategory>> createCategory(DtoCategoryIU dtoCategoryIU);
 
-    ResponseEntity<ApiSuccess<List<DtoCategory>>> getAllCategories();
+    ResponseEntity<ApiSuccess<List<DtoCategory>>> getAllCategories(WebRequest webRequest);
 
-    ResponseEntity<ApiSuccess<DtoCategory>> getCategoryById(Long id);
+    ResponseEntity<ApiSuccess<DtoCategory>> getCategoryById(Long id, WebRequest webRequest);
 
     ResponseEntity<ApiSuccess<String>> deleteCategory(Long id);
 
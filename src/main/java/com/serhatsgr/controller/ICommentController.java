@@ -14,4 +14,10 @@ public interface ICommentController {
     ResponseEntity<ApiSuccess<Void>> deleteComment(Long id, String username);
 
     ResponseEntity<ApiSuccess<List<CommentResponse>>> getCommentsByFilm(Long filmId);
+
+    ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getRootComments(Long filmId, Integer size, String cursor);
+
+    ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getReplies(Long commentId, Integer size, String cursor);
+
+    ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getThread(Long commentId, Integer size, String cursor);
 }
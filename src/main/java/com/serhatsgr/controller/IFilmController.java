@@ -1,10 +1,13 @@
 package com.serhatsgr.controller;
 
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.dto.ApiSuccess;
 import com.serhatsgr.entity.ListingType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,7 +15,11 @@ public interface IFilmController {
 
     ResponseEntity<ApiSuccess<DtoFilm>> createFilm(DtoFilmIU dto);
 
-    ResponseEntity<ApiSuccess<List<DtoFilm>>> getAllFilms(ListingType type);
+    ResponseEntity<ApiSuccess<List<DtoFilm>>> getAllFilms(ListingType type, WebRequest webRequest);
+
+    ResponseEntity<ApiSuccess<CursorPage<DtoFilm>>> getFilmPage(ListingType type, Integer size, String cursor, WebRequest webRequest);
+
+    ResponseEntity<ApiSuccess<CursorPage<DtoFilmSummary>>> getFilmSummaryPage(ListingType type, Integer size, String cursor, WebRequest webRequest);
 
     ResponseEntity<ApiSuccess<DtoFilm>> getFilmById(Long id);
 
@@ -21,4 +28,6 @@ public interface IFilmController {
     ResponseEntity<ApiSuccess<DtoFilm>> updateFilm(DtoFilmIU dtoFilm, Long id);
 
      ResponseEntity<ApiSuccess<List<DtoFilm>>>searchFilms(String query);
+
+    ResponseEntity<ApiSuccess<List<DtoFilmSummary>>> autocomplete(String query, Integer limit);
 }
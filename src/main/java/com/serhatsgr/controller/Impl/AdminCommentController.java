@@ -0,0 +1,55 @@
+package com.serhatsgr.controller.Impl;
+
+import com.serhatsgr.dto.ApiSuccess;
+import com.serhatsgr.dto.BulkModerationRequest;
+import com.serhatsgr.dto.BulkModerationResponse;
+import com.serhatsgr.dto.CommentImportResponse;
+import com.serhatsgr.service.Impl.CommentMigrationService;
+import com.serhatsgr.service.Impl.CommentModerationService;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/rest/api/admin/comments")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCommentController {
+
+    private final CommentModerationService commentModerationService;
+    private final CommentMigrationService commentMigrationService;
+
+    @PostMapping("/moderation")
+    public ResponseEntity<ApiSuccess<BulkModerationResponse>> moderate(@Valid @RequestBody BulkModerationRequest request) {
+        return ResponseEntity.ok(ApiSuccess.of("Toplu moderasyon uygulandı", commentModerationService.moderate(request)));
+    }
+
+    // Kullanıcının tüm görünür yorumlarını gizler; dönen değer gizlenen yorum sayısıdır
+    @PostMapping("/users/{userId}/hide")
+    public ResponseEntity<ApiSuccess<Integer>> hideAllByUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(ApiSuccess.of("Kullanıcının yorumları gizlendi", commentModerationService.hideAllByUser(userId)));
+    }
+
+    // Gövde NDJSON akışı olarak okunur (her satır bir yorum); üst yorum, yanıtlarından önce gelmeli
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiSuccess<CommentImportResponse>> importComments(InputStream body) {
+        return ResponseEntity.ok(ApiSuccess.of("Yorumlar içe aktarıldı", commentMigrationService.importNdjson(body)));
+    }
+
+    // Yanıt gövdesine doğrudan yazılır; tüm yorumlar bellekte toplanmaz
+    @GetMapping("/export")
+    public void exportComments(@RequestParam(required = false) Long filmId, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"comments.ndjson\"");
+        commentMigrationService.exportNdjson(filmId, response.getOutputStream());
+    }
+}
@@ -0,0 +1,57 @@
+package com.serhatsgr.controller.Impl;
+
+import com.serhatsgr.dto.ApiSuccess;
+import com.serhatsgr.dto.CacheStatsResponse;
+import com.serhatsgr.dto.CommentRateLimitStatsResponse;
+import com.serhatsgr.dto.CommentSpamStatsResponse;
+import com.serhatsgr.dto.CommentStreamStatsResponse;
+import com.serhatsgr.service.Impl.CommentRateLimitService;
+import com.serhatsgr.service.Impl.CommentSpamFilterService;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.UserPrincipalCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/rest/api/admin/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminMetricsController {
+
+    private final FilmCacheService filmCacheService;
+    private final CommentStreamService commentStreamService;
+    private final CommentRateLimitService commentRateLimitService;
+    private final CommentSpamFilterService commentSpamFilterService;
+    private final UserPrincipalCacheService userPrincipalCacheService;
+
+    // Cache boyutlandırması için hit/miss/eviction sayaçları
+    @GetMapping("/caches")
+    public ResponseEntity<ApiSuccess<List<CacheStatsResponse>>> getCacheStats() {
+        return ResponseEntity.ok(ApiSuccess.of("Cache istatistikleri", List.of(filmCacheService.stats(), userPrincipalCacheService.stats())));
+    }
+
+    // Abone sayısı ve yetişemeyen (kuyruğu taşan) abone sayısı
+    @GetMapping("/comment-streams")
+    public ResponseEntity<ApiSuccess<CommentStreamStatsResponse>> getCommentStreamStats() {
+        return ResponseEntity.ok(ApiSuccess.of("Yorum akışı istatistikleri", commentStreamService.stats()));
+    }
+
+    // Yorum yazma sınırlayıcısının kabul/ret sayaçları
+    @GetMapping("/comment-rate-limit")
+    public ResponseEntity<ApiSuccess<CommentRateLimitStatsResponse>> getCommentRateLimitStats() {
+        return ResponseEntity.ok(ApiSuccess.of("Yorum sınırlayıcı istatistikleri", commentRateLimitService.stats()));
+    }
+
+    // Kopya/spam filtresinin kullanıcı ve global pencere ret sayaçları
+    @GetMapping("/comment-spam")
+    public ResponseEntity<ApiSuccess<CommentSpamStatsResponse>> getCommentSpamStats() {
+        return ResponseEntity.ok(ApiSuccess.of("Yorum spam filtresi istatistikleri", commentSpamFilterService.stats()));
+    }
+}
@@ -1,6 +1,7 @@
 package com.serhatsgr.controller.Impl;
 
 import com.serhatsgr.controller.ICategoryController;
+import com.serhatsgr.dto.CatalogVersion;
 import com.serhatsgr.dto.DtoCategory;
 import com.serhatsgr.dto.DtoCategoryIU;
 import com.serhatsgr.exception.BaseException;
@@ -8,8 +9,10 @@ import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.dto.ApiSuccess;
 import com.serhatsgr.service.ICategoryService;
+import com.serhatsgr.service.Impl.CatalogVersionService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +21,11 @@ import java.util.List;
 public class CategoryController implements ICategoryController {
 
     private final ICategoryService categoryService;
+    private final CatalogVersionService catalogVersionService;
 
-    public CategoryController(ICategoryService categoryService) {
+    public CategoryController(ICategoryService categoryService, CatalogVersionService catalogVersionService) {
         this.categoryService = categoryService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     // category create
@@ -42,7 +47,10 @@ public class CategoryController implements ICategoryController {
     // category list
     @GetMapping("/list")
     @Override
-    public ResponseEntity<ApiSuccess<List<DtoCategory>>> getAllCategories() {
+    public ResponseEntity<ApiSuccess<List<DtoCategory>>> getAllCategories(WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         try {
             List<DtoCategory> categories = categoryService.getAllCategories();
             return ResponseEntity.ok(ApiSuccess.of("Kategoriler başarıyla listelendi.", categories));
@@ -58,7 +66,10 @@ public class CategoryController implements ICategoryController {
     // category get by id
     @GetMapping("/list/{id}")
     @Override
-    public ResponseEntity<ApiSuccess<DtoCategory>> getCategoryById(@PathVariable Long id) {
+    public ResponseEntity<ApiSuccess<DtoCategory>> getCategoryById(@PathVariable Long id, WebRequest webRequest) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         try {
             DtoCategory category = categoryService.getCategoryById(id);
             return ResponseEntity.ok(ApiSuccess.of("Kategori başarıyla bulundu.", category));
@@ -105,4 +116,10 @@ public class CategoryController implements ICategoryController {
             );
         }
     }
+
+    // İstemcideki katalog sürümü güncelse gövde hiç üretilmeden 304 Not Modified döner
+    private boolean isNotModified(WebRequest webRequest) {
+        CatalogVersion version = catalogVersionService.currentVersion();
+        return webRequest.checkNotModified(version.eTag(), version.lastModified());
+    }
 }
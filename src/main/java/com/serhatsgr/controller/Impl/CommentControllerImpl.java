@@ -5,13 +5,16 @@ import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.service.ICommentService;
+import com.serhatsgr.service.Impl.CommentStreamService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -22,6 +25,7 @@ import java.util.List;
 public class CommentControllerImpl {
 
     private final ICommentService commentService;
+    private final CommentStreamService commentStreamService;
 
     // Comment create
     @PostMapping("/save")
@@ -94,4 +98,72 @@ public class CommentControllerImpl {
             throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Yorumlar getirilirken hata oluştu"));
         }
     }
+
+    // get root comments of a film (newest first, cursor paginated)
+    @GetMapping("/film/{filmId}/threads")
+    public ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getRootComments(
+            @PathVariable Long filmId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            CursorPage<CommentResponse> page = commentService.getRootComments(filmId, size, cursor);
+            log.info("Film ID: {} için yorum sayfası listelendi. Adet: {}", filmId, page.items().size());
+            return ResponseEntity.ok(ApiSuccess.of("Yorumlar başarıyla getirildi", page));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Yorumlar getirilirken hata: {}", e.getMessage(), e);
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Yorumlar getirilirken hata oluştu"));
+        }
+    }
+
+    // get direct replies of a comment (oldest first, cursor paginated)
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            CursorPage<CommentResponse> page = commentService.getReplies(commentId, size, cursor);
+            return ResponseEntity.ok(ApiSuccess.of("Yanıtlar başarıyla getirildi", page));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Yanıtlar getirilirken hata: {}", e.getMessage(), e);
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Yanıtlar getirilirken hata oluştu"));
+        }
+    }
+
+    // get a comment with its whole subtree, pre-ordered with depth (cursor paginated)
+    @GetMapping("/{commentId}/thread")
+    public ResponseEntity<ApiSuccess<CursorPage<CommentResponse>>> getThread(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor
+    ) {
+        try {
+            CursorPage<CommentResponse> page = commentService.getThread(commentId, size, cursor);
+            return ResponseEntity.ok(ApiSuccess.of("Yorum zinciri başarıyla getirildi", page));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Yorum zinciri getirilirken hata: {}", e.getMessage(), e);
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Yorum zinciri getirilirken hata oluştu"));
+        }
+    }
+
+    // Filmdeki yorum değişikliklerini (CREATED/UPDATED/DELETED) SSE ile iter; istemci thread'i tekrar tekrar çekmez
+    @GetMapping(value = "/film/{filmId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFilmComments(@PathVariable Long filmId) {
+        try {
+            return commentStreamService.subscribe(filmId);
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Yorum akışı açılırken hata: {}", e.getMessage(), e);
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Yorum akışı açılırken hata oluştu"));
+        }
+    }
 }
@@ -2,16 +2,21 @@ package com.serhatsgr.controller.Impl;
 
 import com.serhatsgr.controller.IFilmController;
 import com.serhatsgr.dto.ApiSuccess;
+import com.serhatsgr.dto.CatalogVersion;
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.ListingType;
 import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.service.IFilmService;
+import com.serhatsgr.service.Impl.CatalogVersionService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -20,9 +25,11 @@ import java.util.List;
 public class FilmControllerImpl implements IFilmController {
 
     private final IFilmService filmService;
+    private final CatalogVersionService catalogVersionService;
 
-    public FilmControllerImpl(IFilmService filmService) {
+    public FilmControllerImpl(IFilmService filmService, CatalogVersionService catalogVersionService) {
         this.filmService = filmService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     // --- CREATE ---
@@ -45,8 +52,12 @@ public class FilmControllerImpl implements IFilmController {
     @GetMapping(path = "/list")
     @Override
     public ResponseEntity<ApiSuccess<List<DtoFilm>>> getAllFilms(
-            @RequestParam(required = false) ListingType type
+            @RequestParam(required = false) ListingType type,
+            WebRequest webRequest
     ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
         try {
             List<DtoFilm> films = filmService.getAllFilms(type);
             return ResponseEntity.ok(ApiSuccess.of("İçerikler başarıyla listelendi.", films));
@@ -59,7 +70,56 @@ public class FilmControllerImpl implements IFilmController {
         }
     }
 
+    // --- GET PAGE (keyset) ---
+    @GetMapping(path = "/page")
+    @Override
+    public ResponseEntity<ApiSuccess<CursorPage<DtoFilm>>> getFilmPage(
+            @RequestParam(required = false) ListingType type,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        try {
+            CursorPage<DtoFilm> page = filmService.getFilmPage(type, size, cursor);
+            return ResponseEntity.ok(ApiSuccess.of("İçerikler başarıyla listelendi.", page));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BaseException(
+                    new ErrorMessage(MessageType.INTERNAL_ERROR, "İçerikler listelenirken hata oluştu")
+            );
+        }
+    }
+
+    // --- GET SUMMARY PAGE (grid görünümü) ---
+    @GetMapping(path = "/summary")
+    @Override
+    public ResponseEntity<ApiSuccess<CursorPage<DtoFilmSummary>>> getFilmSummaryPage(
+            @RequestParam(required = false) ListingType type,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            WebRequest webRequest
+    ) {
+        if (isNotModified(webRequest)) {
+            return null;
+        }
+        try {
+            CursorPage<DtoFilmSummary> page = filmService.getFilmSummaryPage(type, size, cursor);
+            return ResponseEntity.ok(ApiSuccess.of("İçerikler başarıyla listelendi.", page));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BaseException(
+                    new ErrorMessage(MessageType.INTERNAL_ERROR, "İçerikler listelenirken hata oluştu")
+            );
+        }
+    }
+
     // --- GET BY ID ---
+    // Detay cevabı oy/yorum sayaçlarını taşır; katalog ETag'i bunlarla ilerlemediği için koşullu GET uygulanmaz
     @GetMapping(path = "/list/{id}")
     @Override
     public ResponseEntity<ApiSuccess<DtoFilm>> getFilmById(@PathVariable(name = "id") Long id) {
@@ -124,4 +184,24 @@ public class FilmControllerImpl implements IFilmController {
         }
     }
 
-}
\ No newline at end of file
+    // --- AUTOCOMPLETE ---
+    @GetMapping("/autocomplete")
+    public ResponseEntity<ApiSuccess<List<DtoFilmSummary>>> autocomplete(@RequestParam String query,
+                                                                        @RequestParam(required = false) Integer limit) {
+        try {
+            List<DtoFilmSummary> results = filmService.autocomplete(query, limit);
+            return ResponseEntity.ok(ApiSuccess.of("Öneriler", results));
+        } catch (BaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Öneriler getirilirken hata oluştu"));
+        }
+    }
+
+    // İstemcideki katalog sürümü güncelse gövde hiç üretilmeden 304 Not Modified döner
+    private boolean isNotModified(WebRequest webRequest) {
+        CatalogVersion version = catalogVersionService.currentVersion();
+        return webRequest.checkNotModified(version.eTag(), version.lastModified());
+    }
+
+}
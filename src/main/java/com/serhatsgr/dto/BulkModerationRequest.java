@@ -0,0 +1,24 @@
+package com.serhatsgr.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkModerationRequest(
+        @NotEmpty(message = "Yorum ID listesi boş olamaz")
+        @Size(max = 5000, message = "Tek istekte en fazla 5000 yorum işlenebilir")
+        List<@NotNull(message = "Yorum ID boş olamaz") Long> commentIds,
+
+        @NotNull(message = "Moderasyon işlemi boş olamaz")
+        Action action
+) {
+
+    public enum Action {
+        // İçerik gizlenir, yorum thread'de "[Silindi]" olarak kalır
+        SOFT_DELETE,
+        // Yorum tüm alt yanıtlarıyla birlikte kalıcı olarak silinir
+        DELETE
+    }
+}
@@ -0,0 +1,7 @@
+package com.serhatsgr.dto;
+
+public record BulkModerationResponse(
+        BulkModerationRequest.Action action,
+        int requestedCount,
+        int affectedCount
+) {}
@@ -0,0 +1,8 @@
+package com.serhatsgr.dto;
+
+/**
+ * Film/kategori kataloğunun o anki sürümü.
+ * eTag tırnaklı (strong) ETag değeridir; lastModified epoch milisaniyedir.
+ */
+public record CatalogVersion(String eTag, long lastModified) {
+}
@@ -0,0 +1,19 @@
+package com.serhatsgr.dto;
+
+/**
+ * Film yorum akışına (SSE) gönderilen değişiklik. Hard delete'te comment boştur,
+ * soft delete'te "[Silindi]" yer tutucusu gönderilir.
+ */
+public record CommentEvent(
+        Type type,
+        Long filmId,
+        Long commentId,
+        CommentResponse comment
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,13 @@
+package com.serhatsgr.dto;
+
+import java.util.List;
+
+/**
+ * Toplu içe aktarımın özeti; errors sadece ilk birkaç reddedilen satırı içerir, skippedCount hepsini sayar.
+ */
+public record CommentImportResponse(
+        long readCount,
+        long importedCount,
+        long skippedCount,
+        List<String> errors
+) {}
@@ -0,0 +1,22 @@
+package com.serhatsgr.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * Toplu içe/dışa aktarımda NDJSON'un bir satırı. Yanıtlar üst yoruma kaynak sistemdeki kimlikle
+ * (externalId) bağlanır; üst yorum, yanıtlarından önceki bir satırda gelmelidir.
+ * Dışa aktarımda externalId yorumun kendi ID'sidir, böylece çıktı olduğu gibi geri yüklenebilir.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CommentNdjsonLine(
+        String externalId,
+        String parentExternalId,
+        Long filmId,
+        String username,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Boolean deleted
+) {}
@@ -0,0 +1,11 @@
+package com.serhatsgr.dto;
+
+/**
+ * Yorum yazma sınırlayıcısının anlık durumu; rejectedCount 429 ile reddedilen istek sayısıdır.
+ */
+public record CommentRateLimitStatsResponse(
+        boolean enabled,
+        int trackedUserCount,
+        long allowedCount,
+        long rejectedCount
+) {}
@@ -13,5 +13,7 @@ public record CommentResponse(
         boolean isAuthorBanned,
         boolean isDeleted,
         Long parentCommentId,
+        long replyCount,
+        int depth,
         List<CommentResponse> replies
 ) {}
@@ -0,0 +1,13 @@
+package com.serhatsgr.dto;
+
+/**
+ * Kopya/spam yorum filtresinin anlık durumu; reddedilenler kullanıcı ve global pencereye göre ayrı sayılır.
+ */
+public record CommentSpamStatsResponse(
+        boolean enabled,
+        long trackedUserCount,
+        int globalWindowSize,
+        long checkedCount,
+        long userRejectedCount,
+        long globalRejectedCount
+) {}
@@ -0,0 +1,16 @@
+package com.serhatsgr.dto;
+
+/**
+ * Yorum akışı (SSE) dağıtıcısının anlık durumu; overflowCount yavaş abonelerin, stalledCount gönderimi
+ * zaman aşımına uğrayan abonelerin düşürülme sayısıdır; dispatchThreadCount takılan gönderimler için
+ * büyütülmüş olabilecek dağıtıcı havuzunun anlık boyutudur.
+ */
+public record CommentStreamStatsResponse(
+        int subscriberCount,
+        int filmCount,
+        long publishedCount,
+        long deliveredCount,
+        long overflowCount,
+        long stalledCount,
+        int dispatchThreadCount
+) {}
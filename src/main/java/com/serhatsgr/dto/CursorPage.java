@@ -0,0 +1,96 @@
+package com.serhatsgr.dto;
+
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset (cursor) tabanlı sayfalama cevabı.
+ * nextCursor istemci için opak bir değerdir, bir sonraki sayfa isteğinde aynen geri gönderilir.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasNext
+) {
+
+    private static final String PREFIX = "id:";
+    private static final String KEY_PREFIX = "key:";
+
+    /**
+     * Sorgudan (size + 1) kayıt çekildiği varsayılır; fazladan gelen kayıt bir sonraki sayfanın varlığını gösterir.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idExtractor) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, size);
+        Long lastId = idExtractor.apply(items.get(size - 1));
+        return new CursorPage<>(List.copyOf(items), encodeCursor(lastId), true);
+    }
+
+    /**
+     * ID yerine sıralı bir metin anahtarıyla (ör. yorum yolu) sayfalanan sorgular için.
+     */
+    public static <T> CursorPage<T> ofKey(List<T> fetched, int size, Function<T, String> keyExtractor) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, size);
+        String lastKey = keyExtractor.apply(items.get(size - 1));
+        return new CursorPage<>(List.copyOf(items), encode(KEY_PREFIX + lastKey), true);
+    }
+
+    public static String encodeCursor(Long lastId) {
+        return encode(PREFIX + lastId);
+    }
+
+    public static Long decodeCursor(String cursor) {
+        String value = decode(cursor, PREFIX);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalidCursor();
+        }
+    }
+
+    public static String encodeKeyCursor(String lastKey) {
+        return encode(KEY_PREFIX + lastKey);
+    }
+
+    public static String decodeKeyCursor(String cursor) {
+        return decode(cursor, KEY_PREFIX);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor, String prefix) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith(prefix)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return raw.substring(prefix.length());
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static BaseException invalidCursor() {
+        return new BaseException(new ErrorMessage(MessageType.BAD_REQUEST, "Geçersiz sayfa imleci."));
+    }
+}
@@ -31,6 +31,8 @@ public class DtoFilm {
 
     private Integer ratingCount;
 
+    private Integer commentCount;
+
     private ListingType listingType;
 
 }
@@ -4,6 +4,7 @@ public class DtoFilmSummary {
     private Long id;
     private String title;
     private String posterUrl;
+    private Double averageRating;
 
     public DtoFilmSummary(Long id, String title, String posterUrl) {
         this.title = title;
@@ -11,6 +12,12 @@ public class DtoFilmSummary {
         this.id=id;
     }
 
+    // JPQL constructor expression ile doğrudan sorgudan oluşturulur (description okunmaz)
+    public DtoFilmSummary(Long id, String title, String posterUrl, Double averageRating) {
+        this(id, title, posterUrl);
+        this.averageRating = averageRating != null ? averageRating : 0.0;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
 
@@ -29,4 +36,7 @@ public class DtoFilmSummary {
     public void setPosterUrl(String posterUrl) {
         this.posterUrl = posterUrl;
     }
+
+    public Double getAverageRating() { return averageRating; }
+    public void setAverageRating(Double averageRating) { this.averageRating = averageRating; }
 }
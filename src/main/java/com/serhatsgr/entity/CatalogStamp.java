@@ -0,0 +1,39 @@
+package com.serhatsgr.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Katalog sürümünün tek satırı (id = 1). Film/kategori ekleme, güncelleme ve silmede artırılır.
+ */
+@Entity
+@Table(name = "catalog_version")
+public class CatalogStamp {
+
+    public static final short ID = 1;
+
+    @Id
+    private Short id;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CatalogStamp() {
+    }
+
+    public CatalogStamp(Short id, Long version, LocalDateTime updatedAt) {
+        this.id = id;
+        this.version = version;
+        this.updatedAt = updatedAt;
+    }
+
+    public Short getId() { return id; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
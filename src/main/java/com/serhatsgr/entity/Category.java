@@ -1,6 +1,8 @@
 package com.serhatsgr.entity;
 
 import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -21,6 +23,9 @@ public class Category {
     @ManyToMany(mappedBy = "categories")
     private Set<Film> films = new HashSet<>();
 
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     public Category() {
     }
 
@@ -49,6 +54,10 @@ public class Category {
         return films;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // === Setters ===
     public void setId(Long id) {
         this.id = id;
@@ -66,6 +75,16 @@ public class Category {
         this.films = films;
     }
 
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // === Helper Methods ===
     public void addFilm(Film film) {
         if (film == null) return;
@@ -22,6 +22,14 @@ public class Comment {
     private LocalDateTime updatedAt;
     private boolean isDeleted = false;
 
+    // Kökten bu yoruma kadar sabit genişlikli ID segmentleri; path sırası = thread'in ön-sıralı (pre-order) dizilişi
+    @Column(length = 1000)
+    private String path;
+
+    // Doğrudan yanıt sayısı (soft-delete edilmiş yanıtlar dahil, thread'de yer tuttukları için); atomik UPDATE ile değişir
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    private int replyCount = 0;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -140,6 +148,12 @@ public class Comment {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
+
+    public int getReplyCount() { return replyCount; }
+    public void setReplyCount(int replyCount) { this.replyCount = replyCount; }
+
     public boolean isDeleted() { return isDeleted; }
     public void setDeleted(boolean deleted) { isDeleted = deleted; }
 
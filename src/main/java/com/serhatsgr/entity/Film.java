@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Objects;
@@ -48,9 +49,24 @@ public class Film {
     @OneToMany(mappedBy = "film", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Comment> comments = new HashSet<>();
 
+    // Oy istatistikleri sadece atomik UPDATE ile değişir, entity kaydı eski değeri yazmasın diye updatable=false
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0;
+
+    @Column(name = "rating_count", updatable = false)
     private Integer ratingCount = 0;
 
+    // Artımlı ortalama için oyların toplamı (average = ratingSum / ratingCount)
+    @Column(name = "rating_sum", nullable = false, updatable = false)
+    private Long ratingSum = 0L;
+
+    // Silinmemiş yorum sayısı; sadece atomik UPDATE ile değişir, entity kaydı eski değeri yazmasın diye updatable=false
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private Integer commentCount = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
     public Film() {
     }
 
@@ -151,6 +167,24 @@ public class Film {
 
     public void setRatingCount(Integer ratingCount) { this.ratingCount = ratingCount; }
 
+    public Long getRatingSum() { return ratingSum; }
+
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+
+    public Integer getCommentCount() { return commentCount; }
+
+    public void setCommentCount(Integer commentCount) { this.commentCount = commentCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
 
     // --- Helper methods ---
 
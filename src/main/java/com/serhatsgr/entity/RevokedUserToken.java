@@ -0,0 +1,32 @@
+package com.serhatsgr.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Silinen kullanıcının iptal kaydı; kullanıcı satırı olmadığı için token sürümü burada kalıcı tutulur.
+ */
+@Entity
+@Table(name = "revoked_user_tokens")
+public class RevokedUserToken {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    public RevokedUserToken() {
+    }
+
+    public RevokedUserToken(Long userId, LocalDateTime revokedAt) {
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public LocalDateTime getRevokedAt() { return revokedAt; }
+}
@@ -42,6 +42,10 @@ public class User implements UserDetails {
     private boolean isEnabled = true;
 
 
+    // Artırıldığında bu kullanıcıya daha önce verilmiş access tokenlar geçersiz olur
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @Column(length = 20)
     private String provider; // "LOCAL" veya "GOOGLE"
 
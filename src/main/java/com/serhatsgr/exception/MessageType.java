@@ -11,6 +11,7 @@ public enum MessageType {
     NOT_FOUND("1001", "error.not_found", HttpStatus.NOT_FOUND),
     METHOD_NOT_ALLOWED("1002", "error.method_not_allowed", HttpStatus.METHOD_NOT_ALLOWED),
     UNSUPPORTED_MEDIA_TYPE("1004", "error.unsupported_media_type", HttpStatus.UNSUPPORTED_MEDIA_TYPE),
+    TOO_MANY_REQUESTS("1005", "error.too_many_requests", HttpStatus.TOO_MANY_REQUESTS),
     VALIDATION_ERROR("1100", "error.validation", HttpStatus.BAD_REQUEST),
 
     // 2xxx - auth
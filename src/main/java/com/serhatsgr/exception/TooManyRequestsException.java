@@ -0,0 +1,16 @@
+package com.serhatsgr.exception;
+
+// Hız sınırı aşıldığında fırlatılır; bekleme süresi Retry-After header'ı olarak döner
+public class TooManyRequestsException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(new ErrorMessage(MessageType.TOO_MANY_REQUESTS, message));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
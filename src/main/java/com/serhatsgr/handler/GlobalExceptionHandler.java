@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -124,6 +125,11 @@ public class GlobalExceptionHandler {
         String finalMessage = (em != null && em.getOfStatic() != null) ? em.getOfStatic() : baseMessage;
 
         ApiError apiError = buildApiError(status, finalMessage, code, request.getRequestURI(), resolveTraceId(request), null);
+        if (ex instanceof TooManyRequestsException tooMany) {
+            return ResponseEntity.status(status)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(tooMany.getRetryAfterSeconds()))
+                    .body(apiError);
+        }
         return ResponseEntity.status(status).body(apiError);
     }
 
@@ -30,7 +30,7 @@ public class CategoryMapper {
 
         // Film başlıklarını ve poster URL'lerini bir listeye dönüştürme
         List<DtoFilmSummary> filmSummary = category.getFilms().stream()
-                .map(film -> new DtoFilmSummary(film.getId(), film.getTitle(), film.getPosterUrl()))
+                .map(film -> new DtoFilmSummary(film.getId(), film.getTitle(), film.getPosterUrl(), film.getAverageRating()))
                 .collect(Collectors.toList());
 
         dtoCategory.setFilmSummaries(filmSummary);
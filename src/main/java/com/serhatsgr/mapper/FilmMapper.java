@@ -7,6 +7,7 @@ import com.serhatsgr.entity.Film;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -31,6 +32,15 @@ public class FilmMapper {
     }
 
     public DtoFilm toDto(Film film){
+        List<String> category=film.getCategories().stream()
+                .map(Category::getName)
+                .collect(Collectors.toList());
+
+        return toDto(film, category);
+    }
+
+    // Kategori adları önceden (toplu sorguyla) yüklendiyse lazy koleksiyona dokunmadan dönüştürür
+    public DtoFilm toDto(Film film, List<String> categoryNames){
         DtoFilm dto =new DtoFilm();
         dto.setId(film.getId());
         dto.setTitle(film.getTitle());
@@ -41,12 +51,8 @@ public class FilmMapper {
         dto.setListingType(film.getListingType());
         dto.setAverageRating(film.getAverageRating() != null ? film.getAverageRating() : 0.0);
         dto.setRatingCount(film.getRatingCount() != null ? film.getRatingCount() : 0);
-
-        List<String> category=film.getCategories().stream()
-                .map(Category::getName)
-                .collect(Collectors.toList());
-
-        dto.setCategorys(category);
+        dto.setCommentCount(film.getCommentCount() != null ? film.getCommentCount() : 0);
+        dto.setCategorys(categoryNames != null ? categoryNames : List.of());
 
         return dto;
     }
@@ -58,6 +64,12 @@ public class FilmMapper {
                 .collect(Collectors.toList());
     }
 
+    public List<DtoFilm> toDtoList(List<Film> films, Map<Long, List<String>> categoryNamesByFilmId) {
+        return films.stream()
+                .map(film -> toDto(film, categoryNamesByFilmId.getOrDefault(film.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     public void updateEntity(Film film, DtoFilmIU dto, Set<Category> categories) {
         film.setTitle(dto.getTitle());
         film.setDescription(dto.getDescription());
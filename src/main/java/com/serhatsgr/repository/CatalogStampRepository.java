@@ -0,0 +1,16 @@
+package com.serhatsgr.repository;
+
+import com.serhatsgr.entity.CatalogStamp;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface CatalogStampRepository extends JpaRepository<CatalogStamp, Short> {
+
+    // Satır kilidi commit'e kadar tutulur; katalog yazmaları (admin) bu satırda sıralanır
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CatalogStamp s SET s.version = s.version + 1, s.updatedAt = :now WHERE s.id = " + CatalogStamp.ID)
+    int bump(LocalDateTime now);
+}
@@ -0,0 +1,168 @@
+package com.serhatsgr.repository;
+
+import com.serhatsgr.dto.CommentNdjsonLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Toplu yorum taşıma (NDJSON içe/dışa aktarım) için JDBC erişimi.
+ * ID'ler sequence'tan önceden alınır; böylece path insert anında yazılır ve satırlar tek batch'te gider.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CommentBatchRepository {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('comments', 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO comments (id, content, created_at, updated_at, user_id, film_id, parent_comment_id, is_deleted, path, reply_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String ADD_REPLY_COUNT_SQL = "UPDATE comments SET reply_count = reply_count + ? WHERE id = ?";
+
+    private static final String ADD_COMMENT_COUNT_SQL =
+            "UPDATE films SET comment_count = comment_count + ? WHERE id = ?";
+
+    // Path sırası thread'in ön-sıralı dizilişidir: üst yorum her zaman yanıtlarından önce yazılır
+    private static final String EXPORT_SQL =
+            "SELECT c.id, c.parent_comment_id, c.film_id, u.username, c.content, c.created_at, c.updated_at, c.is_deleted " +
+            "FROM comments c JOIN users u ON u.id = c.user_id ";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record CommentInsert(long id, Long parentId, long filmId, long userId, String content,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, boolean deleted, String path) {}
+
+    public record ParentComment(long id, long filmId, String path) {}
+
+    public List<Long> allocateIds(int count) {
+        return jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, count);
+    }
+
+    public Map<String, Long> findUserIdsByUsernames(Collection<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (usernames.isEmpty()) {
+            return ids;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT id, username FROM users WHERE username IN (:usernames)",
+                new MapSqlParameterSource("usernames", usernames),
+                rs -> {
+                    ids.put(rs.getString("username"), rs.getLong("id"));
+                });
+        return ids;
+    }
+
+    public Set<Long> findExistingFilmIds(Collection<Long> filmIds) {
+        if (filmIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "SELECT id FROM films WHERE id IN (:filmIds)",
+                new MapSqlParameterSource("filmIds", filmIds),
+                Long.class));
+    }
+
+    // Önceki parçalarda yazılmış üst yorumların film ve path bilgisi; içe aktarım bunları bellekte tutmaz
+    public Map<Long, ParentComment> findParentComments(Collection<Long> ids) {
+        Map<Long, ParentComment> parents = new HashMap<>();
+        if (ids.isEmpty()) {
+            return parents;
+        }
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(
+                "SELECT id, film_id, path FROM comments WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    parents.put(rs.getLong("id"), new ParentComment(rs.getLong("id"), rs.getLong("film_id"), rs.getString("path")));
+                });
+        return parents;
+    }
+
+    public void insertComments(List<CommentInsert> rows, int batchSize) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, row) -> {
+            ps.setLong(1, row.id());
+            ps.setString(2, row.content());
+            ps.setTimestamp(3, Timestamp.valueOf(row.createdAt()));
+            ps.setTimestamp(4, row.updatedAt() != null ? Timestamp.valueOf(row.updatedAt()) : null);
+            ps.setLong(5, row.userId());
+            ps.setLong(6, row.filmId());
+            if (row.parentId() != null) {
+                ps.setLong(7, row.parentId());
+            } else {
+                ps.setNull(7, Types.BIGINT);
+            }
+            ps.setBoolean(8, row.deleted());
+            ps.setString(9, row.path());
+        });
+    }
+
+    public void addReplyCounts(Map<Long, Integer> deltas, int batchSize) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_REPLY_COUNT_SQL, new ArrayList<>(deltas.entrySet()), batchSize, (ps, delta) -> {
+            ps.setInt(1, delta.getValue());
+            ps.setLong(2, delta.getKey());
+        });
+    }
+
+    public void addFilmCommentCounts(Map<Long, Integer> deltas, int batchSize) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ADD_COMMENT_COUNT_SQL, new ArrayList<>(deltas.entrySet()), batchSize, (ps, delta) -> {
+            ps.setInt(1, delta.getValue());
+            ps.setLong(2, delta.getKey());
+        });
+    }
+
+    /**
+     * Yorumları path sırasıyla sunucu tarafı imleçle okur; fetchSize kadar satırdan fazlası bellekte tutulmaz.
+     * PostgreSQL sürücüsü imleci sadece transaction içinde (autocommit kapalı) kullanır.
+     */
+    public void streamComments(Long filmId, int fetchSize, Consumer<CommentNdjsonLine> consumer) {
+        String sql = EXPORT_SQL + (filmId != null ? "WHERE c.film_id = ? " : "") + "ORDER BY c.path";
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(fetchSize);
+            if (filmId != null) {
+                ps.setLong(1, filmId);
+            }
+            return ps;
+        }, rs -> {
+            long parentId = rs.getLong("parent_comment_id");
+            boolean root = rs.wasNull();
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            consumer.accept(new CommentNdjsonLine(
+                    String.valueOf(rs.getLong("id")),
+                    root ? null : String.valueOf(parentId),
+                    rs.getLong("film_id"),
+                    rs.getString("username"),
+                    rs.getString("content"),
+                    rs.getTimestamp("created_at").toLocalDateTime(),
+                    updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                    rs.getBoolean("is_deleted")
+            ));
+        });
+    }
+}
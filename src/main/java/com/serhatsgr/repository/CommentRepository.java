@@ -1,16 +1,137 @@
 package com.serhatsgr.repository;
 
 import com.serhatsgr.entity.Comment;
-import com.serhatsgr.entity.Film;
+import com.serhatsgr.repository.projection.CommentRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByFilm(Film film);
-
     void deleteByUserId(Long userId);
+
+    // Soft/hard delete kararı için: replies koleksiyonu yüklenmeden (parent_comment_id, id) index'inden bakılır
+    boolean existsByParentCommentId(Long parentCommentId);
+
+    // Tek satır silme; entity remove'daki replies cascade'i (koleksiyonun yüklenmesi) devreye girmez
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Comment c WHERE c.id = :id")
+    int deleteRowById(Long id);
+
+    // --- Tek sorguda yorum + yazar + üst yorum ID'si (CommentRow) ---
+
+    String COMMENT_ROW = "SELECT new com.serhatsgr.repository.projection.CommentRow(" +
+            "c.id, c.content, c.createdAt, c.updatedAt, u.username, u.id, c.film.id, c.isDeleted, p.id, c.path, c.replyCount) " +
+            "FROM Comment c JOIN c.user u LEFT JOIN c.parentComment p ";
+
+    // (film_id, created_at) index'i sırasıyla okunur
+    @Query(COMMENT_ROW + "WHERE c.film.id = :filmId ORDER BY c.createdAt ASC, c.id ASC")
+    List<CommentRow> findRowsByFilmId(Long filmId);
+
+    // --- Thread sayfalama (keyset) ---
+    // ID'ler oluşturulma sırasıyla artar: ana yorumlar en yeni önce (id DESC), yanıtlar en eski önce (id ASC)
+
+    @Query(COMMENT_ROW + "WHERE c.film.id = :filmId AND c.parentComment IS NULL ORDER BY c.id DESC")
+    List<CommentRow> findFirstRootPage(Long filmId, Limit limit);
+
+    @Query(COMMENT_ROW + "WHERE c.film.id = :filmId AND c.parentComment IS NULL AND c.id < :lastId ORDER BY c.id DESC")
+    List<CommentRow> findRootPageBefore(Long filmId, Long lastId, Limit limit);
+
+    @Query(COMMENT_ROW + "WHERE p.id = :parentId ORDER BY c.id ASC")
+    List<CommentRow> findFirstReplyPage(Long parentId, Limit limit);
+
+    @Query(COMMENT_ROW + "WHERE p.id = :parentId AND c.id > :lastId ORDER BY c.id ASC")
+    List<CommentRow> findReplyPageAfter(Long parentId, Long lastId, Limit limit);
+
+    // --- Materialized path: alt ağaç tek aralık taramasıyla, ön-sıralı gelir ---
+
+    @Query("SELECT c.path FROM Comment c WHERE c.id = :id")
+    Optional<String> findPathById(Long id);
+
+    // [fromPath, toPath) aralığı: yorumun kendisi + tüm alt yanıtları
+    @Query(COMMENT_ROW + "WHERE c.path >= :fromPath AND c.path < :toPath ORDER BY c.path")
+    List<CommentRow> findFirstSubtreePage(String fromPath, String toPath, Limit limit);
+
+    @Query(COMMENT_ROW + "WHERE c.path > :afterPath AND c.path < :toPath ORDER BY c.path")
+    List<CommentRow> findSubtreePageAfter(String afterPath, String toPath, Limit limit);
+
+    // --- Yanıt sayacı (denormalize) ---
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE comments SET reply_count = reply_count + :delta WHERE id = :commentId", nativeQuery = true)
+    int adjustReplyCount(Long commentId, int delta);
+
+    // Sayacı gerçek doğrudan yanıt sayısıyla uyuşmayan yorumlar (mutabakat işi için)
+    @Query(value = "SELECT p.id FROM comments p " +
+            "WHERE p.reply_count <> (SELECT COUNT(*) FROM comments c WHERE c.parent_comment_id = p.id)",
+            nativeQuery = true)
+    List<Long> findCommentIdsWithReplyCountDrift();
+
+    @Query(value = "SELECT id FROM comments WHERE id = :commentId FOR UPDATE", nativeQuery = true)
+    Long lockForReplyCountUpdate(Long commentId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE comments SET " +
+            "reply_count = (SELECT COUNT(*) FROM comments c WHERE c.parent_comment_id = :commentId) " +
+            "WHERE id = :commentId", nativeQuery = true)
+    int recomputeReplyCount(Long commentId);
+
+    // --- Toplu moderasyon (set-based; yorum başına entity yüklenmez) ---
+
+    @Query("SELECT DISTINCT c.film.id FROM Comment c WHERE c.id IN :ids")
+    List<Long> findDistinctFilmIdsByIdIn(Collection<Long> ids);
+
+    /**
+     * Henüz silinmemiş yorumları tek UPDATE ile gizler ve film sayaçlarını aynı ifadede düşer.
+     * Etkilenen yorum sayısını döner.
+     */
+    @Query(value = "WITH hidden AS (" +
+            "UPDATE comments SET is_deleted = TRUE, content = 'Bu yorum silindi.', updated_at = :now " +
+            "WHERE id IN (:ids) AND is_deleted IS NOT TRUE RETURNING film_id), " +
+            "film_counts AS (" +
+            "UPDATE films f SET comment_count = f.comment_count - h.cnt " +
+            "FROM (SELECT film_id, COUNT(*) AS cnt FROM hidden GROUP BY film_id) h WHERE f.id = h.film_id) " +
+            "SELECT COUNT(*) FROM hidden", nativeQuery = true)
+    int bulkSoftDelete(Collection<Long> ids, LocalDateTime now);
+
+    /**
+     * Yorumları tüm alt ağaçlarıyla (path aralığı) tek DELETE ile siler; film sayaçlarını ve silinmeyen
+     * üst yorumların yanıt sayaçlarını aynı ifadede düşer. Silinen satır sayısını döner.
+     */
+    @Query(value = "WITH targets AS (SELECT path FROM comments WHERE id IN (:ids)), " +
+            "removed AS (" +
+            "DELETE FROM comments c USING targets t " +
+            "WHERE c.path >= t.path AND c.path < t.path || ':' " +
+            "RETURNING c.id, c.film_id, c.parent_comment_id, c.is_deleted), " +
+            "film_counts AS (" +
+            "UPDATE films f SET comment_count = f.comment_count - r.cnt " +
+            "FROM (SELECT film_id, COUNT(*) AS cnt FROM removed WHERE is_deleted IS NOT TRUE GROUP BY film_id) r " +
+            "WHERE f.id = r.film_id), " +
+            "reply_counts AS (" +
+            "UPDATE comments p SET reply_count = p.reply_count - r.cnt " +
+            "FROM (SELECT parent_comment_id, COUNT(*) AS cnt FROM removed WHERE parent_comment_id IS NOT NULL GROUP BY parent_comment_id) r " +
+            "WHERE p.id = r.parent_comment_id AND p.id NOT IN (SELECT id FROM removed)) " +
+            "SELECT COUNT(*) FROM removed", nativeQuery = true)
+    int bulkDeleteWithReplies(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT c.film.id FROM Comment c WHERE c.user.id = :userId AND c.isDeleted = false")
+    List<Long> findDistinctVisibleFilmIdsByUserId(Long userId);
+
+    // Kullanıcının görünür tüm yorumlarını tek UPDATE ile gizler, film sayaçlarını aynı ifadede düşer
+    @Query(value = "WITH hidden AS (" +
+            "UPDATE comments SET is_deleted = TRUE, content = 'Bu yorum silindi.', updated_at = :now " +
+            "WHERE user_id = :userId AND is_deleted IS NOT TRUE RETURNING film_id), " +
+            "film_counts AS (" +
+            "UPDATE films f SET comment_count = f.comment_count - h.cnt " +
+            "FROM (SELECT film_id, COUNT(*) AS cnt FROM hidden GROUP BY film_id) h WHERE f.id = h.film_id) " +
+            "SELECT COUNT(*) FROM hidden", nativeQuery = true)
+    int bulkSoftDeleteByUserId(Long userId, LocalDateTime now);
 }
@@ -1,12 +1,19 @@
 package com.serhatsgr.repository;
 
 import com.serhatsgr.entity.Favorite;
+import com.serhatsgr.entity.Film;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
 public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
     List<Favorite> findAllByUserId(Long userId);
+
+    // Filmleri tek join sorgusuyla getirir (EAGER film ilişkisinin satır başına ek select'ini önler)
+    @Query("SELECT x.film FROM Favorite x WHERE x.user.id = :userId ORDER BY x.id")
+    List<Film> findFilmsByUserId(Long userId);
+
     Optional<Favorite> findByUserIdAndFilmId(Long userId, Long filmId);
     boolean existsByUserIdAndFilmId(Long userId, Long filmId);
 }
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.serhatsgr.repository;
 
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.ListingType;
+import com.serhatsgr.repository.projection.FilmCategoryName;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Repository
 public interface FilmRepository extends JpaRepository<Film, Long> {
@@ -23,6 +31,121 @@ public interface FilmRepository extends JpaRepository<Film, Long> {
 
     List<Film> findAllByListingType(ListingType listingType);
 
-    List<Film> findByTitleContainingIgnoreCase(String title);
+    // Tam metin (tsvector/GIN) + trigram (pg_trgm) ile sıralı arama; sadece PostgreSQL
+    @Query(value = "SELECT f.* FROM films f " +
+            "WHERE f.search_vector @@ to_tsquery('simple', :tsQuery) OR f.title % :term " +
+            "ORDER BY ts_rank(f.search_vector, to_tsquery('simple', :tsQuery)) DESC, " +
+            "similarity(f.title, :term) DESC, f.id DESC " +
+            "LIMIT :maxResults", nativeQuery = true)
+    List<Film> searchRanked(String tsQuery, String term, int maxResults);
+
+    // --- Keyset sayfalama (id DESC, en son eklenen en üstte) ---
+    @Query("SELECT f FROM Film f ORDER BY f.id DESC")
+    List<Film> findFirstPage(Limit limit);
+
+    @Query("SELECT f FROM Film f WHERE f.id < :lastId ORDER BY f.id DESC")
+    List<Film> findPageAfter(Long lastId, Limit limit);
+
+    @Query("SELECT f FROM Film f WHERE f.listingType = :type ORDER BY f.id DESC")
+    List<Film> findFirstPageByListingType(ListingType type, Limit limit);
+
+    @Query("SELECT f FROM Film f WHERE f.listingType = :type AND f.id < :lastId ORDER BY f.id DESC")
+    List<Film> findPageByListingTypeAfter(ListingType type, Long lastId, Limit limit);
+
+    // --- Özet (grid) keyset sayfalama: description (TEXT) kolonu hiç okunmaz ---
+    @Query("SELECT new com.serhatsgr.dto.DtoFilmSummary(f.id, f.title, f.posterUrl, f.averageRating) " +
+            "FROM Film f ORDER BY f.id DESC")
+    List<DtoFilmSummary> findFirstSummaryPage(Limit limit);
+
+    @Query("SELECT new com.serhatsgr.dto.DtoFilmSummary(f.id, f.title, f.posterUrl, f.averageRating) " +
+            "FROM Film f WHERE f.id < :lastId ORDER BY f.id DESC")
+    List<DtoFilmSummary> findSummaryPageAfter(Long lastId, Limit limit);
+
+    @Query("SELECT new com.serhatsgr.dto.DtoFilmSummary(f.id, f.title, f.posterUrl, f.averageRating) " +
+            "FROM Film f WHERE f.listingType = :type ORDER BY f.id DESC")
+    List<DtoFilmSummary> findFirstSummaryPageByListingType(ListingType type, Limit limit);
+
+    @Query("SELECT new com.serhatsgr.dto.DtoFilmSummary(f.id, f.title, f.posterUrl, f.averageRating) " +
+            "FROM Film f WHERE f.listingType = :type AND f.id < :lastId ORDER BY f.id DESC")
+    List<DtoFilmSummary> findSummaryPageByListingTypeAfter(ListingType type, Long lastId, Limit limit);
+
+    // Autocomplete indeksinin başlangıç yüklemesi için (description okunmaz)
+    @Query("SELECT new com.serhatsgr.dto.DtoFilmSummary(f.id, f.title, f.posterUrl) FROM Film f")
+    List<DtoFilmSummary> findAllTitleSummaries();
+
+    // --- Puan istatistikleri (artımlı) ---
+
+    /**
+     * Toplam/sayıyı delta kadar kaydırır ve ortalamayı aynı satır kilidi altında yeniden hesaplar.
+     * SET ifadelerindeki kolonlar satırın güncelleme öncesi değerlerini okur.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE films SET " +
+            "rating_sum = rating_sum + :sumDelta, " +
+            "rating_count = rating_count + :countDelta, " +
+            "average_rating = CASE WHEN rating_count + :countDelta > 0 " +
+            "THEN ROUND(CAST(rating_sum + :sumDelta AS NUMERIC(19, 4)) / (rating_count + :countDelta), 1) ELSE 0 END " +
+            "WHERE id = :filmId", nativeQuery = true)
+    int applyRatingDelta(Long filmId, long sumDelta, int countDelta);
+
+    // Toplamı/sayısı ratings tablosuyla uyuşmayan filmler (mutabakat işi için)
+    @Query(value = "SELECT f.id FROM films f " +
+            "LEFT JOIN (SELECT film_id, SUM(score) AS total, COUNT(*) AS cnt FROM ratings GROUP BY film_id) s " +
+            "ON s.film_id = f.id " +
+            "WHERE f.rating_sum <> COALESCE(s.total, 0) OR f.rating_count <> COALESCE(s.cnt, 0)", nativeQuery = true)
+    List<Long> findFilmIdsWithRatingDrift();
+
+    // Eşzamanlı delta güncellemeleriyle yarışmamak için film satırı kilitlenir
+    @Query(value = "SELECT id FROM films WHERE id = :filmId FOR UPDATE", nativeQuery = true)
+    Long lockForRatingUpdate(Long filmId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE films SET " +
+            "rating_sum = (SELECT COALESCE(SUM(r.score), 0) FROM ratings r WHERE r.film_id = :filmId), " +
+            "rating_count = (SELECT COUNT(*) FROM ratings r WHERE r.film_id = :filmId), " +
+            "average_rating = COALESCE((SELECT ROUND(AVG(CAST(r.score AS NUMERIC(10, 4))), 1) FROM ratings r WHERE r.film_id = :filmId), 0) " +
+            "WHERE id = :filmId", nativeQuery = true)
+    int recomputeRatingStats(Long filmId);
+
+    // --- Yorum sayacı (denormalize) ---
+
+    // Sayaç güncellemeleri katalog sürümünü ilerletmez (bkz. CatalogVersionService)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE films SET comment_count = comment_count + :delta WHERE id = :filmId", nativeQuery = true)
+    int adjustCommentCount(Long filmId, int delta);
+
+    // Sayacı comments tablosuyla uyuşmayan filmler (mutabakat işi için)
+    @Query(value = "SELECT f.id FROM films f " +
+            "WHERE f.comment_count <> (SELECT COUNT(*) FROM comments c WHERE c.film_id = f.id AND c.is_deleted IS NOT TRUE)",
+            nativeQuery = true)
+    List<Long> findFilmIdsWithCommentCountDrift();
+
+    @Query(value = "SELECT id FROM films WHERE id = :filmId FOR UPDATE", nativeQuery = true)
+    Long lockForCommentCountUpdate(Long filmId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE films SET " +
+            "comment_count = (SELECT COUNT(*) FROM comments c WHERE c.film_id = :filmId AND c.is_deleted IS NOT TRUE) " +
+            "WHERE id = :filmId", nativeQuery = true)
+    int recomputeCommentCount(Long filmId);
+
+    // --- Kategori adları (N+1 yerine tek sorgu) ---
+    @Query("SELECT f.id FROM Film f JOIN f.categories c WHERE c.id = :categoryId")
+    List<Long> findIdsByCategoryId(Long categoryId);
+
+    @Query("SELECT f.id AS filmId, c.name AS categoryName FROM Film f JOIN f.categories c WHERE f.id IN :filmIds")
+    List<FilmCategoryName> findCategoryNamesByFilmIds(Collection<Long> filmIds);
+
+    /**
+     * Verilen filmlerin kategori adlarını tek sorguda film ID'sine göre gruplar.
+     */
+    default Map<Long, List<String>> findCategoryNameMap(Collection<Long> filmIds) {
+        if (filmIds == null || filmIds.isEmpty()) {
+            return Map.of();
+        }
+        return findCategoryNamesByFilmIds(filmIds).stream()
+                .collect(Collectors.groupingBy(FilmCategoryName::getFilmId,
+                        Collectors.mapping(FilmCategoryName::getCategoryName, Collectors.toList())));
+    }
 
 }
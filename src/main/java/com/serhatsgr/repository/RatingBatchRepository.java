@@ -0,0 +1,56 @@
+package com.serhatsgr.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tamponlanmış oyları JDBC batch ile yazar (write-behind flush yolu).
+ * Her satır için ayrı JPA çağrısı yerine sürücü tarafında tek round-trip'te gruplanır.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RatingBatchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO ratings (film_id, user_id, score, created_at, updated_at) SELECT ?, ?, ?, ?, ? " +
+            // Tampondayken silinen film/kullanıcı FK hatasıyla tüm batch'i düşürmesin
+            "WHERE EXISTS (SELECT 1 FROM films WHERE id = ?) AND EXISTS (SELECT 1 FROM users WHERE id = ?) " +
+            "ON CONFLICT (film_id, user_id) DO UPDATE SET score = EXCLUDED.score, updated_at = EXCLUDED.updated_at";
+
+    private static final String DELETE_SQL = "DELETE FROM ratings WHERE film_id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ScoreWrite(Long filmId, Long userId, int score) {}
+
+    public void upsertScores(List<ScoreWrite> writes, int batchSize, LocalDateTime now) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, writes, batchSize, (ps, write) -> {
+            ps.setLong(1, write.filmId());
+            ps.setLong(2, write.userId());
+            ps.setInt(3, write.score());
+            ps.setTimestamp(4, timestamp);
+            ps.setTimestamp(5, timestamp);
+            ps.setLong(6, write.filmId());
+            ps.setLong(7, write.userId());
+        });
+    }
+
+    public void deleteScores(List<ScoreWrite> deletes, int batchSize) {
+        if (deletes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, deletes, batchSize, (ps, delete) -> {
+            ps.setLong(1, delete.filmId());
+            ps.setLong(2, delete.userId());
+        });
+    }
+}
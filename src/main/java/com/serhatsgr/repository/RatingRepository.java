@@ -4,6 +4,8 @@ import com.serhatsgr.entity.Rating;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -15,5 +17,28 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
 
     @Query("SELECT COUNT(r) FROM Rating r WHERE r.film.id = :filmId")
     Integer getRatingCount(Long filmId);
+
+    // --- Eşzamanlılığa dayanıklı upsert (PostgreSQL) ---
+
+    /**
+     * Oy yoksa ekler ve yeni ID'yi döner; aynı (film, kullanıcı) için satır varsa hiçbir şey yapmaz (boş döner).
+     * Eşzamanlı aynı ekleme, diğer transaction bitene kadar bekler; böylece unique constraint hatası oluşmaz.
+     */
+    @Query(value = "INSERT INTO ratings (film_id, user_id, score, created_at, updated_at) " +
+            "VALUES (:filmId, :userId, :score, :now, :now) " +
+            "ON CONFLICT (film_id, user_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(Long filmId, Long userId, int score, LocalDateTime now);
+
+    /**
+     * Var olan oyu kilitleyip günceller ve önceki puanı döner (toplam delta'sı için).
+     * FOR UPDATE alt sorgusu, beklenen kilit bırakıldığında satırın son commit edilmiş halini okur.
+     */
+    @Query(value = "UPDATE ratings r SET score = :score, updated_at = :now " +
+            "FROM (SELECT id, score FROM ratings WHERE film_id = :filmId AND user_id = :userId FOR UPDATE) old " +
+            "WHERE r.id = old.id RETURNING old.score", nativeQuery = true)
+    Optional<Integer> updateScoreReturningPrevious(Long filmId, Long userId, int score, LocalDateTime now);
+
+    @Query(value = "DELETE FROM ratings WHERE film_id = :filmId AND user_id = :userId RETURNING score", nativeQuery = true)
+    Optional<Integer> deleteReturningScore(Long filmId, Long userId);
 }
 
@@ -0,0 +1,20 @@
+package com.serhatsgr.repository;
+
+import com.serhatsgr.entity.RevokedUserToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedUserTokenRepository extends JpaRepository<RevokedUserToken, Long> {
+
+    @Query("SELECT r.userId FROM RevokedUserToken r")
+    List<Long> findAllUserIds();
+
+    // Bu andan önce iptal edilen kullanıcıların tüm tokenlarının süresi dolmuştur
+    @Modifying
+    @Query("DELETE FROM RevokedUserToken r WHERE r.revokedAt < :cutoff")
+    int deleteRevokedBefore(LocalDateTime cutoff);
+}
@@ -1,13 +1,28 @@
 package com.serhatsgr.repository;
 
 import com.serhatsgr.entity.User;
+import com.serhatsgr.repository.projection.UserTokenVersion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // Principal ID taşımadığında (ör. token dışı kimlik) sadece ID okunur
+    @Query("SELECT u.id FROM User u WHERE u.username = :username")
+    Optional<Long> findIdByUsername(String username);
+
+    // Banlı kullanıcı ID kümesi (BannedUserService) için sadece ID'ler okunur
+    @Query("SELECT u.id FROM User u WHERE u.isEnabled = false")
+    List<Long> findBannedUserIds();
+
+    // Token sürüm tablosu (TokenVersionService) için sadece sürümü artırılmış kullanıcılar okunur
+    @Query("SELECT new com.serhatsgr.repository.projection.UserTokenVersion(u.id, u.tokenVersion) FROM User u WHERE u.tokenVersion > 0")
+    List<UserTokenVersion> findRaisedTokenVersions();
 }
@@ -0,0 +1,23 @@
+package com.serhatsgr.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * CommentResponse için gereken tüm alanlar; yazar ve üst yorum bilgisi aynı sorguda join'lenir,
+ * böylece lazy ilişkiler yüzünden yorum başına ek sorgu atılmaz. Yazarın ban durumu userId ile
+ * BannedUserService kümesinden çözülür.
+ */
+public record CommentRow(
+        Long id,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String username,
+        Long userId,
+        Long filmId,
+        boolean deleted,
+        Long parentCommentId,
+        String path,
+        int replyCount
+) {
+}
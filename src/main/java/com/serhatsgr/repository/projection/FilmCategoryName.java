@@ -0,0 +1,11 @@
+package com.serhatsgr.repository.projection;
+
+/**
+ * film_category join tablosundan düz (flat) okuma: her satır bir film-kategori eşleşmesi.
+ */
+public interface FilmCategoryName {
+
+    Long getFilmId();
+
+    String getCategoryName();
+}
@@ -0,0 +1,7 @@
+package com.serhatsgr.repository.projection;
+
+/**
+ * Kullanıcının güncel access token sürümü (stateless JWT doğrulaması için).
+ */
+public record UserTokenVersion(Long userId, Integer tokenVersion) {
+}
@@ -0,0 +1,30 @@
+package com.serhatsgr.security;
+
+import com.serhatsgr.entity.Role;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Doğrulanmış access token claim'lerinden kurulan principal (stateless mod). Veritabanındaki User entity'sine
+ * gidilmez; ban ve rol değişikliği kontrolleri token sürümü ve banlı kullanıcı kümesiyle yapılır.
+ */
+public record AuthenticatedUser(Long id, String username, Set<Role> authorities) implements UserDetails {
+
+    @Override
+    public Collection<Role> getAuthorities() {
+        return authorities;
+    }
+
+    // Token ile gelen kimlikte parola yoktur
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,52 @@
+package com.serhatsgr.security;
+
+import com.serhatsgr.entity.User;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * İsteğin kimliği doğrulanmış kullanıcısına erişim. SecurityContext thread'e (isteğe) bağlı olduğu için
+ * bean'in kendisi durumsuzdur. Kullanıcı ID'si JwtAuthFilter'ın kurduğu principal'dan okunur; servisler
+ * kullanıcı satırını tekrar sorgulamaz. Yazmalarda ilişki için {@code userRepository.getReferenceById(id)} yeterlidir.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserAccessor {
+
+    private final UserRepository userRepository;
+
+    public String getUsername() {
+        return authentication().getName();
+    }
+
+    public Long getId() {
+        Authentication authentication = authentication();
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        if (principal instanceof UserSnapshot snapshot) {
+            return snapshot.id();
+        }
+        if (principal instanceof User user && user.getId() != null) {
+            return user.getId();
+        }
+        // Principal ID taşımıyorsa (ör. sadece kullanıcı adı) tek sütunluk sorguyla çözülür
+        return userRepository.findIdByUsername(authentication.getName())
+                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
+    }
+
+    private Authentication authentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new BaseException(new ErrorMessage(MessageType.UNAUTHORIZED, "Oturum bulunamadı"));
+        }
+        return authentication;
+    }
+}
@@ -0,0 +1,141 @@
+package com.serhatsgr.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Doğrulanmış token claim'lerinin değiştirilemez görünümü. Doğrulanmış token cache'indeki aynı örnek eşzamanlı
+ * isteklere verildiği için yazma metodları UnsupportedOperationException fırlatır; liste/map değerleri de kopyalanır.
+ */
+public final class ImmutableClaims extends AbstractMap<String, Object> implements Claims {
+
+    private final Claims delegate;
+    private final Set<Entry<String, Object>> entries;
+
+    private ImmutableClaims(Claims delegate) {
+        this.delegate = delegate;
+        this.entries = Collections.unmodifiableMap(delegate).entrySet();
+    }
+
+    public static ImmutableClaims copyOf(Claims claims) {
+        if (claims instanceof ImmutableClaims immutable) {
+            return immutable;
+        }
+        Claims copy = Jwts.claims();
+        claims.forEach((name, value) -> copy.put(name, freeze(value)));
+        return new ImmutableClaims(copy);
+    }
+
+    private static Object freeze(Object value) {
+        if (value instanceof Collection<?> collection) {
+            return Collections.unmodifiableList(new ArrayList<>(collection));
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+        return value;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return entries;
+    }
+
+    @Override
+    public Object get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public <T> T get(String claimName, Class<T> requiredType) {
+        return delegate.get(claimName, requiredType);
+    }
+
+    @Override
+    public String getIssuer() {
+        return delegate.getIssuer();
+    }
+
+    @Override
+    public String getSubject() {
+        return delegate.getSubject();
+    }
+
+    @Override
+    public String getAudience() {
+        return delegate.getAudience();
+    }
+
+    @Override
+    public Date getExpiration() {
+        return delegate.getExpiration();
+    }
+
+    @Override
+    public Date getNotBefore() {
+        return delegate.getNotBefore();
+    }
+
+    @Override
+    public Date getIssuedAt() {
+        return delegate.getIssuedAt();
+    }
+
+    @Override
+    public String getId() {
+        return delegate.getId();
+    }
+
+    @Override
+    public Claims setIssuer(String iss) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setSubject(String sub) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setAudience(String aud) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setExpiration(Date exp) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setNotBefore(Date nbf) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setIssuedAt(Date iat) {
+        throw readOnly();
+    }
+
+    @Override
+    public Claims setId(String jti) {
+        throw readOnly();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Doğrulanmış token claim'leri değiştirilemez");
+    }
+}
@@ -4,11 +4,13 @@ package com.serhatsgr.security;
 
 import com.serhatsgr.service.Impl.JwtService;
 import com.serhatsgr.service.Impl.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,27 +30,36 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private final UserService userService;
     private final HandlerExceptionResolver handlerExceptionResolver;
 
+    // Açıkken kimlik imzası doğrulanmış claim'lerden kurulur; istek başına kullanıcı sorgusu yapılmaz
+    @Value("${jwt.stateless.enabled:true}")
+    private boolean statelessEnabled;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
             String authHeader = request.getHeader("Authorization");
-            String token = null;
-            String username = null;
+            Claims claims = null;
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtService.extractUsername(token);
+                // İmza ve süre istek başına bir kez doğrulanır; geçersiz token TOKEN_EXPIRED fırlatır
+                claims = jwtService.extractAllClaim(authHeader.substring(7));
             }
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userService.loadUserByUsername(username);
-                if (jwtService.validateToken(token, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (claims != null && claims.getSubject() != null
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails principal = statelessEnabled ? jwtService.toAuthenticatedUser(claims) : null;
+                if (principal != null) {
+                    // Banlı kullanıcının ya da sürümü eskimiş token'ın isteği kimliksiz devam eder
+                    if (!jwtService.isRevoked(claims)) {
+                        authenticate(principal, request);
+                    }
+                } else {
+                    UserDetails userDetails = userService.loadCachedPrincipal(claims.getSubject());
+                    if (jwtService.validateToken(claims, userDetails)) {
+                        authenticate(userDetails, request);
+                    }
                 }
             }
             filterChain.doFilter(request, response);
@@ -58,4 +69,11 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             handlerExceptionResolver.resolveException(request, response, null, ex);
         }
     }
+
+    private void authenticate(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
 }
\ No newline at end of file
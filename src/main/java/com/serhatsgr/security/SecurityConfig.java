@@ -38,13 +38,13 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(x -> x
                         // Film Listeleme ve Arama
-                        .requestMatchers(HttpMethod.GET, "/rest/api/film/list", "/rest/api/film/list/**", "/rest/api/film/search").hasAnyRole("ADMIN", "USER")
+                        .requestMatchers(HttpMethod.GET, "/rest/api/film/list", "/rest/api/film/list/**", "/rest/api/film/page", "/rest/api/film/summary", "/rest/api/film/search", "/rest/api/film/autocomplete").hasAnyRole("ADMIN", "USER")
 
                         // Kategori Listeleme
                         .requestMatchers(HttpMethod.GET, "/rest/api/category/list", "/rest/api/category/list/**").hasAnyRole("ADMIN", "USER")
 
                         // Yorumları Okuma
-                        .requestMatchers(HttpMethod.GET,"/rest/api/comments/film","/rest/api/comments/film/**").hasAnyRole("ADMIN","USER")
+                        .requestMatchers(HttpMethod.GET,"/rest/api/comments/film","/rest/api/comments/film/**","/rest/api/comments/*/replies","/rest/api/comments/*/thread").hasAnyRole("ADMIN","USER")
 
                         // Admin İşlemleri (Film/Kategori CRUD)
                         .requestMatchers("/rest/api/film/save").hasRole("ADMIN")
@@ -0,0 +1,70 @@
+package com.serhatsgr.security;
+
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.entity.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Eski JWT doğrulamasında kullanılan değişmez kullanıcı görüntüsü. Entity yerine cache'lenir; Hibernate oturumuna
+ * bağlı değildir ve thread'ler arasında paylaşılabilir. Form girişinde kullanılmadığı için parola özeti taşımaz.
+ */
+public record UserSnapshot(Long id,
+                           String username,
+                           boolean enabled,
+                           boolean accountNonExpired,
+                           boolean accountNonLocked,
+                           boolean credentialsNonExpired,
+                           Set<Role> authorities) implements UserDetails {
+
+    public static UserSnapshot of(User user) {
+        Set<Role> roles = user.getAuthorities().isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(user.getAuthorities()));
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.isEnabled(),
+                user.isAccountNonExpired(),
+                user.isAccountNonLocked(),
+                user.isCredentialsNonExpired(),
+                roles
+        );
+    }
+
+    @Override
+    public Collection<Role> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return accountNonExpired;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return accountNonLocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return credentialsNonExpired;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
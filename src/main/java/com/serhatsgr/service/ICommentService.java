@@ -11,5 +11,13 @@ public interface ICommentService {
 
     void deleteComment(Long commentId, String username);
 
+    // Tüm ağacı tek seferde döner; büyük filmler için getRootComments/getReplies kullanılmalı
+    @Deprecated
     List<CommentResponse> getCommentsByFilm(Long filmId);
+
+    CursorPage<CommentResponse> getRootComments(Long filmId, Integer size, String cursor);
+
+    CursorPage<CommentResponse> getReplies(Long commentId, Integer size, String cursor);
+
+    CursorPage<CommentResponse> getThread(Long commentId, Integer size, String cursor);
 }
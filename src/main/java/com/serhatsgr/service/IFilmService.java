@@ -1,7 +1,9 @@
 package com.serhatsgr.service;
 
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.ListingType;
 
 import java.util.List;
@@ -12,6 +14,10 @@ public interface IFilmService {
 
     List<DtoFilm> getAllFilms(ListingType type);
 
+    CursorPage<DtoFilm> getFilmPage(ListingType type, Integer size, String cursor);
+
+    CursorPage<DtoFilmSummary> getFilmSummaryPage(ListingType type, Integer size, String cursor);
+
     public DtoFilm getFilmById(Long id);
 
     public String deleteFilmById(Long id);
@@ -20,4 +26,6 @@ public interface IFilmService {
 
     public List<DtoFilm> searchFilms(String title);
 
+    public List<DtoFilmSummary> autocomplete(String prefix, Integer limit);
+
 }
@@ -0,0 +1,99 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.utils.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Banlı kullanıcı ID'lerinin bellek içi kümesi. Yorum okumalarında yazarın ban durumu kullanıcı satırından
+ * değil buradan çözülür. Küme sıralı bir long[] olarak tutulur: okuma kilitsiz ikili arama, yazma (ban/unban,
+ * nadir) kopyala-değiştir. Diğer instance'lardaki değişiklikler periyodik yenilemeyle gelir.
+ */
+@Slf4j
+@Service
+public class BannedUserService {
+
+    private static final long[] EMPTY = new long[0];
+
+    private final UserRepository userRepository;
+
+    private volatile long[] bannedIds;
+    private final Object writeLock = new Object();
+    // Yenileme sorgusu sürerken gelen ban/unban, eski anlık görüntüyle ezilmesin
+    private long mutations;
+
+    public BannedUserService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public boolean isBanned(Long userId) {
+        long[] ids = bannedIds;
+        if (ids == null) {
+            ids = load();
+        }
+        return userId != null && Arrays.binarySearch(ids, userId) >= 0;
+    }
+
+    public int size() {
+        long[] ids = bannedIds;
+        return ids != null ? ids.length : 0;
+    }
+
+    /**
+     * Ban durumunu commit'ten sonra kümeye yansıtır (rollback olan değişiklik görünmez).
+     */
+    public void markBanned(Long userId, boolean banned) {
+        TransactionHooks.afterCommit(() -> update(userId, banned));
+    }
+
+    @Scheduled(fixedDelayString = "${user.banned-cache.refresh-interval:PT5M}")
+    public void refresh() {
+        load();
+    }
+
+    private long[] load() {
+        long seen;
+        synchronized (writeLock) {
+            seen = mutations;
+        }
+        List<Long> loaded = userRepository.findBannedUserIds();
+        long[] ids = loaded.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+        synchronized (writeLock) {
+            if (mutations == seen || bannedIds == null) {
+                bannedIds = ids;
+            }
+            return bannedIds;
+        }
+    }
+
+    private void update(Long userId, boolean banned) {
+        synchronized (writeLock) {
+            mutations++;
+            long[] current = bannedIds;
+            if (current == null) {
+                // Küme henüz yüklenmedi; ilk okuma güncel durumu veritabanından alır
+                return;
+            }
+            int index = Arrays.binarySearch(current, userId);
+            if (banned && index < 0) {
+                int insertAt = -index - 1;
+                long[] next = new long[current.length + 1];
+                System.arraycopy(current, 0, next, 0, insertAt);
+                next[insertAt] = userId;
+                System.arraycopy(current, insertAt, next, insertAt + 1, current.length - insertAt);
+                bannedIds = next;
+            } else if (!banned && index >= 0) {
+                long[] next = current.length == 1 ? EMPTY : new long[current.length - 1];
+                System.arraycopy(current, 0, next, 0, index);
+                System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+                bannedIds = next;
+            }
+        }
+        log.info("Banlı kullanıcı kümesi güncellendi. Kullanıcı ID: {}, Banlı: {}", userId, banned);
+    }
+}
@@ -0,0 +1,60 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.dto.CatalogVersion;
+import com.serhatsgr.entity.CatalogStamp;
+import com.serhatsgr.repository.CatalogStampRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Katalog sürümünü catalog_version tablosunun tek satırından okur; film ve kategori yazmaları sürümü artırır.
+ * Cevap gövdesi oluşturulmadan (serileştirilmeden) ETag karşılaştırması yapılabilmesi için kullanılır.
+ * Oy ve yorum sayaçları sürümü ilerletmez; listelerdeki sayaçların en fazla counter-staleness kadar eski
+ * kalması için ETag'e o süreye yuvarlanmış zaman dilimi de eklenir. Bu yüzden yalnızca liste uçlarında
+ * kullanılır; sayaçları taşıyan film detayı koşullu GET'e bağlanmaz.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogVersionService {
+
+    private final CatalogStampRepository catalogStampRepository;
+    private final long counterStalenessMillis;
+
+    public CatalogVersionService(CatalogStampRepository catalogStampRepository,
+                                 @Value("${catalog.etag.counter-staleness:PT5M}") Duration counterStaleness) {
+        this.catalogStampRepository = catalogStampRepository;
+        this.counterStalenessMillis = counterStaleness.toMillis();
+    }
+
+    public CatalogVersion currentVersion() {
+        CatalogStamp stamp = catalogStampRepository.findById(CatalogStamp.ID).orElse(null);
+        long version = stamp == null ? 0 : stamp.getVersion();
+        long catalogUpdated = stamp == null ? -1 : toEpochMillis(stamp.getUpdatedAt());
+
+        long now = currentTimeMillis();
+        long windowStart = now - Math.floorMod(now, counterStalenessMillis);
+
+        String eTag = "\"" + Long.toHexString(version) + "-" + Long.toHexString(windowStart / counterStalenessMillis) + "\"";
+        return new CatalogVersion(eTag, Math.max(catalogUpdated, windowStart));
+    }
+
+    // Çağıranın transaction'ına katılır; sürüm, katalog değişikliğiyle aynı commit'te görünür
+    @Transactional
+    public void bump() {
+        catalogStampRepository.bump(LocalDateTime.now());
+    }
+
+    // Testlerde zaman dilimini ilerletebilmek için override edilir
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
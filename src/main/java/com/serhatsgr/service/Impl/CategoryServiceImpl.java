@@ -26,13 +26,22 @@ public class CategoryServiceImpl implements ICategoryService {
     private final CategoryRepository categoryRepository;
     private final FilmRepository filmRepository;
     private final CategoryMapper categoryMapper;
+    private final FilmTitleIndexService filmTitleIndexService;
+    private final FilmCacheService filmCacheService;
+    private final CatalogVersionService catalogVersionService;
 
     public CategoryServiceImpl(CategoryRepository categoryRepository,
                                FilmRepository filmRepository,
-                               CategoryMapper categoryMapper) {
+                               CategoryMapper categoryMapper,
+                               FilmTitleIndexService filmTitleIndexService,
+                               FilmCacheService filmCacheService,
+                               CatalogVersionService catalogVersionService) {
         this.categoryRepository = categoryRepository;
         this.filmRepository = filmRepository;
         this.categoryMapper = categoryMapper;
+        this.filmTitleIndexService = filmTitleIndexService;
+        this.filmCacheService = filmCacheService;
+        this.catalogVersionService = catalogVersionService;
     }
 
     @Override
@@ -50,6 +59,7 @@ public class CategoryServiceImpl implements ICategoryService {
 
         Category category = categoryMapper.toEntity(dto);
         Category savedCategory = categoryRepository.save(category);
+        catalogVersionService.bump();
         log.info("Kategori başarıyla oluşturuldu. ID: {}", savedCategory.getId());
 
         return categoryMapper.toDto(savedCategory);
@@ -95,9 +105,12 @@ public class CategoryServiceImpl implements ICategoryService {
         for (Film film : new HashSet<>(category.getFilms())) {
             log.info("Kategoriye ait film siliniyor: {}", film.getTitle());
             filmRepository.delete(film);
+            filmTitleIndexService.remove(film.getId());
+            filmCacheService.evict(film.getId());
         }
 
         categoryRepository.delete(category);
+        catalogVersionService.bump();
         log.info("Kategori başarıyla silindi: {}", category.getName());
 
         return String.format("'%s' kategorisi ve içerdiği tüm filmler başarıyla silindi.", category.getName());
@@ -122,6 +135,10 @@ public class CategoryServiceImpl implements ICategoryService {
 
         // İsteğe bağlı alan güncellemeleri
         if (dto.getName() != null && !dto.getName().isBlank()) {
+            // Film detayında kategori adı gösterildiği için ad değişince bu kategorideki filmlerin cache'i düşer
+            if (!dto.getName().equals(category.getName())) {
+                filmCacheService.evictAll(filmRepository.findIdsByCategoryId(id));
+            }
             category.setName(dto.getName());
         }
         if (dto.getDescription() != null && !dto.getDescription().isBlank()) {
@@ -129,6 +146,7 @@ public class CategoryServiceImpl implements ICategoryService {
         }
 
         Category updated = categoryRepository.save(category);
+        catalogVersionService.bump();
         log.info("Kategori başarıyla güncellendi. ID: {}", id);
 
         return categoryMapper.toDto(updated);
@@ -0,0 +1,54 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.repository.CommentRepository;
+import com.serhatsgr.repository.FilmRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * films.comment_count ve comments.reply_count sayaçlarını comments tablosuyla periyodik olarak karşılaştırır.
+ * Sayaçlar yorum ekleme/silmede atomik olarak güncellenir; kullanıcı silme gibi toplu silmelerde
+ * oluşan sapmalar burada düzeltilir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentCountReconciliationService {
+
+    private final CommentRepository commentRepository;
+    private final FilmRepository filmRepository;
+    private final FilmCacheService filmCacheService;
+
+    @Scheduled(initialDelayString = "${comment.reconcile.initial-delay:PT5M}",
+            fixedDelayString = "${comment.reconcile.interval:PT1H}")
+    @Transactional
+    public int reconcileCommentCounts() {
+        // Kilit sırası yazma yoluyla aynı: önce yorum satırları, sonra film satırları
+        List<Long> driftedCommentIds = commentRepository.findCommentIdsWithReplyCountDrift();
+        for (Long commentId : driftedCommentIds) {
+            commentRepository.lockForReplyCountUpdate(commentId);
+            commentRepository.recomputeReplyCount(commentId);
+        }
+
+        List<Long> driftedFilmIds = filmRepository.findFilmIdsWithCommentCountDrift();
+        for (Long filmId : driftedFilmIds) {
+            // Satır kilidi alındıktan sonraki sorgu, o ana kadar commit edilmiş tüm yorumları görür
+            filmRepository.lockForCommentCountUpdate(filmId);
+            filmRepository.recomputeCommentCount(filmId);
+        }
+        if (!driftedFilmIds.isEmpty()) {
+            filmCacheService.evictAll(driftedFilmIds);
+        }
+
+        int fixed = driftedCommentIds.size() + driftedFilmIds.size();
+        if (fixed > 0) {
+            log.warn("Yorum sayacı sapması düzeltildi. Yorum ID'leri: {}, Film ID'leri: {}", driftedCommentIds, driftedFilmIds);
+        }
+        return fixed;
+    }
+}
@@ -0,0 +1,341 @@
+package com.serhatsgr.service.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.serhatsgr.dto.CommentImportResponse;
+import com.serhatsgr.dto.CommentNdjsonLine;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.CommentBatchRepository;
+import com.serhatsgr.repository.CommentBatchRepository.CommentInsert;
+import com.serhatsgr.repository.CommentBatchRepository.ParentComment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Eski forumdan toplu yorum taşıma: NDJSON içe aktarım ve akış halinde dışa aktarım.
+ * İçe aktarım satırları parça parça okur; her parça kullanıcı/film/üst yorum için birer toplu sorgu, bir ID tahsisi
+ * ve tek transaction'da JDBC batch insert + sayaç güncellemesiyle yazılır. Bozuk satır parçayı düşürmez, raporlanır.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentMigrationService {
+
+    // createComment ile aynı sınırlar; içerik sınırı sütun uzunluğudur (eski forum yorumları 500'ü aşabilir)
+    private static final int PATH_SEGMENT_LENGTH = 10;
+    private static final int MAX_THREAD_DEPTH = 100;
+    private static final int MAX_CONTENT_LENGTH = 2000;
+
+    private final CommentBatchRepository commentBatchRepository;
+    private final FilmCacheService filmCacheService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${comment.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${comment.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${comment.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Value("${comment.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public CommentImportResponse importNdjson(InputStream in) {
+        ImportState state = new ImportState();
+        List<ParsedLine> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String text;
+            long lineNumber = 0;
+            while ((text = reader.readLine()) != null) {
+                lineNumber++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                state.readCount++;
+                try {
+                    chunk.add(new ParsedLine(lineNumber, objectMapper.readValue(text, CommentNdjsonLine.class)));
+                } catch (JsonProcessingException e) {
+                    state.reject(lineNumber, "Geçersiz JSON");
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, state);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, state);
+            }
+        } catch (IOException e) {
+            // Yazılmış parçalar commit edildi; istemci kalan satırlardan devam edebilir
+            filmCacheService.evictAll(state.filmIds);
+            throw new BaseException(new ErrorMessage(MessageType.BAD_REQUEST,
+                    "İçe aktarma akışı okunamadı. Aktarılan yorum sayısı: " + state.importedCount));
+        }
+
+        filmCacheService.evictAll(state.filmIds);
+        log.info("Yorum içe aktarımı tamamlandı. Okunan: {}, Aktarılan: {}, Atlanan: {}",
+                state.readCount, state.importedCount, state.skippedCount);
+        return new CommentImportResponse(state.readCount, state.importedCount, state.skippedCount, state.errors);
+    }
+
+    /**
+     * Yorumları path sırasıyla (üst yorum yanıtlarından önce) NDJSON olarak yazar ve yazılan satır sayısını döner.
+     * filmId boşsa tüm yorumlar aktarılır.
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(Long filmId, OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(CommentNdjsonLine.class);
+        OutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        long[] count = {0};
+
+        commentBatchRepository.streamComments(filmId, fetchSize, line -> {
+            try {
+                buffered.write(writer.writeValueAsBytes(line));
+                buffered.write('\n');
+                count[0]++;
+            } catch (IOException e) {
+                // İstemci bağlantıyı kapatmış; imleç transaction ile birlikte kapanır
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        try {
+            buffered.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count[0];
+    }
+
+    private void writeChunk(List<ParsedLine> chunk, ImportState state) {
+        resolveUsersAndFilms(chunk, state);
+        Map<String, ImportedComment> comments = loadParents(chunk, state);
+
+        // 1. geçiş: doğrula; aynı parçadaki üst yorumlar da görünür olsun diye kabul edilenler hemen kaydedilir
+        List<Accepted> accepted = new ArrayList<>(chunk.size());
+        for (ParsedLine parsed : chunk) {
+            CommentNdjsonLine line = parsed.line();
+            String error = validate(line, state, comments);
+            if (error != null) {
+                state.reject(parsed.lineNumber(), error);
+                continue;
+            }
+            ImportedComment parent = line.parentExternalId() != null ? comments.get(line.parentExternalId()) : null;
+            ImportedComment comment = new ImportedComment(line.filmId(), parent != null ? parent.depth + 1 : 0);
+            comments.put(line.externalId(), comment);
+            accepted.add(new Accepted(parsed, comment, parent));
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // 2. geçiş: ID ve path ata (sıra korunduğu için üst yorumun path'i hazırdır)
+        List<Long> ids = commentBatchRepository.allocateIds(accepted.size());
+        LocalDateTime now = LocalDateTime.now();
+        List<CommentInsert> inserts = new ArrayList<>(accepted.size());
+        Map<Long, Integer> replyDeltas = new HashMap<>();
+        Map<Long, Integer> filmDeltas = new HashMap<>();
+        for (int i = 0; i < accepted.size(); i++) {
+            Accepted entry = accepted.get(i);
+            CommentNdjsonLine line = entry.parsed().line();
+            ImportedComment comment = entry.comment();
+            ImportedComment parent = entry.parent();
+            comment.id = ids.get(i);
+            comment.path = (parent != null ? parent.path : "") + String.format("%0" + PATH_SEGMENT_LENGTH + "d", comment.id);
+
+            boolean deleted = Boolean.TRUE.equals(line.deleted());
+            inserts.add(new CommentInsert(
+                    comment.id,
+                    parent != null ? parent.id : null,
+                    line.filmId(),
+                    state.userIds.get(line.username()),
+                    line.content(),
+                    line.createdAt() != null ? line.createdAt() : now,
+                    line.updatedAt(),
+                    deleted,
+                    comment.path));
+            // Yanıt sayacı silinmişleri de sayar (thread'de yer tutarlar), film sayacı saymaz
+            if (parent != null) {
+                replyDeltas.merge(parent.id, 1, Integer::sum);
+            }
+            if (!deleted) {
+                filmDeltas.merge(line.filmId(), 1, Integer::sum);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                commentBatchRepository.insertComments(inserts, batchSize);
+                commentBatchRepository.addReplyCounts(replyDeltas, batchSize);
+                commentBatchRepository.addFilmCommentCounts(filmDeltas, batchSize);
+            });
+        } catch (DataAccessException e) {
+            // Parça geri alındı; yanıtları sonraki parçalarda üst yorum bulunamadı olarak reddedilir
+            log.warn("Yorum içe aktarım parçası yazılamadı. Satırlar: {}-{}",
+                    chunk.get(0).lineNumber(), chunk.get(chunk.size() - 1).lineNumber(), e);
+            for (Accepted entry : accepted) {
+                state.reject(entry.parsed().lineNumber(), "Parça yazılamadı");
+            }
+            return;
+        }
+
+        for (Accepted entry : accepted) {
+            state.importedIds.put(entry.parsed().line().externalId(), entry.comment().id);
+        }
+        state.importedCount += inserts.size();
+        state.filmIds.addAll(filmDeltas.keySet());
+    }
+
+    private String validate(CommentNdjsonLine line, ImportState state, Map<String, ImportedComment> comments) {
+        if (line.externalId() == null || line.externalId().isBlank()) {
+            return "externalId boş olamaz";
+        }
+        if (state.importedIds.containsKey(line.externalId()) || comments.containsKey(line.externalId())) {
+            return "Aynı externalId ile yorum zaten aktarıldı (" + line.externalId() + ")";
+        }
+        if (line.content() == null || line.content().isBlank() || line.content().length() > MAX_CONTENT_LENGTH) {
+            return "Yorum içeriği boş olamaz ve " + MAX_CONTENT_LENGTH + " karakteri aşamaz";
+        }
+        if (line.filmId() == null || !state.knownFilmIds.contains(line.filmId())) {
+            return "Film bulunamadı (" + line.filmId() + ")";
+        }
+        if (line.username() == null || !state.userIds.containsKey(line.username())) {
+            return "Kullanıcı bulunamadı (" + line.username() + ")";
+        }
+        if (line.parentExternalId() != null) {
+            ImportedComment parent = comments.get(line.parentExternalId());
+            if (parent == null) {
+                return "Üst yorum bulunamadı, yanıtlarından önce gelmeli (" + line.parentExternalId() + ")";
+            }
+            if (parent.filmId != line.filmId()) {
+                return "Üst yorum başka bir filme ait (" + line.parentExternalId() + ")";
+            }
+            if (parent.depth + 1 >= MAX_THREAD_DEPTH) {
+                return "Yanıt zinciri çok derin";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parçadaki yanıtların önceki parçalarda yazılmış üst yorumlarını tek IN sorgusuyla yükler (film, path, derinlik).
+     * Dönen map parça boyunca aynı parçada kabul edilen yorumlarla da doldurulur.
+     */
+    private Map<String, ImportedComment> loadParents(List<ParsedLine> chunk, ImportState state) {
+        Map<Long, String> externalIds = new HashMap<>();
+        for (ParsedLine parsed : chunk) {
+            String parentExternalId = parsed.line().parentExternalId();
+            Long parentId = parentExternalId != null ? state.importedIds.get(parentExternalId) : null;
+            if (parentId != null) {
+                externalIds.put(parentId, parentExternalId);
+            }
+        }
+
+        Map<String, ImportedComment> comments = new HashMap<>();
+        for (ParentComment parent : commentBatchRepository.findParentComments(externalIds.keySet()).values()) {
+            comments.put(externalIds.get(parent.id()), ImportedComment.written(parent));
+        }
+        return comments;
+    }
+
+    // Parça başına kullanıcı ve film için birer IN sorgusu; sonuçlar tüm içe aktarım boyunca tutulur
+    private void resolveUsersAndFilms(List<ParsedLine> chunk, ImportState state) {
+        Set<String> usernames = new HashSet<>();
+        Set<Long> filmIds = new HashSet<>();
+        for (ParsedLine parsed : chunk) {
+            String username = parsed.line().username();
+            if (username != null && !state.userIds.containsKey(username) && !state.missingUsernames.contains(username)) {
+                usernames.add(username);
+            }
+            Long filmId = parsed.line().filmId();
+            if (filmId != null && !state.knownFilmIds.contains(filmId) && !state.missingFilmIds.contains(filmId)) {
+                filmIds.add(filmId);
+            }
+        }
+
+        Map<String, Long> found = commentBatchRepository.findUserIdsByUsernames(usernames);
+        state.userIds.putAll(found);
+        usernames.removeAll(found.keySet());
+        state.missingUsernames.addAll(usernames);
+
+        Set<Long> existing = commentBatchRepository.findExistingFilmIds(filmIds);
+        state.knownFilmIds.addAll(existing);
+        filmIds.removeAll(existing);
+        state.missingFilmIds.addAll(filmIds);
+    }
+
+    private record ParsedLine(long lineNumber, CommentNdjsonLine line) {}
+
+    private record Accepted(ParsedLine parsed, ImportedComment comment, ImportedComment parent) {}
+
+    // Parça içindeki yorum veya üst yorum; yanıtların üst ID'si ve path'i buradan çözülür
+    private static final class ImportedComment {
+
+        private final long filmId;
+        private final int depth;
+        private long id;
+        private String path;
+
+        ImportedComment(long filmId, int depth) {
+            this.filmId = filmId;
+            this.depth = depth;
+        }
+
+        static ImportedComment written(ParentComment parent) {
+            ImportedComment comment = new ImportedComment(parent.filmId(), parent.path().length() / PATH_SEGMENT_LENGTH - 1);
+            comment.id = parent.id();
+            comment.path = parent.path();
+            return comment;
+        }
+    }
+
+    private final class ImportState {
+
+        // externalId -> yazılan yorumun ID'si; path ve film bilgisi gerektiğinde veritabanından okunur
+        private final Map<String, Long> importedIds = new HashMap<>();
+        private final Map<String, Long> userIds = new HashMap<>();
+        private final Set<String> missingUsernames = new HashSet<>();
+        private final Set<Long> knownFilmIds = new HashSet<>();
+        private final Set<Long> missingFilmIds = new HashSet<>();
+        private final Set<Long> filmIds = new HashSet<>();
+        private final List<String> errors = new ArrayList<>();
+        private long readCount;
+        private long importedCount;
+        private long skippedCount;
+
+        void reject(long lineNumber, String reason) {
+            skippedCount++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add("Satır " + lineNumber + ": " + reason);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.dto.BulkModerationRequest;
+import com.serhatsgr.dto.BulkModerationResponse;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.CommentRepository;
+import com.serhatsgr.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Admin toplu moderasyonu: binlerce yorum entity entity yüklenmeden, sayaçlarla birlikte
+ * tek set-based ifadeyle gizlenir veya silinir.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentModerationService {
+
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final FilmCacheService filmCacheService;
+    private final CommentStreamService commentStreamService;
+
+    @Transactional
+    public BulkModerationResponse moderate(BulkModerationRequest request) {
+        List<Long> ids = request.commentIds().stream().distinct().toList();
+        // Alt yanıtlar kök yorumla aynı filmdedir; cache için hedeflerin filmleri yeterli
+        List<Long> filmIds = commentRepository.findDistinctFilmIdsByIdIn(ids);
+        if (filmIds.isEmpty()) {
+            return new BulkModerationResponse(request.action(), ids.size(), 0);
+        }
+
+        int affected = switch (request.action()) {
+            case SOFT_DELETE -> commentRepository.bulkSoftDelete(ids, LocalDateTime.now());
+            case DELETE -> commentRepository.bulkDeleteWithReplies(ids);
+        };
+        filmCacheService.evictAll(filmIds);
+        // Yorum başına olay yerine film başına resync: canlı abonelerde moderasyon edilen yorumlar kalmasın
+        commentStreamService.resync(filmIds);
+
+        log.info("Toplu moderasyon uygulandı. İşlem: {}, İstenen: {}, Etkilenen: {}", request.action(), ids.size(), affected);
+        return new BulkModerationResponse(request.action(), ids.size(), affected);
+    }
+
+    /**
+     * Kullanıcının görünür tüm yorumlarını tek ifadede gizler (ör. ban ile birlikte spam temizliği).
+     * Gizlenen yorum sayısını döner.
+     */
+    @Transactional
+    public int hideAllByUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı"));
+        }
+
+        List<Long> filmIds = commentRepository.findDistinctVisibleFilmIdsByUserId(userId);
+        if (filmIds.isEmpty()) {
+            return 0;
+        }
+
+        int hidden = commentRepository.bulkSoftDeleteByUserId(userId, LocalDateTime.now());
+        filmCacheService.evictAll(filmIds);
+        commentStreamService.resync(filmIds);
+
+        log.info("Kullanıcının yorumları gizlendi. Kullanıcı ID: {}, Yorum sayısı: {}", userId, hidden);
+        return hidden;
+    }
+}
@@ -0,0 +1,123 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.dto.CommentRateLimitStatsResponse;
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kullanıcı başına yorum yazma sınırlayıcısı (token bucket).
+ * Kova, "teorik sonraki varış zamanı" olarak tek bir AtomicLong'da tutulur (GCRA): jeton sayısı ve son dolum
+ * zamanı ayrı alanlar olmadığı için istek tek CAS ile kabul/ret edilir, kilit yoktur.
+ * Sınırlar rol başınadır; kullanıcının en yetkili rolünün sınırı uygulanır.
+ */
+@Service
+public class CommentRateLimitService {
+
+    private final boolean enabled;
+    private final Tier userTier;
+    private final Tier modTier;
+    private final Tier adminTier;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder allowedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public CommentRateLimitService(@Value("${comment.rate-limit.enabled:true}") boolean enabled,
+                                   @Value("${comment.rate-limit.user.capacity:5}") int userCapacity,
+                                   @Value("${comment.rate-limit.user.refill-period:PT10S}") Duration userRefillPeriod,
+                                   @Value("${comment.rate-limit.mod.capacity:20}") int modCapacity,
+                                   @Value("${comment.rate-limit.mod.refill-period:PT2S}") Duration modRefillPeriod,
+                                   @Value("${comment.rate-limit.admin.capacity:50}") int adminCapacity,
+                                   @Value("${comment.rate-limit.admin.refill-period:PT1S}") Duration adminRefillPeriod) {
+        this.enabled = enabled;
+        this.userTier = new Tier(userCapacity, userRefillPeriod);
+        this.modTier = new Tier(modCapacity, modRefillPeriod);
+        this.adminTier = new Tier(adminCapacity, adminRefillPeriod);
+    }
+
+    /**
+     * Kullanıcının kovasından bir jeton harcar; kova boşsa TOO_MANY_REQUESTS fırlatır.
+     */
+    public void acquire(String username, Collection<? extends GrantedAuthority> authorities) {
+        if (!enabled) {
+            return;
+        }
+        Tier tier = tierOf(authorities);
+        long now = nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(username, key -> new AtomicLong(now));
+
+        while (true) {
+            long theoreticalArrival = bucket.get();
+            // Dolu kova: teorik varış zamanı geçmişte kalmıştır
+            long next = (theoreticalArrival - now < 0 ? now : theoreticalArrival) + tier.intervalNanos;
+            long waitNanos = next - now - tier.burstNanos;
+            if (waitNanos > 0) {
+                rejectedCount.increment();
+                long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                throw new TooManyRequestsException(
+                        "Çok fazla yorum gönderdiniz, lütfen " + waitSeconds + " saniye sonra tekrar deneyin", waitSeconds);
+            }
+            if (bucket.compareAndSet(theoreticalArrival, next)) {
+                allowedCount.increment();
+                return;
+            }
+        }
+    }
+
+    // Tamamen dolmuş kovalar yeni bir kovayla aynıdır; silinerek bellek aktif yazar sayısıyla sınırlı tutulur
+    @Scheduled(fixedDelayString = "${comment.rate-limit.cleanup-interval:PT5M}")
+    public void evictIdleBuckets() {
+        long now = nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    public CommentRateLimitStatsResponse stats() {
+        return new CommentRateLimitStatsResponse(
+                enabled,
+                buckets.size(),
+                allowedCount.sum(),
+                rejectedCount.sum()
+        );
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private Tier tierOf(Collection<? extends GrantedAuthority> authorities) {
+        boolean mod = false;
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                String name = authority.getAuthority();
+                if (Role.ROLE_ADMIN.name().equals(name)) {
+                    return adminTier;
+                }
+                mod |= Role.ROLE_MOD.name().equals(name);
+            }
+        }
+        return mod ? modTier : userTier;
+    }
+
+    private static final class Tier {
+
+        private final long intervalNanos;
+        private final long burstNanos;
+
+        Tier(int capacity, Duration refillPeriod) {
+            this.intervalNanos = refillPeriod.toNanos();
+            this.burstNanos = (long) capacity * intervalNanos;
+        }
+    }
+}
@@ -8,8 +8,12 @@ import com.serhatsgr.exception.*;
 import com.serhatsgr.repository.CommentRepository;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
 import com.serhatsgr.service.ICommentService;
+import com.serhatsgr.repository.projection.CommentRow;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -17,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -28,6 +33,22 @@ public class CommentServiceImpl implements ICommentService {
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
     private final FilmRepository filmRepository;
+    private final FilmCacheService filmCacheService;
+    private final CommentStreamService commentStreamService;
+    private final BannedUserService bannedUserService;
+    private final CommentRateLimitService commentRateLimitService;
+    private final CommentSpamFilterService commentSpamFilterService;
+    private final CurrentUserAccessor currentUserAccessor;
+
+    // Yol segmenti: sıfır dolgulu 10 haneli ID; VARCHAR(1000) sütunu en fazla 100 seviye taşır
+    private static final int PATH_SEGMENT_LENGTH = 10;
+    private static final int MAX_THREAD_DEPTH = 100;
+
+    @Value("${comment.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${comment.page.max-size:50}")
+    private int maxPageSize;
 
     // --- Helper: Admin Kontrolü ---
     private boolean isAdmin() {
@@ -42,9 +63,15 @@ public class CommentServiceImpl implements ICommentService {
     @Override
     @Transactional
     public CommentResponse createComment(CreateCommentRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String username = auth.getName();
+        // Sınır aşımı ve kopya içerik veritabanına gitmeden reddedilir
+        commentRateLimitService.acquire(username, auth.getAuthorities());
+        CommentSpamFilterService.Fingerprint fingerprint = commentSpamFilterService.check(username, request.content());
+
+        // Yazar sadece yabancı anahtar için gerekli; ID principal'dan gelir, kullanıcı satırı yüklenmez
+        Long userId = currentUserAccessor.getId();
+        User user = userRepository.getReferenceById(userId);
 
         Film film = filmRepository.findById(request.filmId())
                 .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
@@ -54,6 +81,13 @@ public class CommentServiceImpl implements ICommentService {
         if (request.parentCommentId() != null) {
             parent = commentRepository.findById(request.parentCommentId())
                     .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Yanıtlanan yorum bulunamadı")));
+            // Yanıtın yolu üst yorumun alt ağacına düşer; başka filmin ağacına yanıt eklenemez
+            if (!parent.getFilm().getId().equals(film.getId())) {
+                throw new BaseException(new ErrorMessage(MessageType.BAD_REQUEST, "Yanıtlanan yorum başka bir filme ait"));
+            }
+            if (depthOf(parent.getPath()) + 1 >= MAX_THREAD_DEPTH) {
+                throw new BaseException(new ErrorMessage(MessageType.BAD_REQUEST, "Yanıt zinciri çok derin, bu yoruma yanıt verilemez"));
+            }
         }
 
         Comment comment = Comment.builder()
@@ -65,7 +99,20 @@ public class CommentServiceImpl implements ICommentService {
                 .build();
 
         Comment savedComment = commentRepository.save(comment);
-        return mapToResponse(savedComment);
+        // ID insert ile oluşur; yol aynı transaction'da commit öncesi UPDATE ile yazılır
+        savedComment.setPath((parent != null ? parent.getPath() : "") + pathSegment(savedComment.getId()));
+
+        // Sayaçlar atomik UPDATE ile artar; kilit sırası her yerde yorum -> üst yorum -> film
+        if (parent != null) {
+            commentRepository.adjustReplyCount(parent.getId(), 1);
+        }
+        filmRepository.adjustCommentCount(film.getId(), 1);
+        filmCacheService.evict(film.getId());
+        commentSpamFilterService.record(username, fingerprint);
+
+        CommentResponse response = mapToResponse(toRow(savedComment, username));
+        commentStreamService.publish(new CommentEvent(CommentEvent.Type.CREATED, film.getId(), response.id(), response));
+        return response;
     }
 
     // --- Yorum Güncelleme ---
@@ -94,7 +141,9 @@ public class CommentServiceImpl implements ICommentService {
         comment.setContent(request.content());
         Comment updatedComment = commentRepository.save(comment);
 
-        return mapToResponse(updatedComment);
+        CommentResponse response = mapToResponse(updatedComment);
+        commentStreamService.publish(new CommentEvent(CommentEvent.Type.UPDATED, response.filmId(), commentId, response));
+        return response;
     }
 
     // Yorum Silme (Soft vs Hard Delete) ---
@@ -114,25 +163,45 @@ public class CommentServiceImpl implements ICommentService {
         //eğer yorumun yanıtı varsa o yorumu tamamen silmek agacı bozar
         // bu sebeple yanıtı olan yorumları Soft Delete ile siliyoruz(içerik gizliyoruz.)
         //yorumun yanıtı yoksa tamamen siliyoruz yani: Hard Delete
-        if (comment.getReplies() != null && !comment.getReplies().isEmpty()) {
+        Long filmId = comment.getFilm().getId();
+        // Daha önce soft-delete edilmiş yorum film sayacından zaten düşülmüştür
+        boolean wasVisible = !comment.isDeleted();
+        CommentResponse tombstone = null;
+
+        if (commentRepository.existsByParentCommentId(commentId)) {
             comment.setDeleted(true);
             comment.setContent("Bu yorum silindi."); // İçeriği temizle
             commentRepository.save(comment);
+            // Soft-delete edilen yorum thread'de yer tutmaya devam eder; üst yorumun yanıt sayacı değişmez
+            tombstone = mapToResponse(comment);
         } else {
-            commentRepository.delete(comment);
+            Comment parent = comment.getParentComment();
+            commentRepository.deleteRowById(commentId);
+            if (parent != null) {
+                commentRepository.adjustReplyCount(parent.getId(), -1);
+            }
+        }
+
+        if (wasVisible) {
+            filmRepository.adjustCommentCount(filmId, -1);
+            filmCacheService.evict(filmId);
         }
+
+        commentStreamService.publish(new CommentEvent(CommentEvent.Type.DELETED, filmId, commentId, tombstone));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByFilm(Long filmId) {
-        Film film = filmRepository.findById(filmId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
-
-        List<Comment> allComments = commentRepository.findAllByFilm(film);
+        // Yorum, yazar ve üst yorum ID'si tek sorguda gelir
+        List<CommentRow> rows = commentRepository.findRowsByFilmId(filmId);
 
+        // Film kontrolü sadece sonuç boşsa yapılır (yorumu olan film zaten vardır)
+        if (rows.isEmpty() && !filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
 
-        List<CommentResponse> allDtos = allComments.stream()
+        List<CommentResponse> allDtos = rows.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
 
@@ -153,35 +222,142 @@ public class CommentServiceImpl implements ICommentService {
             }
         }
 
-        // SIRALAMA:
-        // 1. Ana yorumlar: En yeni yorum en üstte olmalı
-        rootComments.sort((c1, c2) -> c2.createdAt().compareTo(c1.createdAt()));
-
-        // 2. Alt yorumlar: En eski en üstte olmalı
-        allDtos.forEach(dto ->
-                dto.replies().sort((r1, r2) -> r1.createdAt().compareTo(r2.createdAt()))
-        );
+        // SIRALAMA: satırlar created_at ASC geldiği için alt yorumlar zaten en eski üstte;
+        // ana yorumlarda en yeni yorum en üstte olmalı
+        Collections.reverse(rootComments);
 
         return rootComments;
     }
 
-    private CommentResponse mapToResponse(Comment comment) {
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getRootComments(Long filmId, Integer size, String cursor) {
+        if (!filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
 
-        boolean isAuthorBanned = !comment.getUser().isEnabled();
-        boolean isDeleted = comment.isDeleted();
-        String displayContent = isDeleted ? "🗑️ [Silindi]" : (isAuthorBanned ? "🚫 [Banlı]" : comment.getContent());
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorPage.decodeCursor(cursor);
+        // Bir fazla kayıt çekilir; fazlası sonraki sayfanın var olduğunu gösterir
+        Limit limit = Limit.of(pageSize + 1);
 
-        return new CommentResponse(
+        List<CommentRow> comments = lastId == null
+                ? commentRepository.findFirstRootPage(filmId, limit)
+                : commentRepository.findRootPageBefore(filmId, lastId, limit);
+
+        return CursorPage.of(toThreadResponses(comments), pageSize, CommentResponse::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getReplies(Long commentId, Integer size, String cursor) {
+        if (!commentRepository.existsById(commentId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Yorum bulunamadı"));
+        }
+
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorPage.decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<CommentRow> replies = lastId == null
+                ? commentRepository.findFirstReplyPage(commentId, limit)
+                : commentRepository.findReplyPageAfter(commentId, lastId, limit);
+
+        return CursorPage.of(toThreadResponses(replies), pageSize, CommentResponse::id);
+    }
+
+    /**
+     * Yorumu ve tüm alt yanıtlarını ön-sıralı (her yanıt kendi üst yorumunun hemen altında) düz liste olarak döner.
+     * Sıralama veritabanında path index'inden gelir; JVM'de ağaç kurulmaz, girinti için depth kullanılır.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getThread(Long commentId, Integer size, String cursor) {
+        String rootPath = commentRepository.findPathById(commentId)
+                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Yorum bulunamadı")));
+
+        int pageSize = resolvePageSize(size);
+        String afterPath = CursorPage.decodeKeyCursor(cursor);
+        // Segmentler sadece rakam; ':' karakteri '9'dan hemen sonra gelir, alt ağacın üst sınırıdır
+        String toPath = rootPath + ":";
+        Limit limit = Limit.of(pageSize + 1);
+
+        if (afterPath != null && !afterPath.startsWith(rootPath)) {
+            throw new BaseException(new ErrorMessage(MessageType.BAD_REQUEST, "Geçersiz sayfa imleci."));
+        }
+
+        List<CommentRow> rows = afterPath == null
+                ? commentRepository.findFirstSubtreePage(rootPath, toPath, limit)
+                : commentRepository.findSubtreePageAfter(afterPath, toPath, limit);
+
+        CursorPage<CommentRow> page = CursorPage.ofKey(rows, pageSize, CommentRow::path);
+        return new CursorPage<>(toThreadResponses(page.items()), page.nextCursor(), page.hasNext());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Yanıt sayısı satırdaki reply_count sayacından gelir; yanıtlar yüklenmez, ek sorgu atılmaz
+    private List<CommentResponse> toThreadResponses(List<CommentRow> comments) {
+        return comments.stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    private static String pathSegment(Long id) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "d", id);
+    }
+
+    // Kök yorum 0. seviyedir
+    private static int depthOf(String path) {
+        return path == null ? 0 : path.length() / PATH_SEGMENT_LENGTH - 1;
+    }
+
+    // Yazma yollarında entity zaten yüklü; okuma yolları CommentRow ile gelir
+    private CommentResponse mapToResponse(Comment comment) {
+        return mapToResponse(toRow(comment, comment.getUser().getUsername()));
+    }
+
+    // Yazar adı dışarıdan verilebilir: referans (proxy) kullanıcıda getUsername() satırı yükler, getId() yüklemez
+    private CommentRow toRow(Comment comment, String authorUsername) {
+        return new CommentRow(
                 comment.getId(),
-                displayContent,
+                comment.getContent(),
                 comment.getCreatedAt(),
                 comment.getUpdatedAt(),
-                comment.getUser().getUsername(),
+                authorUsername,
+                comment.getUser().getId(),
                 comment.getFilm().getId(),
+                comment.isDeleted(),
+                comment.getParentComment() != null ? comment.getParentComment().getId() : null,
+                comment.getPath(),
+                comment.getReplyCount()
+        );
+    }
+
+    private CommentResponse mapToResponse(CommentRow row) {
+
+        boolean isAuthorBanned = bannedUserService.isBanned(row.userId());
+        boolean isDeleted = row.deleted();
+        String displayContent = isDeleted ? "🗑️ [Silindi]" : (isAuthorBanned ? "🚫 [Banlı]" : row.content());
+
+        return new CommentResponse(
+                row.id(),
+                displayContent,
+                row.createdAt(),
+                row.updatedAt(),
+                row.username(),
+                row.filmId(),
                 isAuthorBanned,
                 isDeleted,
-                comment.getParentComment() != null ? comment.getParentComment().getId() : null,
+                row.parentCommentId(),
+                row.replyCount(),
+                depthOf(row.path()),
                 new ArrayList<>() // Boş liste başlat
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,400 @@
+package com.serhatsgr.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serhatsgr.dto.CommentSpamStatsResponse;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.utils.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Veritabanına gitmeden tekrar eden / spam yorumları yakalayan bellek içi filtre.
+ * İçerik normalize edilir (büyük-küçük harf, aksan, noktalama, boşluk farkları atılır); tam kopya için 64 bit
+ * özet, yakın kopya için karakter shingle'larının MinHash imzası tutulur. İki imzanın eşit değer oranı,
+ * shingle kümelerinin Jaccard benzerliğini tahmin eder; oran eşiğin üstündeyse içerik yakın kopya sayılır.
+ * <ul>
+ *     <li>Kullanıcı penceresi: kullanıcının son N yorumu; aynı/benzer yorumu tekrar göndermesi reddedilir.</li>
+ *     <li>Global pencere: tüm kullanıcıların son yorumları; aynı/benzer içerik eşik sayısına ulaştıysa
+ *     (farklı hesaplardan bot yayını) reddedilir. İmza bantlara bölünerek indekslenir (LSH): sadece en az bir
+ *     bandı birebir aynı olan, sayısı sınırlı adaylar karşılaştırılır.</li>
+ * </ul>
+ * Parmak izi commit sonrasında kaydedilir; aynı anda gelen iki kopyadan ikisi de geçebilir, sonrakiler yakalanır.
+ */
+@Service
+public class CommentSpamFilterService {
+
+    private static final int SHINGLE_LENGTH = 5;
+    // 8 bant x 2 satır: Jaccard 0.5 olan çift %90, 0.7 olan çift %99 olasılıkla aday olur
+    private static final int SIGNATURE_SIZE = 16;
+    private static final int BAND_COUNT = 8;
+    private static final int ROWS_PER_BAND = SIGNATURE_SIZE / BAND_COUNT;
+    // Bant başına tutulan aday sınırı: kontrol maliyeti pencere boyutundan bağımsız kalır
+    private static final int MAX_CANDIDATES_PER_BAND = 64;
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+
+    static {
+        long seed = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + 0x9e3779b97f4a7c15L);
+            SEEDS[i] = seed;
+        }
+    }
+
+    private final boolean enabled;
+    private final long userWindowNanos;
+    private final int userHistorySize;
+    private final long globalWindowNanos;
+    private final int globalThreshold;
+    private final int minNearDuplicateLength;
+    private final int minMatchingValues;
+
+    private final Cache<String, UserHistory> userHistories;
+    private final GlobalWindow globalWindow;
+
+    private final AtomicLong checkedCount = new AtomicLong();
+    private final AtomicLong userRejectedCount = new AtomicLong();
+    private final AtomicLong globalRejectedCount = new AtomicLong();
+
+    public CommentSpamFilterService(@Value("${comment.spam.enabled:true}") boolean enabled,
+                                    @Value("${comment.spam.user-window:PT10M}") Duration userWindow,
+                                    @Value("${comment.spam.user-history:20}") int userHistorySize,
+                                    @Value("${comment.spam.max-users:100000}") long maxUsers,
+                                    @Value("${comment.spam.global-window:PT1H}") Duration globalWindow,
+                                    @Value("${comment.spam.global-capacity:50000}") int globalCapacity,
+                                    @Value("${comment.spam.global-threshold:3}") int globalThreshold,
+                                    @Value("${comment.spam.min-length:20}") int minNearDuplicateLength,
+                                    @Value("${comment.spam.similarity:0.6}") double similarity) {
+        this.enabled = enabled;
+        this.userWindowNanos = userWindow.toNanos();
+        this.userHistorySize = userHistorySize;
+        this.globalWindowNanos = globalWindow.toNanos();
+        this.globalThreshold = globalThreshold;
+        this.minNearDuplicateLength = minNearDuplicateLength;
+        this.minMatchingValues = (int) Math.ceil(similarity * SIGNATURE_SIZE);
+        this.userHistories = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(userWindow)
+                .build();
+        this.globalWindow = new GlobalWindow(globalCapacity);
+    }
+
+    /**
+     * İçeriği kullanıcının ve global pencerenin son yorumlarıyla karşılaştırır; kopya ise DUPLICATE_RESOURCE fırlatır.
+     * Dönen parmak izi yorum kaydedildikten sonra {@link #record} ile pencereye eklenmelidir.
+     */
+    public Fingerprint check(String username, String content) {
+        Fingerprint fingerprint = fingerprint(content);
+        if (!enabled) {
+            return fingerprint;
+        }
+        checkedCount.incrementAndGet();
+        long now = nanoTime();
+
+        UserHistory history = userHistories.getIfPresent(username);
+        if (history != null && history.matches(fingerprint, now)) {
+            userRejectedCount.incrementAndGet();
+            throw new BaseException(new ErrorMessage(MessageType.DUPLICATE_RESOURCE,
+                    "Aynı veya çok benzer bir yorumu kısa süre önce gönderdiniz"));
+        }
+        // Kısa ve yaygın içerikler ("harika film") farklı kullanıcılardan gelebilir; global kontrol dışı
+        if (fingerprint.nearDuplicateEligible() && globalWindow.countMatches(fingerprint, now) >= globalThreshold) {
+            globalRejectedCount.incrementAndGet();
+            throw new BaseException(new ErrorMessage(MessageType.DUPLICATE_RESOURCE,
+                    "Bu içerik kısa süre içinde çok kez gönderildi ve spam olarak algılandı"));
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Kaydedilen yorumun parmak izini pencerelere ekler (transaction varsa commit sonrasında).
+     */
+    public void record(String username, Fingerprint fingerprint) {
+        if (!enabled) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            long now = nanoTime();
+            userHistories.get(username, key -> new UserHistory(userHistorySize)).add(fingerprint, now);
+            if (fingerprint.nearDuplicateEligible()) {
+                globalWindow.add(fingerprint, now);
+            }
+        });
+    }
+
+    public CommentSpamStatsResponse stats() {
+        return new CommentSpamStatsResponse(
+                enabled,
+                userHistories.estimatedSize(),
+                globalWindow.size(),
+                checkedCount.get(),
+                userRejectedCount.get(),
+                globalRejectedCount.get()
+        );
+    }
+
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    // Yakın kopya karşılaştırması sadece yeterince uzun içerikte anlamlıdır; kısa içerikte sadece tam kopya bakılır
+    private Fingerprint fingerprint(String content) {
+        String normalized = normalize(content);
+        boolean eligible = normalized.length() >= minNearDuplicateLength;
+        return new Fingerprint(hash(normalized, 0, normalized.length()), eligible ? minHash(normalized) : null, eligible);
+    }
+
+    // Aksanlar ve noktalama atılır, harfler küçültülür, boşluk dizileri teke iner; "ı" ve "i" aynı sayılır
+    private static String normalize(String content) {
+        String decomposed = Normalizer.normalize(content, Normalizer.Form.NFKD);
+        StringBuilder builder = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && !builder.isEmpty()) {
+                    builder.append(' ');
+                }
+                pendingSpace = false;
+                builder.append(c);
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return builder.toString().toLowerCase(Locale.ROOT).replace('ı', 'i');
+    }
+
+    // Her imza değeri, shingle özetlerinin farklı bir karıştırmayla alınmış minimumudur
+    private static int[] minHash(String normalized) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int last = Math.max(0, normalized.length() - SHINGLE_LENGTH);
+        for (int start = 0; start <= last; start++) {
+            long shingle = hash(normalized, start, Math.min(normalized.length(), start + SHINGLE_LENGTH));
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // FNV-1a 64 + son karıştırma
+    private static long hash(String text, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private boolean similar(int[] a, int[] b) {
+        int matching = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                matching++;
+            }
+        }
+        return matching >= minMatchingValues;
+    }
+
+    private static long bandKey(int band, int[] signature) {
+        long key = band;
+        for (int row = band * ROWS_PER_BAND; row < (band + 1) * ROWS_PER_BAND; row++) {
+            key = key * 0x100000001b3L + signature[row];
+        }
+        return mix(key);
+    }
+
+    private static int firstMatchingBand(int[] a, int[] b) {
+        for (int band = 0; band < BAND_COUNT; band++) {
+            if (Arrays.equals(a, band * ROWS_PER_BAND, (band + 1) * ROWS_PER_BAND,
+                    b, band * ROWS_PER_BAND, (band + 1) * ROWS_PER_BAND)) {
+                return band;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * minHash sadece yakın kopya karşılaştırmasına uygun (yeterince uzun) içerikte doludur.
+     */
+    public record Fingerprint(long exactHash, int[] minHash, boolean nearDuplicateEligible) {}
+
+    // Kullanıcının son N yorumu; N küçük olduğu için doğrusal tarama sabit maliyetlidir
+    private final class UserHistory {
+
+        private final Fingerprint[] fingerprints;
+        private final long[] times;
+        private int next;
+        private int size;
+
+        UserHistory(int capacity) {
+            this.fingerprints = new Fingerprint[capacity];
+            this.times = new long[capacity];
+        }
+
+        synchronized boolean matches(Fingerprint fingerprint, long now) {
+            for (int i = 0; i < size; i++) {
+                if (now - times[i] > userWindowNanos) {
+                    continue;
+                }
+                Fingerprint previous = fingerprints[i];
+                if (previous.exactHash() == fingerprint.exactHash()) {
+                    return true;
+                }
+                if (previous.nearDuplicateEligible() && fingerprint.nearDuplicateEligible()
+                        && similar(previous.minHash(), fingerprint.minHash())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(Fingerprint fingerprint, long now) {
+            fingerprints[next] = fingerprint;
+            times[next] = now;
+            next = (next + 1) % fingerprints.length;
+            size = Math.min(size + 1, fingerprints.length);
+        }
+    }
+
+    /**
+     * Sabit kapasiteli halka: en eski kayıt süresi dolduğunda ya da halka dolduğunda indekslerden düşülür.
+     * Bant indeksi: bant anahtarı -> halkadaki sıra numaraları (eklenme sırasıyla).
+     */
+    private final class GlobalWindow {
+
+        private final int[][] signatures;
+        private final long[] times;
+        private final long[] sequences;
+        private final Map<Long, ArrayDeque<Long>> bandIndex = new HashMap<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private long nextSequence;
+        private long oldestSequence;
+
+        GlobalWindow(int capacity) {
+            this.signatures = new int[capacity][];
+            this.times = new long[capacity];
+            this.sequences = new long[capacity];
+            Arrays.fill(sequences, -1);
+        }
+
+        int countMatches(Fingerprint fingerprint, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                int matches = 0;
+                // Aynı kayıt birden fazla bantta aday olabilir; sadece ilk ortak bandında sayılır
+                for (int band = 0; band < BAND_COUNT; band++) {
+                    ArrayDeque<Long> candidates = bandIndex.get(bandKey(band, fingerprint.minHash()));
+                    if (candidates == null) {
+                        continue;
+                    }
+                    for (long sequence : candidates) {
+                        int slot = slot(sequence);
+                        if (sequences[slot] == sequence
+                                && firstMatchingBand(signatures[slot], fingerprint.minHash()) == band
+                                && similar(signatures[slot], fingerprint.minHash())) {
+                            matches++;
+                        }
+                    }
+                }
+                return matches;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(Fingerprint fingerprint, long now) {
+            lock.lock();
+            try {
+                expire(now);
+                if (nextSequence - oldestSequence == signatures.length) {
+                    evictOldest();
+                }
+                long sequence = nextSequence++;
+                int slot = slot(sequence);
+                signatures[slot] = fingerprint.minHash();
+                times[slot] = now;
+                sequences[slot] = sequence;
+                for (int band = 0; band < BAND_COUNT; band++) {
+                    ArrayDeque<Long> candidates = bandIndex.computeIfAbsent(bandKey(band, fingerprint.minHash()), key -> new ArrayDeque<>());
+                    if (candidates.size() == MAX_CANDIDATES_PER_BAND) {
+                        candidates.pollFirst();
+                    }
+                    candidates.addLast(sequence);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return (int) (nextSequence - oldestSequence);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void expire(long now) {
+            while (oldestSequence < nextSequence && now - times[slot(oldestSequence)] > globalWindowNanos) {
+                evictOldest();
+            }
+        }
+
+        // Adaylar eklenme sırasıyla tutulduğu için en eski kayıt listesinin başındadır (ya da sınırdan dolayı düşmüştür)
+        private void evictOldest() {
+            long sequence = oldestSequence++;
+            int slot = slot(sequence);
+            for (int band = 0; band < BAND_COUNT; band++) {
+                long key = bandKey(band, signatures[slot]);
+                ArrayDeque<Long> candidates = bandIndex.get(key);
+                if (candidates == null) {
+                    continue;
+                }
+                if (!candidates.isEmpty() && candidates.peekFirst() == sequence) {
+                    candidates.pollFirst();
+                }
+                if (candidates.isEmpty()) {
+                    bandIndex.remove(key);
+                }
+            }
+            signatures[slot] = null;
+            sequences[slot] = -1;
+        }
+
+        private int slot(long sequence) {
+            return (int) (sequence % signatures.length);
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.dto.CommentEvent;
+import com.serhatsgr.dto.CommentStreamStatsResponse;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.utils.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Film başına yorum değişikliklerini SSE abonelerine dağıtan bellek içi hub.
+ * Bekleyen abone thread tutmaz (servlet async); her abonenin sınırlı bir kuyruğu vardır ve gönderim
+ * küçük bir dağıtıcı havuzunda yapılır. Yayınlayan taraf hiçbir zaman beklemez: kuyruğu dolan abone
+ * "resync" olayıyla kapatılır, istemci yeniden bağlanıp thread'i baştan çeker.
+ * Soketi okumayan istemcide gönderim bloklanabilir; süresi aşan gönderimin abonesi düşürülür ve takılan
+ * thread'in yerine havuza yenisi eklenir, böylece tek bir emitter dağıtıcıyı durduramaz. Havuz en fazla
+ * max-dispatch-threads kadar büyür; sınırda takılan aboneler havuz büyütülmeden düşürülür.
+ */
+@Slf4j
+@Service
+public class CommentStreamService {
+
+    static final String RESYNC_EVENT = "RESYNC";
+
+    private final FilmRepository filmRepository;
+
+    private final long timeoutMillis;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+
+    private final Map<Long, Set<Subscriber>> subscribersByFilm = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong stalledCount = new AtomicLong();
+    private final long sendTimeoutNanos;
+    private final int maxDispatchThreads;
+    private final ThreadPoolExecutor dispatcher;
+
+    public CommentStreamService(FilmRepository filmRepository,
+                                @Value("${comment.stream.timeout:PT30M}") Duration timeout,
+                                @Value("${comment.stream.queue-capacity:64}") int queueCapacity,
+                                @Value("${comment.stream.max-subscribers:10000}") int maxSubscribers,
+                                @Value("${comment.stream.dispatch-threads:4}") int dispatchThreads,
+                                @Value("${comment.stream.max-dispatch-threads:16}") int maxDispatchThreads,
+                                @Value("${comment.stream.send-timeout:PT10S}") Duration sendTimeout) {
+        this.filmRepository = filmRepository;
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxDispatchThreads = Math.max(dispatchThreads, maxDispatchThreads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "comment-stream-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public SseEmitter subscribe(Long filmId) {
+        if (!filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new BaseException(new ErrorMessage(MessageType.SERVICE_UNAVAILABLE, "Yorum akışı abone sınırına ulaştı, lütfen daha sonra tekrar deneyin"));
+        }
+
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(filmId, emitter, queueCapacity);
+        // compute: boşalan film kaydının silinmesiyle yarışmadan eklenir
+        subscribersByFilm.compute(filmId, (id, set) -> {
+            Set<Subscriber> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribers.add(subscriber);
+            return subscribers;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    /**
+     * Olayı commit'ten sonra filmin abonelerine dağıtır (rollback olan değişiklik yayınlanmaz).
+     */
+    public void publish(CommentEvent event) {
+        TransactionHooks.afterCommit(() -> fanOut(event));
+    }
+
+    /**
+     * Toplu değişikliklerde (moderasyon) yorum başına olay yerine filmin abonelerine commit'ten sonra
+     * resync gönderilir; istemci yeniden bağlanıp thread'i baştan çeker.
+     */
+    public void resync(Collection<Long> filmIds) {
+        TransactionHooks.afterCommit(() -> filmIds.forEach(filmId -> {
+            Set<Subscriber> subscribers = subscribersByFilm.get(filmId);
+            if (subscribers != null) {
+                subscribers.forEach(subscriber -> {
+                    subscriber.resyncDue = true;
+                    schedule(subscriber);
+                });
+            }
+        }));
+    }
+
+    // Bağlantı kopukluğu ancak yazma denemesinde anlaşılır; periyodik yorum satırı ölü aboneleri temizler
+    @Scheduled(fixedDelayString = "${comment.stream.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        subscribersByFilm.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }));
+    }
+
+    /**
+     * Süresi aşan gönderimlerin abonesini düşürür. Emitter'ın kilidi gönderen thread'de olduğu için burada
+     * complete çağrılmaz; gönderen thread kesilir, soket yazması hata verdiğinde kapanışı kendisi yapar.
+     * Kesme bloklayan soket yazmasını açacağı garanti olmadığından takılan thread serbest kalana kadar havuz
+     * bir thread büyütülür; büyüme max-dispatch-threads ile sınırlıdır, sınırda yalnızca abone düşürülür.
+     */
+    @Scheduled(fixedDelayString = "${comment.stream.send-watchdog-interval:PT1S}")
+    public void evictStalledSenders() {
+        long now = System.nanoTime();
+        subscribersByFilm.values().forEach(subscribers -> subscribers.forEach(subscriber -> {
+            synchronized (subscriber) {
+                if (subscriber.sender == null || subscriber.stalled || now - subscriber.sendStartedAt < sendTimeoutNanos) {
+                    return;
+                }
+                subscriber.stalled = true;
+                // Küçültme, gönderen thread serbest kaldığında aynı bayrağa bakılarak yapılır
+                subscriber.replaced = growDispatcher();
+                subscriber.sender.interrupt();
+            }
+            stalledCount.incrementAndGet();
+            log.warn("Yorum akışı gönderimi zaman aşımına uğradı, abone düşürülüyor. Film ID: {}", subscriber.filmId);
+            unsubscribe(subscriber);
+        }));
+    }
+
+    public CommentStreamStatsResponse stats() {
+        return new CommentStreamStatsResponse(
+                subscriberCount.get(),
+                subscribersByFilm.size(),
+                publishedCount.get(),
+                deliveredCount.get(),
+                overflowCount.get(),
+                stalledCount.get(),
+                dispatcher.getMaximumPoolSize()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        subscribersByFilm.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    protected SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void fanOut(CommentEvent event) {
+        publishedCount.incrementAndGet();
+        Set<Subscriber> subscribers = subscribersByFilm.get(event.filmId());
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(event)) {
+                // Yavaş abone yayını bekletmez; birikmiş olaylar atılır, abone resync ile kapatılır
+                subscriber.overflowed = true;
+                subscriber.queue.clear();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    // Abone başına aynı anda tek gönderim görevi çalışır; olay sırası korunur
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.closed.get() && subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                send(subscriber, SseEmitter.event().comment("ping"));
+            }
+            CommentEvent event;
+            while (!subscriber.overflowed && !subscriber.resyncDue && (event = subscriber.queue.poll()) != null) {
+                send(subscriber, SseEmitter.event()
+                        .id(String.valueOf(event.commentId()))
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+                deliveredCount.incrementAndGet();
+            }
+            if (subscriber.overflowed || subscriber.resyncDue) {
+                if (subscriber.overflowed) {
+                    overflowCount.incrementAndGet();
+                    log.warn("Yorum akışı abonesi yetişemedi, resync ile kapatılıyor. Film ID: {}", subscriber.filmId);
+                }
+                send(subscriber, SseEmitter.event().name(RESYNC_EVENT).data(subscriber.filmId));
+                subscriber.emitter.complete();
+                unsubscribe(subscriber);
+                return;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // İstemci bağlantıyı kapatmış
+            subscriber.emitter.complete();
+            unsubscribe(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+
+        // Döngü bittikten sonra, bayrak inmeden önce gelen olaylar kaçmasın
+        if (!subscriber.closed.get()
+                && (!subscriber.queue.isEmpty() || subscriber.overflowed || subscriber.resyncDue || subscriber.heartbeatDue)) {
+            schedule(subscriber);
+        }
+    }
+
+    // Gönderen thread ve başlangıç zamanı abone kilidi altında tutulur; kesme sadece bu gönderime düşer
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event) throws IOException {
+        synchronized (subscriber) {
+            if (subscriber.stalled) {
+                throw new IOException("Abone gönderim süresini aştı");
+            }
+            subscriber.sender = Thread.currentThread();
+            subscriber.sendStartedAt = System.nanoTime();
+        }
+        boolean stalled;
+        boolean replaced;
+        try {
+            subscriber.emitter.send(event);
+        } finally {
+            synchronized (subscriber) {
+                subscriber.sender = null;
+                stalled = subscriber.stalled;
+                replaced = subscriber.replaced;
+                subscriber.replaced = false;
+                Thread.interrupted();
+            }
+            if (replaced) {
+                shrinkDispatcher();
+            }
+        }
+        if (stalled) {
+            // Gönderim sonunda tamamlandıysa da abone düşürülmüştür; kapanış çağırana bırakılır
+            throw new IOException("Abone gönderim süresini aştı");
+        }
+    }
+
+    // Sınıra ulaşılmışsa havuz büyütülmez ve false döner
+    private synchronized boolean growDispatcher() {
+        int size = dispatcher.getMaximumPoolSize();
+        if (size >= maxDispatchThreads) {
+            return false;
+        }
+        dispatcher.setMaximumPoolSize(size + 1);
+        dispatcher.setCorePoolSize(size + 1);
+        return true;
+    }
+
+    private synchronized void shrinkDispatcher() {
+        dispatcher.setCorePoolSize(dispatcher.getCorePoolSize() - 1);
+        dispatcher.setMaximumPoolSize(dispatcher.getMaximumPoolSize() - 1);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribersByFilm.computeIfPresent(subscriber.filmId, (id, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static final class Subscriber {
+
+        private final Long filmId;
+        private final SseEmitter emitter;
+        private final Queue<CommentEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile boolean overflowed;
+        private volatile boolean heartbeatDue;
+        private volatile boolean resyncDue;
+        // Abone kilidi altında okunur/yazılır
+        private Thread sender;
+        private long sendStartedAt;
+        private boolean stalled;
+        private boolean replaced;
+
+        Subscriber(Long filmId, SseEmitter emitter, int queueCapacity) {
+            this.filmId = filmId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
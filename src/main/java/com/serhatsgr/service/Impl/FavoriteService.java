@@ -5,11 +5,12 @@ import com.serhatsgr.entity.*;
 import com.serhatsgr.exception.*;
 import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.*;
+import com.serhatsgr.security.CurrentUserAccessor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,37 +21,37 @@ public class FavoriteService {
     private final FilmRepository filmRepository;
     private final UserRepository userRepository;
     private final FilmMapper filmMapper;
-
-    private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
-    }
+    private final CurrentUserAccessor currentUserAccessor;
 
     @Transactional
     public void addFavorite(Long filmId) {
-        User user = getCurrentUser();
-        if (favoriteRepository.existsByUserIdAndFilmId(user.getId(), filmId)) return; // Zaten ekli
-
-        Film film = filmRepository.findById(filmId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
-
-        Favorite favorite = Favorite.builder().user(user).film(film).build();
+        Long userId = currentUserAccessor.getId();
+        if (favoriteRepository.existsByUserIdAndFilmId(userId, filmId)) return; // Zaten ekli
+
+        if (!filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
+
+        // İlişkiler sadece yabancı anahtar için gerekli: referanslar kullanıcı ve film satırlarını yüklemez
+        Favorite favorite = Favorite.builder()
+                .user(userRepository.getReferenceById(userId))
+                .film(filmRepository.getReferenceById(filmId))
+                .build();
         favoriteRepository.save(favorite);
     }
 
     @Transactional
     public void removeFavorite(Long filmId) {
-        User user = getCurrentUser();
-        Favorite fav = favoriteRepository.findByUserIdAndFilmId(user.getId(), filmId)
+        Long userId = currentUserAccessor.getId();
+        Favorite fav = favoriteRepository.findByUserIdAndFilmId(userId, filmId)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Favori bulunamadı")));
         favoriteRepository.delete(fav);
     }
 
     public List<DtoFilm> getMyFavorites() {
-        User user = getCurrentUser();
-        return favoriteRepository.findAllByUserId(user.getId()).stream()
-                .map(fav -> filmMapper.toDto(fav.getFilm()))
-                .collect(Collectors.toList());
+        Long userId = currentUserAccessor.getId();
+        List<Film> films = favoriteRepository.findFilmsByUserId(userId);
+        Set<Long> filmIds = films.stream().map(Film::getId).collect(Collectors.toSet());
+        return filmMapper.toDtoList(films, filmRepository.findCategoryNameMap(filmIds));
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.serhatsgr.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serhatsgr.dto.CacheStatsResponse;
+import com.serhatsgr.dto.DtoFilm;
+import com.serhatsgr.utils.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Film detayları (getFilmById) için boyut ve süre sınırlı read-through cache.
+ * Film, puan veya kategori değiştiğinde ilgili kayıt commit sonrasında geçersiz kılınır.
+ */
+@Service
+public class FilmCacheService {
+
+    public static final String CACHE_NAME = "filmDetails";
+
+    private final Cache<Long, DtoFilm> cache;
+
+    public FilmCacheService(@Value("${film.cache.max-size:10000}") long maxSize,
+                            @Value("${film.cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cache'te yoksa loader ile yükler; aynı ID için eşzamanlı istekler tek bir yükleme yapar.
+     * Loader hata fırlatırsa (ör. NOT_FOUND) hiçbir şey cache'lenmez.
+     */
+    public DtoFilm get(Long filmId, Function<Long, DtoFilm> loader) {
+        return cache.get(filmId, loader);
+    }
+
+    // Commit'ten önce silinirse eşzamanlı bir okuma eski veriyi tekrar cache'e koyabilir
+    public void evict(Long filmId) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(filmId));
+    }
+
+    public void evictAll(Collection<Long> filmIds) {
+        if (filmIds == null || filmIds.isEmpty()) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> cache.invalidateAll(filmIds));
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of(CACHE_NAME, cache);
+    }
+}
@@ -1,7 +1,9 @@
 package com.serhatsgr.service.Impl;
 
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.Category;
 import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.ListingType;
@@ -12,12 +14,19 @@ import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.CategoryRepository;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.service.IFilmService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Transactional
 @Service
@@ -26,13 +35,41 @@ public class FilmServiceImpl implements IFilmService {
     private final FilmRepository filmRepository;
     private final CategoryRepository categoryRepository;
     private final FilmMapper filmMapper;
+    private final FilmTitleIndexService filmTitleIndexService;
+    private final FilmCacheService filmCacheService;
+    private final CatalogVersionService catalogVersionService;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${film.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${film.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${film.search.max-results:20}")
+    private int searchMaxResults;
+
+    @Value("${film.autocomplete.default-limit:10}")
+    private int autocompleteDefaultLimit;
+
+    @Value("${film.autocomplete.max-limit:20}")
+    private int autocompleteMaxLimit;
 
     public FilmServiceImpl(FilmRepository filmRepository,
                            CategoryRepository categoryRepository,
-                           FilmMapper filmMapper) {
+                           FilmMapper filmMapper,
+                           FilmTitleIndexService filmTitleIndexService,
+                           FilmCacheService filmCacheService,
+                           CatalogVersionService catalogVersionService,
+                           PlatformTransactionManager transactionManager) {
         this.filmRepository = filmRepository;
         this.categoryRepository = categoryRepository;
         this.filmMapper = filmMapper;
+        this.filmTitleIndexService = filmTitleIndexService;
+        this.filmCacheService = filmCacheService;
+        this.catalogVersionService = catalogVersionService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
     @Override
@@ -68,6 +105,8 @@ public class FilmServiceImpl implements IFilmService {
 
         Film film = filmMapper.toEntity(dtoFilmIU, new HashSet<>(categories));
         Film savedFilm = filmRepository.save(film);
+        catalogVersionService.bump();
+        filmTitleIndexService.put(toTitleSummary(savedFilm));
         return filmMapper.toDto(savedFilm);
     }
 
@@ -85,16 +124,70 @@ public class FilmServiceImpl implements IFilmService {
         if (films.isEmpty()) {
             return List.of();
         }
-        return filmMapper.toDtoList(films);
+        return toDtoListWithCategories(films);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DtoFilm> getFilmPage(ListingType type, Integer size, String cursor) {
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorPage.decodeCursor(cursor);
+        // Bir fazla kayıt çekilir; fazlası sonraki sayfanın var olduğunu gösterir
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<Film> films;
+        if (type != null) {
+            films = lastId == null
+                    ? filmRepository.findFirstPageByListingType(type, limit)
+                    : filmRepository.findPageByListingTypeAfter(type, lastId, limit);
+        } else {
+            films = lastId == null
+                    ? filmRepository.findFirstPage(limit)
+                    : filmRepository.findPageAfter(lastId, limit);
+        }
+
+        return CursorPage.of(toDtoListWithCategories(films), pageSize, DtoFilm::getId);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DtoFilmSummary> getFilmSummaryPage(ListingType type, Integer size, String cursor) {
+        int pageSize = resolvePageSize(size);
+        Long lastId = CursorPage.decodeCursor(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<DtoFilmSummary> summaries;
+        if (type != null) {
+            summaries = lastId == null
+                    ? filmRepository.findFirstSummaryPageByListingType(type, limit)
+                    : filmRepository.findSummaryPageByListingTypeAfter(type, lastId, limit);
+        } else {
+            summaries = lastId == null
+                    ? filmRepository.findFirstSummaryPage(limit)
+                    : filmRepository.findSummaryPageAfter(lastId, limit);
+        }
+
+        return CursorPage.of(summaries, pageSize, DtoFilmSummary::getId);
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Cache isabetinde transaction açılmaz; yalnızca kaçırmada yükleme salt-okunur transaction'da çalışır
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DtoFilm getFilmById(Long id) {
-        Film dbFilm = filmRepository.findById(id)
-                .orElseThrow(() -> new BaseException(
-                        new ErrorMessage(MessageType.NOT_FOUND, id + " ID’li içerik bulunamadı.")
-                ));
-        return filmMapper.toDto(dbFilm);
+        return filmCacheService.get(id, filmId -> readOnlyTransaction.execute(status -> {
+            Film dbFilm = filmRepository.findById(filmId)
+                    .orElseThrow(() -> new BaseException(
+                            new ErrorMessage(MessageType.NOT_FOUND, filmId + " ID’li içerik bulunamadı.")
+                    ));
+            return filmMapper.toDto(dbFilm);
+        }));
     }
 
     @Override
@@ -104,6 +197,9 @@ public class FilmServiceImpl implements IFilmService {
                         new ErrorMessage(MessageType.NOT_FOUND, "Silinecek içerik bulunamadı: " + id)
                 ));
         filmRepository.delete(film);
+        catalogVersionService.bump();
+        filmTitleIndexService.remove(id);
+        filmCacheService.evict(id);
         return film.getTitle() + " içeriği başarıyla silindi";
     }
 
@@ -149,18 +245,58 @@ public class FilmServiceImpl implements IFilmService {
 
         filmMapper.updateEntity(existingFilm, dtoFilmIU, new HashSet<>(categories));
         Film updatedFilm = filmRepository.save(existingFilm);
+        // Sadece kategori ilişkisi değişse bile katalog sürümü ilerlemeli
+        catalogVersionService.bump();
+        filmTitleIndexService.put(toTitleSummary(updatedFilm));
+        filmCacheService.evict(id);
 
         return filmMapper.toDto(updatedFilm);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DtoFilm> searchFilms(String query) {
         //en az 2 karakter girilmeli
         if (query == null || query.trim().length() < 2) {
             return List.of();
         }
 
-        List<Film> films = filmRepository.findByTitleContainingIgnoreCase(query.trim());
-        return filmMapper.toDtoList(films);
+        String term = query.trim();
+        String tsQuery = toPrefixTsQuery(term);
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+
+        List<Film> films = filmRepository.searchRanked(tsQuery, term, searchMaxResults);
+        return toDtoListWithCategories(films);
+    }
+
+    // Sınıf seviyesindeki transaction açılmaz: her tuş vuruşunda bağlantı havuzundan bağlantı alınmasın
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DtoFilmSummary> autocomplete(String prefix, Integer limit) {
+        int resolvedLimit = (limit == null || limit <= 0)
+                ? autocompleteDefaultLimit
+                : Math.min(limit, autocompleteMaxLimit);
+        // Bellek içi indeksten cevaplanır, veritabanına gidilmez
+        return filmTitleIndexService.search(prefix, resolvedLimit);
+    }
+
+    private static DtoFilmSummary toTitleSummary(Film film) {
+        return new DtoFilmSummary(film.getId(), film.getTitle(), film.getPosterUrl());
+    }
+
+    // "yıldız sava" -> "yıldız:* & sava:*" (kelime önekleriyle eşleşme, tsquery operatörleri temizlenir)
+    private static String toPrefixTsQuery(String term) {
+        return Arrays.stream(term.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isBlank())
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    // Kategori adlarını film başına ayrı sorgu yerine tek toplu sorguyla yükler
+    private List<DtoFilm> toDtoListWithCategories(List<Film> films) {
+        Set<Long> filmIds = films.stream().map(Film::getId).collect(Collectors.toSet());
+        return filmMapper.toDtoList(films, filmRepository.findCategoryNameMap(filmIds));
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.dto.DtoFilmSummary;
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.utils.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Film başlıkları için bellek içi önek (autocomplete) indeksi.
+ * Başlıktaki her kelimenin başından itibaren oluşan son ek sıralı bir map'te tutulur;
+ * önek araması tek bir aralık taramasıdır ve veritabanına gitmez.
+ */
+@Slf4j
+@Service
+public class FilmTitleIndexService {
+
+    private static final Locale TR = Locale.forLanguageTag("tr");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final FilmRepository filmRepository;
+
+    // "katlanmış son ek \0 filmId" -> özet
+    private final ConcurrentSkipListMap<String, DtoFilmSummary> index = new ConcurrentSkipListMap<>();
+    private final Map<Long, List<String>> keysByFilmId = new ConcurrentHashMap<>();
+
+    public FilmTitleIndexService(FilmRepository filmRepository) {
+        this.filmRepository = filmRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        keysByFilmId.clear();
+        filmRepository.findAllTitleSummaries().forEach(this::putNow);
+        log.info("Film başlık indeksi yüklendi. Film sayısı: {}", keysByFilmId.size());
+    }
+
+    public List<DtoFilmSummary> search(String prefix, int limit) {
+        String folded = normalizePrefix(prefix == null ? "" : prefix);
+        if (folded.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        ConcurrentNavigableMap<String, DtoFilmSummary> range =
+                index.subMap(folded, true, folded + Character.MAX_VALUE, false);
+
+        // Aynı film birden fazla kelimesiyle eşleşebilir, ilk eşleşme yeterli
+        Map<Long, DtoFilmSummary> results = new LinkedHashMap<>();
+        for (DtoFilmSummary summary : range.values()) {
+            results.putIfAbsent(summary.getId(), summary);
+            if (results.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    // Transaction içindeyse commit sonrasında uygulanır; rollback olursa indeks değişmez
+    public void put(DtoFilmSummary summary) {
+        TransactionHooks.afterCommit(() -> putNow(summary));
+    }
+
+    public void remove(Long filmId) {
+        TransactionHooks.afterCommit(() -> removeNow(filmId));
+    }
+
+    private void putNow(DtoFilmSummary summary) {
+        removeNow(summary.getId());
+
+        String[] words = SEPARATORS.split(fold(summary.getTitle()));
+        List<String> keys = new ArrayList<>();
+        StringBuilder suffix = new StringBuilder();
+        for (int i = words.length - 1; i >= 0; i--) {
+            if (words[i].isEmpty()) continue;
+            suffix.insert(0, suffix.isEmpty() ? words[i] : words[i] + " ");
+            keys.add(suffix + String.valueOf(ID_SEPARATOR) + summary.getId());
+        }
+
+        keys.forEach(key -> index.put(key, summary));
+        keysByFilmId.put(summary.getId(), keys);
+    }
+
+    private void removeNow(Long filmId) {
+        List<String> keys = keysByFilmId.remove(filmId);
+        if (keys != null) {
+            keys.forEach(index::remove);
+        }
+    }
+
+    // Sorgu, başlıklarla aynı şekilde katlanıp kelimelere bölünür: "iron-man" -> "iron man"
+    static String normalizePrefix(String text) {
+        return String.join(" ", SEPARATORS.splitAsStream(fold(text)).filter(word -> !word.isEmpty()).toList());
+    }
+
+    /**
+     * Türkçe kurallarıyla küçük harfe çevirir, aksanları ve noktasız ı'yı sadeleştirir:
+     * "IRON Man", "ıron man" ve "İron Man" aynı anahtara düşer; "Şahin" -> "sahin".
+     */
+    static String fold(String text) {
+        String lower = text.toLowerCase(TR).replace('ı', 'i');
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("");
+    }
+}
@@ -1,29 +1,49 @@
 package com.serhatsgr.service.Impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.serhatsgr.dto.RefreshTokenResponse;
 import com.serhatsgr.dto.TokenPairDto;
 import com.serhatsgr.entity.RefreshToken;
+import com.serhatsgr.entity.Role;
 import com.serhatsgr.entity.User; // EKLENDİ
 import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.repository.RefreshTokenRepository;
 import com.serhatsgr.repository.UserRepository; // EKLENDİ
+import com.serhatsgr.security.AuthenticatedUser;
+import com.serhatsgr.security.ImmutableClaims;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority; // EKLENDİ
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors; // EKLENDİ
@@ -31,33 +51,129 @@ import java.util.stream.Collectors; // EKLENDİ
 @Service
 public class JwtService {
 
-    @Value("${jwt.key}")
-    private String SECRET;
-
     @Value("${jwt.access-token-expiry}")
     private Long ACCESS_TOKEN_EXPIRY;
 
     @Value("${jwt.refresh-token-expiry}")
     private Long REFRESH_TOKEN_EXPIRY;
 
+    // Stateless doğrulama claim'leri: kullanıcı ID'si ve token sürümü
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+    private static final String AUTHORITIES_CLAIM = "authorities";
+
     private final RefreshTokenRepository refreshTokenRepository;
     private final UserRepository userRepository; // EKLENDİ
+    private final BannedUserService bannedUserService;
+    private final TokenVersionService tokenVersionService;
+
+    // Anahtarlar ve parser açılışta bir kez kurulur; JwtParser değişmezdir ve thread-safe'tir
+    private final String signingKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final JwtParser parser;
+    private final List<JwtParser> legacyParsers;
+
+    // Yakın zamanda doğrulanmış tokenların claim'leri (anahtar: token'ın SHA-256 özeti), token süresi dolana kadar
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
 
     // Constructor Güncellendi
-    public JwtService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository) {
+    public JwtService(RefreshTokenRepository refreshTokenRepository,
+                      UserRepository userRepository,
+                      BannedUserService bannedUserService,
+                      TokenVersionService tokenVersionService,
+                      @Value("${jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+                      @Value("${jwt.key}") String signingSecret,
+                      @Value("${jwt.key-id:primary}") String signingKeyId,
+                      @Value("${jwt.previous-keys:}") String previousKeys) {
         this.refreshTokenRepository = refreshTokenRepository;
         this.userRepository = userRepository;
+        this.bannedUserService = bannedUserService;
+        this.tokenVersionService = tokenVersionService;
+        this.signingKeyId = signingKeyId;
+        this.signingKey = toKey(signingSecret);
+        this.verificationKeys = verificationKeys(signingKeyId, signingKey, previousKeys);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveKey(header.getKeyId());
+                    }
+                })
+                .build();
+        this.legacyParsers = legacyParsers(signingKeyId, verificationKeys);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(Expiry.<ByteBuffer, Claims>creating((key, claims) -> remainingLifetime(claims)))
+                .build();
     }
 
-    private Key getSignKey(){
+    private static Key toKey(String secret){
         try {
-            byte[] keyBytes = Decoders.BASE64.decode(SECRET);
+            byte[] keyBytes = Decoders.BASE64.decode(secret);
             return Keys.hmacShaKeyFor(keyBytes);
         } catch (Exception e) {
             throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "JWT key oluşturulamadı"));
         }
     }
 
+    /**
+     * Anahtar rotasyonu: yeni tokenlar güncel anahtarla imzalanır ve "kid" header'ı taşır; eski anahtarlar
+     * ("kid:base64" virgülle ayrılmış) sadece doğrulamada kullanılır, böylece oturumlar süreleri dolana kadar geçerli kalır.
+     */
+    private static Map<String, Key> verificationKeys(String signingKeyId, Key signingKey, String previousKeys){
+        Map<String, Key> keys = new LinkedHashMap<>();
+        keys.put(signingKeyId, signingKey);
+        for (String entry : previousKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "JWT eski anahtar tanımı geçersiz"));
+            }
+            String keyId = entry.substring(0, separator).trim();
+            // Aynı kid ile iki anahtar tanımlanırsa biri sessizce devre dışı kalır; açılışta reddedilir
+            if (keys.putIfAbsent(keyId, toKey(entry.substring(separator + 1).trim())) != null) {
+                throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "JWT anahtar kimliği tekrar ediyor: " + keyId));
+            }
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    /**
+     * "kid" taşımayan (rotasyondan önce üretilmiş) tokenlar güncel anahtarla doğrulanamazsa eski anahtarlarla,
+     * tanım sırasıyla denenir. Bu parser'lar kid taşıyan tokenları doğrudan reddeder.
+     */
+    private static List<JwtParser> legacyParsers(String signingKeyId, Map<String, Key> verificationKeys){
+        return verificationKeys.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(signingKeyId))
+                .map(entry -> Jwts.parserBuilder()
+                        .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                            @Override
+                            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                                if (header.getKeyId() != null) {
+                                    throw new BaseException(new ErrorMessage(MessageType.TOKEN_EXPIRED, "Token anahtarı tanınmıyor"));
+                                }
+                                return entry.getValue();
+                            }
+                        })
+                        .build())
+                .toList();
+    }
+
+    // "kid" taşımayan tokenlar önce güncel anahtarla doğrulanır (bkz. legacyParsers)
+    private Key resolveKey(String keyId){
+        if (keyId == null) {
+            return signingKey;
+        }
+        Key key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new BaseException(new ErrorMessage(MessageType.TOKEN_EXPIRED, "Token anahtarı tanınmıyor"));
+        }
+        return key;
+    }
+
     public String generateAccessToken(String username){
         Map<String, Object> claims = new HashMap<>();
         try {
@@ -66,9 +182,11 @@ public class JwtService {
                     .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.NOT_FOUND, "Kullanıcı bulunamadı")));
 
             // Rolleri "authorities" key'i ile listeye çevirip ekle
-            claims.put("authorities", user.getAuthorities().stream()
+            claims.put(AUTHORITIES_CLAIM, user.getAuthorities().stream()
                     .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList()));
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
 
             return createToken(claims, username);
         } catch (BaseException e) {
@@ -85,25 +203,63 @@ public class JwtService {
                     .setSubject(username)
                     .setIssuedAt(new Date(System.currentTimeMillis()))
                     .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_EXPIRY*1000))
-                    .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                    .setHeaderParam(JwsHeader.KEY_ID, signingKeyId)
+                    .signWith(signingKey, SignatureAlgorithm.HS256)
                     .compact();
         } catch (Exception e) {
             throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Token oluşturulamadı"));
         }
     }
 
-    private Claims extractAllClaim(String token){
+    /**
+     * İmzası ve süresi doğrulanmış claim'leri döner. Aynı token için imza bir kez doğrulanır; sonraki çağrılar
+     * süre dolana kadar cache'ten gelir (kayıt token'ın exp anında düşer, süresi dolmuş token yeniden doğrulanıp reddedilir).
+     */
+    public Claims extractAllClaim(String token){
+        ByteBuffer key = tokenHash(token);
+        Claims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Cache'teki örnek eşzamanlı isteklere paylaşıldığı için değiştirilemez kopya tutulur
+        Claims claims = ImmutableClaims.copyOf(parseClaims(token));
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    private Claims parseClaims(String token){
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSignKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
+        } catch (SignatureException e) {
+            for (JwtParser legacyParser : legacyParsers) {
+                try {
+                    return legacyParser.parseClaimsJws(token).getBody();
+                } catch (Exception ignored) {
+                    // Sıradaki eski anahtar denenir
+                }
+            }
+            throw new BaseException(new ErrorMessage(MessageType.TOKEN_EXPIRED, "Token geçersiz veya süresi dolmuş"));
         } catch (Exception e) {
             throw new BaseException(new ErrorMessage(MessageType.TOKEN_EXPIRED, "Token geçersiz veya süresi dolmuş"));
         }
     }
 
+    // Ham token bellekte anahtar olarak tutulmaz
+    private static ByteBuffer tokenHash(String token){
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new BaseException(new ErrorMessage(MessageType.INTERNAL_ERROR, "Token özeti hesaplanamadı"));
+        }
+    }
+
+    private static Duration remainingLifetime(Claims claims){
+        long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+        return Duration.ofMillis(Math.max(0, remainingMillis));
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsTFunction){
         return claimsTFunction.apply(extractAllClaim(token));
     }
@@ -126,8 +282,7 @@ public class JwtService {
 
     public Boolean validateToken(String token , UserDetails userDetails){
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return validateToken(extractAllClaim(token), userDetails);
         } catch (BaseException e) {
             throw e;
         } catch (Exception e) {
@@ -135,6 +290,43 @@ public class JwtService {
         }
     }
 
+    // İstekte zaten doğrulanmış claim'lerle çalışır; token tekrar çözülmez
+    public Boolean validateToken(Claims claims, UserDetails userDetails){
+        return claims.getSubject().equals(userDetails.getUsername())
+                && claims.getExpiration() != null && claims.getExpiration().after(new Date());
+    }
+
+    /**
+     * Doğrulanmış claim'lerden principal kurar. Stateless alanlardan önce üretilmiş tokenlarda
+     * (uid/ver yok) null döner; bu tokenlar kullanıcı veritabanından yüklenerek doğrulanır.
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims){
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        if (userId == null || tokenVersion == null || authorities == null) {
+            return null;
+        }
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Object authority : authorities) {
+            roles.add(Role.valueOf(authority.toString()));
+        }
+        return new AuthenticatedUser(userId, claims.getSubject(), Set.copyOf(roles));
+    }
+
+    /**
+     * Kullanıcı banlıysa ya da token sürümü güncel değilse (rol değişti, kullanıcı silindi) token kabul edilmez.
+     * İki kontrol de bellek içi kümelerden yapılır.
+     */
+    public boolean isRevoked(Claims claims){
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        return bannedUserService.isBanned(userId) || !tokenVersionService.isCurrent(userId, tokenVersion);
+    }
+
     public RefreshTokenResponse generateRefreshToken(String username){
         try {
             refreshTokenRepository.markAllAsUsedByUsername(username);
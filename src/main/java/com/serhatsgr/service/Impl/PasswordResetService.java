@@ -24,6 +24,7 @@ public class PasswordResetService {
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserPrincipalCacheService userPrincipalCacheService;
 
     @Transactional
     public void initiatePasswordReset(ForgotPasswordRequest request) {
@@ -100,6 +101,8 @@ public class PasswordResetService {
 
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        // Cache'teki eski parola özeti ile giriş yapılamamalı
+        userPrincipalCacheService.evict(user.getUsername());
 
         // Kullanıcının tüm oturumlarını kapat
         jwtService.revokeAllRefreshTokens(user.getUsername());
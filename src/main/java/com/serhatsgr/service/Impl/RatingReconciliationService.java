@@ -0,0 +1,43 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.repository.FilmRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * films.rating_sum / rating_count değerlerini ratings tablosuyla periyodik olarak karşılaştırır
+ * ve sapma olan filmleri yeniden hesaplar (artımlı güncellemede oluşabilecek kaymalara karşı).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RatingReconciliationService {
+
+    private final FilmRepository filmRepository;
+    private final FilmCacheService filmCacheService;
+
+    @Scheduled(initialDelayString = "${rating.reconcile.initial-delay:PT5M}",
+            fixedDelayString = "${rating.reconcile.interval:PT1H}")
+    @Transactional
+    public int reconcileRatingStats() {
+        List<Long> driftedFilmIds = filmRepository.findFilmIdsWithRatingDrift();
+        if (driftedFilmIds.isEmpty()) {
+            return 0;
+        }
+
+        for (Long filmId : driftedFilmIds) {
+            // Satır kilidi alındıktan sonraki sorgu, o ana kadar commit edilmiş tüm oyları görür
+            filmRepository.lockForRatingUpdate(filmId);
+            filmRepository.recomputeRatingStats(filmId);
+        }
+        filmCacheService.evictAll(driftedFilmIds);
+
+        log.warn("Puan istatistiği sapması düzeltildi. Film sayısı: {}, ID'ler: {}", driftedFilmIds.size(), driftedFilmIds);
+        return driftedFilmIds.size();
+    }
+}
@@ -2,78 +2,114 @@ package com.serhatsgr.service.Impl;
 
 import com.serhatsgr.dto.RatingRequest;
 import com.serhatsgr.dto.UserRatingResponse;
-import com.serhatsgr.entity.Film;
-import com.serhatsgr.entity.Rating;
-import com.serhatsgr.entity.User;
 import com.serhatsgr.exception.*;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.RatingRepository;
-import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class RatingService {
 
     private final RatingRepository ratingRepository;
     private final FilmRepository filmRepository;
-    private final UserRepository userRepository;
-
-    @Transactional
-    public void createOrUpdateRating(Long filmId, RatingRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
-
-        Film film = filmRepository.findById(filmId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
+    private final FilmCacheService filmCacheService;
+    private final RatingWriteBehindService ratingWriteBehindService;
+    private final CurrentUserAccessor currentUserAccessor;
 
-        Rating rating = ratingRepository.findByFilmIdAndUserId(filmId, user.getId())
-                .orElse(Rating.builder().user(user).film(film).build());
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
 
-        rating.setScore(request.score());
-        ratingRepository.save(rating);
+    // true: films üzerindeki toplam/sayı delta ile güncellenir; false: her oyda ratings tablosundan yeniden hesaplanır
+    @Value("${rating.aggregation.incremental:true}")
+    private boolean incrementalAggregation;
 
-        // Denormalize alanları güncelleme
-        updateFilmRatingStats(film);
+    @Transactional
+    public void createOrUpdateRating(Long filmId, RatingRequest request) {
+        Long userId = currentUserAccessor.getId();
+
+        if (!filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
+
+        int score = request.score();
+
+        // Tamponlu modda oy bellekte birleştirilir, yazma ve istatistik periyodik flush'ta yapılır
+        if (ratingWriteBehindService.isEnabled()) {
+            ratingWriteBehindService.enqueueScore(filmId, userId, score);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+
+        // Oku-sonra-yaz yerine upsert: aynı kullanıcının eşzamanlı oyları uk_film_user ile çakışmaz
+        for (int attempt = 0; attempt < MAX_UPSERT_ATTEMPTS; attempt++) {
+            if (ratingRepository.insertIfAbsent(filmId, userId, score, now).isPresent()) {
+                updateFilmRatingStats(filmId, score, 1);
+                return;
+            }
+            Optional<Integer> previousScore = ratingRepository.updateScoreReturningPrevious(filmId, userId, score, now);
+            if (previousScore.isPresent()) {
+                updateFilmRatingStats(filmId, score - previousScore.get(), 0);
+                return;
+            }
+            // Satır iki adım arasında silindi; tekrar eklemeyi dene
+        }
+        throw new BaseException(new ErrorMessage(MessageType.CONFLICT, "Oylama eşzamanlı bir işlemle çakıştı, lütfen tekrar deneyin"));
     }
 
     @Transactional
     public void deleteRating(Long filmId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
-
-        Rating rating = ratingRepository.findByFilmIdAndUserId(filmId, user.getId())
+        Long userId = currentUserAccessor.getId();
+
+        if (ratingWriteBehindService.isEnabled()) {
+            boolean rated = ratingWriteBehindService.pendingScore(filmId, userId)
+                    .map(pending -> pending != RatingWriteBehindService.DELETED)
+                    .orElseGet(() -> ratingRepository.findByFilmIdAndUserId(filmId, userId).isPresent());
+            if (!rated) {
+                throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Oylama bulunamadı"));
+            }
+            ratingWriteBehindService.enqueueDelete(filmId, userId);
+            return;
+        }
+
+        Integer deletedScore = ratingRepository.deleteReturningScore(filmId, userId)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Oylama bulunamadı")));
 
-        ratingRepository.delete(rating);
-        Film film = filmRepository.findById(filmId).orElseThrow();
-        updateFilmRatingStats(film);
+        updateFilmRatingStats(filmId, -deletedScore, -1);
     }
 
     public UserRatingResponse getUserRating(Long filmId) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
+        Long userId = currentUserAccessor.getId();
+
+        // Tampondaki henüz yazılmamış oy (silme ise 0) veritabanındakinden yenidir
+        Optional<Integer> pendingScore = ratingWriteBehindService.pendingScore(filmId, userId);
+        if (pendingScore.isPresent()) {
+            return new UserRatingResponse(pendingScore.get());
+        }
 
-        return ratingRepository.findByFilmIdAndUserId(filmId, user.getId())
+        return ratingRepository.findByFilmIdAndUserId(filmId, userId)
                 .map(r -> new UserRatingResponse(r.getScore()))
                 .orElse(new UserRatingResponse(0));
     }
 
-    private void updateFilmRatingStats(Film film) {
-        Double avg = ratingRepository.getAverageRating(film.getId());
-        Integer count = ratingRepository.getRatingCount(film.getId());
-
-        // 1 ondalık basamağa yuvarla
-        double roundedAvg = avg != null ? Math.round(avg * 10.0) / 10.0 : 0.0;
-
-        film.setAverageRating(roundedAvg);
-        film.setRatingCount(count != null ? count : 0);
-        filmRepository.save(film);
+    /**
+     * Oy değişikliğini films satırına tek atomik UPDATE ile yansıtır; eşzamanlı oylar birbirinin yazdığını ezmez.
+     * Artımlı modda toplam/sayı delta kadar kaydırılır, aksi halde satır kilitlenip ratings tablosundan yeniden hesaplanır.
+     */
+    private void updateFilmRatingStats(Long filmId, long sumDelta, int countDelta) {
+        if (incrementalAggregation) {
+            filmRepository.applyRatingDelta(filmId, sumDelta, countDelta);
+        } else {
+            filmRepository.lockForRatingUpdate(filmId);
+            filmRepository.recomputeRatingStats(filmId);
+        }
+        filmCacheService.evict(filmId);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.repository.RatingBatchRepository;
+import com.serhatsgr.repository.RatingBatchRepository.ScoreWrite;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Oylar için isteğe bağlı write-behind tamponu (rating.write-behind.enabled).
+ * Oylar (filmId, userId) anahtarıyla şeritlere (stripe) ayrılmış bellek içi map'lerde tutulur; aynı anahtara
+ * gelen son oy öncekileri ezer. Tampon boyut eşiğinde, periyodik olarak ve kapanışta tek transaction içinde
+ * JDBC batch ile yazılır; etkilenen her filmin istatistiği flush başına bir kez yeniden hesaplanır.
+ */
+@Slf4j
+@Service
+public class RatingWriteBehindService {
+
+    // Tamponda silme isteğini temsil eder (geçerli puanlar 1-5)
+    public static final int DELETED = 0;
+
+    private final RatingBatchRepository ratingBatchRepository;
+    private final FilmRepository filmRepository;
+    private final FilmCacheService filmCacheService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Stripe[] stripes;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rating-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public RatingWriteBehindService(RatingBatchRepository ratingBatchRepository,
+                                    FilmRepository filmRepository,
+                                    FilmCacheService filmCacheService,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${rating.write-behind.enabled:false}") boolean enabled,
+                                    @Value("${rating.write-behind.max-pending:5000}") int maxPending,
+                                    @Value("${rating.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${rating.write-behind.stripes:16}") int stripeCount) {
+        this.ratingBatchRepository = ratingBatchRepository;
+        this.filmRepository = filmRepository;
+        this.filmCacheService = filmCacheService;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueueScore(Long filmId, Long userId, int score) {
+        enqueue(new RatingKey(filmId, userId), score);
+    }
+
+    public void enqueueDelete(Long filmId, Long userId) {
+        enqueue(new RatingKey(filmId, userId), DELETED);
+    }
+
+    /**
+     * Henüz yazılmamış son işlemi döner (kendi oyunu okuma tutarlılığı için); silme isteği DELETED olarak gelir.
+     */
+    public Optional<Integer> pendingScore(Long filmId, Long userId) {
+        RatingKey key = new RatingKey(filmId, userId);
+        return Optional.ofNullable(stripeFor(key).get(key));
+    }
+
+    public int pendingCount() {
+        return pendingCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${rating.write-behind.flush-interval:PT1S}")
+    public void flushPeriodically() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Tamponu boşaltıp tek transaction'da yazar ve yazılan işlem sayısını döner.
+     * Yazma başarısız olursa işlemler, bu arada gelmiş daha yeni oyları ezmeden tampona geri konur.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<RatingKey, Integer> batch = drain();
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(batch));
+            } catch (RuntimeException e) {
+                batch.forEach(this::requeue);
+                log.error("Oy tamponu yazılamadı, {} işlem tekrar denenecek", batch.size(), e);
+                return 0;
+            } finally {
+                for (Stripe stripe : stripes) {
+                    stripe.clearInFlight();
+                }
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Kapanışta oy tamponu boşaltıldı. İşlem sayısı: {}", flushed);
+        }
+    }
+
+    private void enqueue(RatingKey key, int score) {
+        if (stripeFor(key).put(key, score)) {
+            int pending = pendingCount.incrementAndGet();
+            if (pending >= maxPending && flushRequested.compareAndSet(false, true)) {
+                flushExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushRequested.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    private void requeue(RatingKey key, int score) {
+        if (stripeFor(key).putIfAbsent(key, score)) {
+            pendingCount.incrementAndGet();
+        }
+    }
+
+    private Map<RatingKey, Integer> drain() {
+        Map<RatingKey, Integer> batch = new HashMap<>();
+        for (Stripe stripe : stripes) {
+            Map<RatingKey, Integer> drained = stripe.drain();
+            pendingCount.addAndGet(-drained.size());
+            batch.putAll(drained);
+        }
+        return batch;
+    }
+
+    private void write(Map<RatingKey, Integer> batch) {
+        List<ScoreWrite> upserts = new ArrayList<>();
+        List<ScoreWrite> deletes = new ArrayList<>();
+        TreeSet<Long> filmIds = new TreeSet<>();
+
+        // Satır kilitleri her flush'ta aynı sırayla alınsın
+        batch.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(RatingKey.ORDER))
+                .forEach(entry -> {
+                    RatingKey key = entry.getKey();
+                    ScoreWrite write = new ScoreWrite(key.filmId(), key.userId(), entry.getValue());
+                    (write.score() == DELETED ? deletes : upserts).add(write);
+                    filmIds.add(key.filmId());
+                });
+
+        LocalDateTime now = LocalDateTime.now();
+        ratingBatchRepository.upsertScores(upserts, batchSize, now);
+        ratingBatchRepository.deleteScores(deletes, batchSize);
+
+        // Önceki puanlar batch'te dönmediği için delta yerine film başına tek yeniden hesaplama
+        for (Long filmId : filmIds) {
+            filmRepository.lockForRatingUpdate(filmId);
+            filmRepository.recomputeRatingStats(filmId);
+        }
+        filmCacheService.evictAll(filmIds);
+    }
+
+    private Stripe stripeFor(RatingKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record RatingKey(Long filmId, Long userId) {
+        static final Comparator<RatingKey> ORDER =
+                Comparator.comparing(RatingKey::filmId).thenComparing(RatingKey::userId);
+    }
+
+    private static final class Stripe {
+
+        private Map<RatingKey, Integer> pending = new HashMap<>();
+        // Boşaltılmış ama henüz commit edilmemiş işlemler; bu aralıkta okumalar eski değeri görmesin
+        private Map<RatingKey, Integer> inFlight = Map.of();
+
+        // Anahtar yeni eklendiyse true
+        synchronized boolean put(RatingKey key, int score) {
+            return pending.put(key, score) == null;
+        }
+
+        synchronized boolean putIfAbsent(RatingKey key, int score) {
+            return pending.putIfAbsent(key, score) == null;
+        }
+
+        synchronized Integer get(RatingKey key) {
+            Integer score = pending.get(key);
+            return score != null ? score : inFlight.get(key);
+        }
+
+        // Boşaltılan map aynı kilit altında inFlight olur; okumalar iki map'in arasında kalmaz
+        synchronized Map<RatingKey, Integer> drain() {
+            inFlight = pending;
+            pending = new HashMap<>();
+            return inFlight;
+        }
+
+        synchronized void clearInFlight() {
+            inFlight = Map.of();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.serhatsgr.service.Impl;
+
+import com.serhatsgr.entity.RevokedUserToken;
+import com.serhatsgr.repository.RevokedUserTokenRepository;
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.repository.projection.UserTokenVersion;
+import com.serhatsgr.utils.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Access token sürümlerinin bellek içi tablosu. Stateless JWT doğrulamasında token'daki "ver" claim'i
+ * kullanıcı satırı yerine buradan kontrol edilir; tablodaki sürümden küçük tokenlar iptal edilmiş sayılır.
+ * Sadece sürümü artırılmış kullanıcılar tutulur (rol değişikliği, kullanıcı adı değişikliği, silme), bu yüzden
+ * tablo küçüktür. Okuma kilitsiz (değişmez Map), yazma nadir olduğu için kopyala-değiştir.
+ * Sürümler sadece artar: periyodik yenileme ile yerel değişiklikler en büyük değer alınarak birleştirilir.
+ * Silinen kullanıcının satırı olmadığı için iptali revoked_user_tokens tablosunda tutulur; yeniden başlayan
+ * ve diğer instance'lar da bu kaydı yenilemede okur. Kayıt, access token ömrü dolunca temizlenir.
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+    // Silinen kullanıcının hiçbir token'ı bir daha kabul edilmez
+    public static final int REVOKED_FOREVER = Integer.MAX_VALUE;
+
+    private final UserRepository userRepository;
+    private final RevokedUserTokenRepository revokedUserTokenRepository;
+
+    @Value("${jwt.access-token-expiry}")
+    private long accessTokenExpirySeconds;
+
+    private volatile Map<Long, Integer> versions = Map.of();
+    // İlk yüklemeden önce gelen yerel değişiklikler de tabloda tutulur; yükleme bunlarla birleşir
+    private volatile boolean loaded;
+    private final Object writeLock = new Object();
+
+    public TokenVersionService(UserRepository userRepository, RevokedUserTokenRepository revokedUserTokenRepository) {
+        this.userRepository = userRepository;
+        this.revokedUserTokenRepository = revokedUserTokenRepository;
+    }
+
+    /**
+     * Token'daki sürüm kullanıcının güncel sürümünden küçük değilse token geçerlidir.
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Map<Long, Integer> current = loaded ? versions : load();
+        return tokenVersion >= current.getOrDefault(userId, 0);
+    }
+
+    public int size() {
+        return versions.size();
+    }
+
+    /**
+     * Kullanıcının yeni token sürümünü commit'ten sonra tabloya yansıtır (rollback olan değişiklik görünmez).
+     */
+    public void markRevoked(Long userId, int newVersion) {
+        TransactionHooks.afterCommit(() -> {
+            merge(Map.of(userId, newVersion));
+            log.info("Access token sürümü güncellendi. Kullanıcı ID: {}, Sürüm: {}", userId, newVersion);
+        });
+    }
+
+    /**
+     * Silinen kullanıcının tüm tokenlarını iptal eder. Kayıt çağıranın transaction'ında yazılır,
+     * böylece silme ile birlikte commit edilir.
+     */
+    @Transactional
+    public void revokeForever(Long userId) {
+        revokedUserTokenRepository.save(new RevokedUserToken(userId, LocalDateTime.now()));
+        markRevoked(userId, REVOKED_FOREVER);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-version.revoked-cleanup-interval:PT1H}")
+    @Transactional
+    public void pruneExpiredRevocations() {
+        int removed = revokedUserTokenRepository.deleteRevokedBefore(LocalDateTime.now().minusSeconds(accessTokenExpirySeconds));
+        if (removed > 0) {
+            log.info("Süresi dolmuş token iptal kayıtları silindi. Kayıt sayısı: {}", removed);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.token-version.refresh-interval:PT1M}")
+    public void refresh() {
+        load();
+    }
+
+    private Map<Long, Integer> load() {
+        Map<Long, Integer> rows = new HashMap<>();
+        for (UserTokenVersion row : userRepository.findRaisedTokenVersions()) {
+            rows.put(row.userId(), row.tokenVersion());
+        }
+        for (Long userId : revokedUserTokenRepository.findAllUserIds()) {
+            rows.put(userId, REVOKED_FOREVER);
+        }
+        Map<Long, Integer> snapshot = merge(rows);
+        this.loaded = true;
+        return snapshot;
+    }
+
+    private Map<Long, Integer> merge(Map<Long, Integer> updates) {
+        synchronized (writeLock) {
+            Map<Long, Integer> next = new HashMap<>(versions);
+            updates.forEach((userId, version) -> next.merge(userId, version, Math::max));
+            Map<Long, Integer> snapshot = Map.copyOf(next);
+            versions = snapshot;
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.serhatsgr.service.Impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serhatsgr.dto.CacheStatsResponse;
+import com.serhatsgr.security.UserSnapshot;
+import com.serhatsgr.utils.TransactionHooks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Eski JWT doğrulaması için kullanıcı adı -> değişmez kullanıcı görüntüsü cache'i (boyut ve süre sınırlı).
+ * Form girişi bu cache'i kullanmaz; parola ve ban kontrolü her girişte veritabanından yapılır.
+ * Ban, rol, kullanıcı adı, parola değişikliği ve silmede ilgili kayıt commit sonrasında düşürülür.
+ * Diğer instance'lardaki değişiklikler en geç TTL sonunda görünür.
+ */
+@Service
+public class UserPrincipalCacheService {
+
+    public static final String CACHE_NAME = "userPrincipals";
+
+    private final Cache<String, UserSnapshot> cache;
+
+    public UserPrincipalCacheService(@Value("${user.principal-cache.max-size:10000}") long maxSize,
+                                     @Value("${user.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cache'te yoksa loader ile yükler; loader hata fırlatırsa (kullanıcı yok) hiçbir şey cache'lenmez.
+     */
+    public UserSnapshot get(String username, Function<String, UserSnapshot> loader) {
+        return cache.get(username, loader);
+    }
+
+    // Commit'ten önce silinirse eşzamanlı bir okuma eski görüntüyü tekrar cache'e koyabilir
+    public void evict(String username) {
+        TransactionHooks.afterCommit(() -> cache.invalidate(username));
+    }
+
+    // Sadece ID bilinen durumlar için (silme); nadir olduğu için cache taranır
+    public void evictById(Long userId) {
+        TransactionHooks.afterCommit(() -> cache.asMap().values().removeIf(snapshot -> userId.equals(snapshot.id())));
+    }
+
+    public CacheStatsResponse stats() {
+        return CacheStatsResponse.of(CACHE_NAME, cache);
+    }
+}
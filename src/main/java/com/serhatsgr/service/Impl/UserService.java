@@ -12,6 +12,7 @@ import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.UserMapper;
 import com.serhatsgr.repository.CommentRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.UserSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,24 +36,45 @@ public class UserService implements UserDetailsService {
     private final CommentRepository commentRepository;
     private final UserMapper userMapper;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final BannedUserService bannedUserService;
+    private final TokenVersionService tokenVersionService;
+    private final UserPrincipalCacheService userPrincipalCacheService;
 
     public UserService(UserRepository userRepository,
                        BCryptPasswordEncoder passwordEncoder,
                        UserMapper userMapper,
-                       CommentRepository commentRepository) {
+                       CommentRepository commentRepository,
+                       BannedUserService bannedUserService,
+                       TokenVersionService tokenVersionService,
+                       UserPrincipalCacheService userPrincipalCacheService) {
 
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.userMapper = userMapper;
         this.commentRepository = commentRepository;
+        this.bannedUserService = bannedUserService;
+        this.tokenVersionService = tokenVersionService;
+        this.userPrincipalCacheService = userPrincipalCacheService;
     }
 
+    // Form girişi (DaoAuthenticationProvider) parola ve ban durumunu her seferinde veritabanından okur
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         Optional<User> user = userRepository.findByUsername(username);
         return user.orElseThrow(() -> new UsernameNotFoundException("Kullanıcı bulunamadı: " + username));
     }
 
+    /**
+     * uid/ver taşımayan eski JWT'ler için cache'lenmiş kullanıcı görüntüsü. Giriş yolunda kullanılmaz;
+     * görüntüde parola özeti tutulmaz.
+     */
+    public UserDetails loadCachedPrincipal(String username) throws UsernameNotFoundException {
+        return userPrincipalCacheService.get(username, key -> {
+            Optional<User> user = userRepository.findByUsername(key);
+            return UserSnapshot.of(user.orElseThrow(() -> new UsernameNotFoundException("Kullanıcı bulunamadı: " + key)));
+        });
+    }
+
     // CREATE USER
     public CreateUserResponse createUser(CreateUserRequest request) {
         try {
@@ -128,8 +150,14 @@ public class UserService implements UserDetailsService {
             ));
         }
 
+        // Eski kullanıcı adını taşıyan access tokenlar geçersiz olur
+        if (!user.getUsername().equals(request.username())) {
+            raiseTokenVersion(user);
+        }
+
         user.setUsername(request.username());
         user.setEmail(request.email());
+        userPrincipalCacheService.evict(currentUsername);
 
         return userRepository.save(user);
     }
@@ -190,6 +218,12 @@ public class UserService implements UserDetailsService {
                 );
 
         user.setEnabled(!user.isEnabled());
+        bannedUserService.markBanned(user.getId(), !user.isEnabled());
+        userPrincipalCacheService.evict(user.getUsername());
+        // Ban diğer instance'lara banlı kümeden önce token sürümü yenilemesiyle ulaşır
+        if (!user.isEnabled()) {
+            raiseTokenVersion(user);
+        }
 
         return getUserById(userRepository.save(user).getId());
     }
@@ -214,6 +248,8 @@ public class UserService implements UserDetailsService {
         } else {
             user.getAuthorities().add(Role.ROLE_ADMIN);
         }
+        raiseTokenVersion(user);
+        userPrincipalCacheService.evict(user.getUsername());
 
         return getUserById(userRepository.save(user).getId());
     }
@@ -228,6 +264,16 @@ public class UserService implements UserDetailsService {
 
         commentRepository.deleteByUserId(id);
         userRepository.deleteById(id);
+        bannedUserService.markBanned(id, false);
+        tokenVersionService.revokeForever(id);
+        userPrincipalCacheService.evictById(id);
+    }
+
+
+    // Eski roller/kimlikle üretilmiş access tokenlar stateless doğrulamada reddedilir
+    private void raiseTokenVersion(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        tokenVersionService.markRevoked(user.getId(), user.getTokenVersion());
     }
 
 
@@ -5,11 +5,12 @@ import com.serhatsgr.entity.*;
 import com.serhatsgr.exception.*;
 import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.*;
+import com.serhatsgr.security.CurrentUserAccessor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,37 +21,37 @@ public class WatchedService {
     private final FilmRepository filmRepository;
     private final UserRepository userRepository;
     private final FilmMapper filmMapper;
-
-    private User getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
-    }
+    private final CurrentUserAccessor currentUserAccessor;
 
     @Transactional
     public void markAsWatched(Long filmId) {
-        User user = getCurrentUser();
-        if (watchedRepository.existsByUserIdAndFilmId(user.getId(), filmId)) return;
-
-        Film film = filmRepository.findById(filmId)
-                .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
-
-        Watched watched = Watched.builder().user(user).film(film).build();
+        Long userId = currentUserAccessor.getId();
+        if (watchedRepository.existsByUserIdAndFilmId(userId, filmId)) return;
+
+        if (!filmRepository.existsById(filmId)) {
+            throw new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı"));
+        }
+
+        // İlişkiler sadece yabancı anahtar için gerekli: referanslar kullanıcı ve film satırlarını yüklemez
+        Watched watched = Watched.builder()
+                .user(userRepository.getReferenceById(userId))
+                .film(filmRepository.getReferenceById(filmId))
+                .build();
         watchedRepository.save(watched);
     }
 
     @Transactional
     public void unmarkWatched(Long filmId) {
-        User user = getCurrentUser();
-        Watched watched = watchedRepository.findByUserIdAndFilmId(user.getId(), filmId)
+        Long userId = currentUserAccessor.getId();
+        Watched watched = watchedRepository.findByUserIdAndFilmId(userId, filmId)
                 .orElseThrow(() -> new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kayıt bulunamadı")));
         watchedRepository.delete(watched);
     }
 
     public List<DtoFilm> getMyWatchedList() {
-        User user = getCurrentUser();
-        return watchedRepository.findAllByUserId(user.getId()).stream()
-                .map(w -> filmMapper.toDto(w.getFilm()))
-                .collect(Collectors.toList());
+        Long userId = currentUserAccessor.getId();
+        List<Film> films = watchedRepository.findFilmsByUserId(userId);
+        Set<Long> filmIds = films.stream().map(Film::getId).collect(Collectors.toSet());
+        return filmMapper.toDtoList(films, filmRepository.findCategoryNameMap(filmIds));
     }
 }
\ No newline at end of file
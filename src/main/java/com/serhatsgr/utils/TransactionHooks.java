@@ -0,0 +1,29 @@
+package com.serhatsgr.utils;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bellek içi yapıların (cache, indeks, akış) veritabanıyla aynı sırada güncellenmesi için transaction kancaları.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Aktif transaction varsa işlemi commit sonrasına erteler (rollback'te çalışmaz), yoksa hemen çalıştırır.
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Film araması: başlık + açıklama üzerinde tam metin arama (GIN) ve
+-- yazım hatalarına toleranslı başlık eşleşmesi için trigram (pg_trgm) indeksi
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- 'simple' konfigürasyonu kök bulma yapmaz; Türkçe/İngilizce karışık başlıklarda öngörülebilir sonuç verir
+ALTER TABLE films
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_films_search_vector ON films USING GIN (search_vector);
+
+CREATE INDEX idx_films_title_trgm ON films USING GIN (title gin_trgm_ops);
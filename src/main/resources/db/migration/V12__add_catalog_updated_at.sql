@@ -0,0 +1,7 @@
+-- Conditional GET (ETag / Last-Modified) için katalog sürümü: COUNT + MAX(updated_at)
+ALTER TABLE films ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+ALTER TABLE categories ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT NOW();
+
+-- MAX(updated_at) tablo taraması yerine index'in sonundan okunur
+CREATE INDEX idx_films_updated_at ON films (updated_at);
+CREATE INDEX idx_categories_updated_at ON categories (updated_at);
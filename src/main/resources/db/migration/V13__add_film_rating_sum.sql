@@ -0,0 +1,18 @@
+-- Artımlı puan istatistiği: her oyda AVG/COUNT taraması yerine toplam ve sayı delta ile güncellenir
+ALTER TABLE films ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+
+-- Mevcut oylardan başlangıç değerleri
+UPDATE films f
+SET rating_sum     = COALESCE(s.total, 0),
+    rating_count   = COALESCE(s.cnt, 0),
+    average_rating = CASE WHEN COALESCE(s.cnt, 0) > 0 THEN ROUND(s.total::numeric / s.cnt, 1) ELSE 0 END
+FROM films f2
+LEFT JOIN (SELECT film_id, SUM(score) AS total, COUNT(*) AS cnt FROM ratings GROUP BY film_id) s
+       ON s.film_id = f2.id
+WHERE f.id = f2.id;
+
+UPDATE films SET average_rating = 0 WHERE average_rating IS NULL;
+
+ALTER TABLE films
+    ALTER COLUMN rating_count SET NOT NULL,
+    ALTER COLUMN average_rating SET NOT NULL;
@@ -0,0 +1,7 @@
+-- Thread sayfalama: bir filmin ana yorumları id DESC, bir yorumun yanıtları id ASC ile keyset taranır
+CREATE INDEX idx_comments_film_root_id
+    ON comments (film_id, id) WHERE parent_comment_id IS NULL;
+
+-- Yanıt sayfaları ve toplu yanıt sayımı (parent_comment_id IN (...) GROUP BY)
+CREATE INDEX idx_comments_parent_id
+    ON comments (parent_comment_id, id);
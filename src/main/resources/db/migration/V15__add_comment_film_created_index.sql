@@ -0,0 +1,2 @@
+-- Bir filmin tüm yorumları (yazar + üst yorum join'li tek sorgu) created_at sırasıyla index'ten okunur
+CREATE INDEX idx_comments_film_created_at ON comments (film_id, created_at);
@@ -0,0 +1,19 @@
+-- Materialized path: her segment 10 haneli sıfır dolgulu yorum ID'si (ör. 0000000007 0000000042 ...)
+-- "C" collation ile byte sırası = thread'in ön-sıralı dizilişi; alt ağaç tek aralık taramasıdır
+ALTER TABLE comments ADD COLUMN path VARCHAR(1000) COLLATE "C";
+
+WITH RECURSIVE tree (id, path) AS (
+    SELECT id, CAST(LPAD(CAST(id AS TEXT), 10, '0') AS VARCHAR(1000))
+    FROM comments
+    WHERE parent_comment_id IS NULL
+    UNION ALL
+    SELECT c.id, CAST(t.path || LPAD(CAST(c.id AS TEXT), 10, '0') AS VARCHAR(1000))
+    FROM comments c
+    JOIN tree t ON c.parent_comment_id = t.id
+)
+UPDATE comments c
+SET path = tree.path
+FROM tree
+WHERE c.id = tree.id;
+
+CREATE INDEX idx_comments_path ON comments (path);
@@ -0,0 +1,15 @@
+-- Denormalize sayaçlar: film kartında ve thread'de COUNT sorgusu yerine sütun okunur
+ALTER TABLE films ADD COLUMN comment_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN reply_count INTEGER NOT NULL DEFAULT 0;
+
+-- Film sayacı silinmemiş yorumları sayar (soft-delete edilen yorum sayaçtan düşer)
+UPDATE films f
+SET comment_count = s.cnt
+FROM (SELECT film_id, COUNT(*) AS cnt FROM comments WHERE is_deleted IS NOT TRUE GROUP BY film_id) s
+WHERE s.film_id = f.id;
+
+-- Yanıt sayacı tüm doğrudan yanıtları sayar (silinmiş yanıt da thread'de yer tutar)
+UPDATE comments c
+SET reply_count = s.cnt
+FROM (SELECT parent_comment_id, COUNT(*) AS cnt FROM comments WHERE parent_comment_id IS NOT NULL GROUP BY parent_comment_id) s
+WHERE s.parent_comment_id = c.id;
@@ -0,0 +1,2 @@
+-- Access token sürümü: rol değişikliği / silme gibi durumlarda artırılır, eski sürümlü tokenlar reddedilir
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
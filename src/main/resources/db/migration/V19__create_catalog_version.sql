@@ -0,0 +1,11 @@
+-- Katalog sürümü: film/kategori yazmalarında tek satır artırılır, okuma PK ile tek satırdır
+CREATE TABLE catalog_version (
+    id SMALLINT PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+INSERT INTO catalog_version (id, version, updated_at) VALUES (1, 0, NOW());
+
+-- COUNT + MAX(updated_at) artık okunmuyor; oy/yorum sayaç güncellemeleri index bakımı yapmasın
+DROP INDEX IF EXISTS idx_films_updated_at;
+DROP INDEX IF EXISTS idx_categories_updated_at;
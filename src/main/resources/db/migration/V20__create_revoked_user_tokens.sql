@@ -0,0 +1,6 @@
+-- Silinen kullanıcıların access tokenları: kullanıcı satırı gittiği için iptal kaydı ayrı tutulur.
+-- Kayıt, access token ömrü dolduktan sonra temizlenir
+CREATE TABLE revoked_user_tokens (
+    user_id BIGINT PRIMARY KEY,
+    revoked_at TIMESTAMP NOT NULL
+);
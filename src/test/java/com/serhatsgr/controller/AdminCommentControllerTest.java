@@ -0,0 +1,131 @@
+package com.serhatsgr.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serhatsgr.controller.Impl.AdminCommentController;
+import com.serhatsgr.dto.BulkModerationRequest;
+import com.serhatsgr.dto.BulkModerationResponse;
+import com.serhatsgr.dto.CommentImportResponse;
+import com.serhatsgr.handler.GlobalExceptionHandler;
+import com.serhatsgr.service.Impl.CommentMigrationService;
+import com.serhatsgr.service.Impl.CommentModerationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminCommentControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private CommentModerationService commentModerationService;
+
+    @Mock
+    private CommentMigrationService commentMigrationService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private AdminCommentController adminCommentController;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(adminCommentController)
+                .setControllerAdvice(new GlobalExceptionHandler(messageSource))
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /moderation -> Toplu moderasyon sonucu döner")
+    void moderate_Success() throws Exception {
+        BulkModerationRequest request = new BulkModerationRequest(List.of(1L, 2L), BulkModerationRequest.Action.DELETE);
+        given(commentModerationService.moderate(request))
+                .willReturn(new BulkModerationResponse(BulkModerationRequest.Action.DELETE, 2, 5));
+
+        mockMvc.perform(post("/rest/api/admin/comments/moderation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.action").value("DELETE"))
+                .andExpect(jsonPath("$.data.affectedCount").value(5));
+    }
+
+    @Test
+    @DisplayName("POST /moderation -> Boş ID listesi 400")
+    void moderate_EmptyIds() throws Exception {
+        BulkModerationRequest request = new BulkModerationRequest(List.of(), BulkModerationRequest.Action.SOFT_DELETE);
+
+        mockMvc.perform(post("/rest/api/admin/comments/moderation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(commentModerationService);
+    }
+
+    @Test
+    @DisplayName("POST /users/{userId}/hide -> Gizlenen yorum sayısı döner")
+    void hideAllByUser_Success() throws Exception {
+        given(commentModerationService.hideAllByUser(4L)).willReturn(12);
+
+        mockMvc.perform(post("/rest/api/admin/comments/users/4/hide"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").value(12));
+    }
+
+    @Test
+    @DisplayName("POST /import -> NDJSON gövdesi servise akış olarak verilir, özet döner")
+    void importComments_Success() throws Exception {
+        given(commentMigrationService.importNdjson(any(InputStream.class)))
+                .willAnswer(invocation -> {
+                    String body = new String(invocation.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+                    return new CommentImportResponse(body.lines().count(), 2, 0, List.of());
+                });
+
+        mockMvc.perform(post("/rest/api/admin/comments/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"externalId\":\"1\"}\n{\"externalId\":\"2\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.readCount").value(2))
+                .andExpect(jsonPath("$.data.importedCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /export -> Yorumlar NDJSON olarak yanıt gövdesine yazılır")
+    void exportComments_Success() throws Exception {
+        given(commentMigrationService.exportNdjson(eq(3L), any(OutputStream.class)))
+                .willAnswer(invocation -> {
+                    invocation.getArgument(1, OutputStream.class).write("{\"externalId\":\"7\"}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        mockMvc.perform(get("/rest/api/admin/comments/export").param("filmId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"externalId\":\"7\"}\n"));
+    }
+}
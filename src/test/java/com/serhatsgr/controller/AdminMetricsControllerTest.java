@@ -0,0 +1,113 @@
+package com.serhatsgr.controller;
+
+import com.serhatsgr.controller.Impl.AdminMetricsController;
+import com.serhatsgr.dto.CacheStatsResponse;
+import com.serhatsgr.dto.CommentRateLimitStatsResponse;
+import com.serhatsgr.dto.CommentSpamStatsResponse;
+import com.serhatsgr.dto.CommentStreamStatsResponse;
+import com.serhatsgr.handler.GlobalExceptionHandler;
+import com.serhatsgr.service.Impl.CommentRateLimitService;
+import com.serhatsgr.service.Impl.CommentSpamFilterService;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.UserPrincipalCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.MessageSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdminMetricsControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private FilmCacheService filmCacheService;
+
+    @Mock
+    private CommentStreamService commentStreamService;
+
+    @Mock
+    private CommentRateLimitService commentRateLimitService;
+
+    @Mock
+    private CommentSpamFilterService commentSpamFilterService;
+
+    @Mock
+    private UserPrincipalCacheService userPrincipalCacheService;
+
+    @Mock
+    private MessageSource messageSource;
+
+    @InjectMocks
+    private AdminMetricsController adminMetricsController;
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.standaloneSetup(adminMetricsController)
+                .setControllerAdvice(new GlobalExceptionHandler(messageSource))
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /caches -> Cache istatistikleri döner")
+    void getCacheStats_Success() throws Exception {
+        given(filmCacheService.stats())
+                .willReturn(new CacheStatsResponse(FilmCacheService.CACHE_NAME, 3, 8, 2, 0.8, 1));
+        given(userPrincipalCacheService.stats())
+                .willReturn(new CacheStatsResponse(UserPrincipalCacheService.CACHE_NAME, 40, 950, 50, 0.95, 0));
+
+        mockMvc.perform(get("/rest/api/admin/metrics/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name").value("filmDetails"))
+                .andExpect(jsonPath("$.data[0].hitCount").value(8))
+                .andExpect(jsonPath("$.data[0].evictionCount").value(1))
+                .andExpect(jsonPath("$.data[1].name").value("userPrincipals"))
+                .andExpect(jsonPath("$.data[1].hitRate").value(0.95));
+    }
+
+    @Test
+    @DisplayName("GET /comment-streams -> Yorum akışı abone ve taşma sayaçları döner")
+    void getCommentStreamStats_Success() throws Exception {
+        given(commentStreamService.stats()).willReturn(new CommentStreamStatsResponse(120, 4, 900, 10500, 2, 1, 4));
+
+        mockMvc.perform(get("/rest/api/admin/metrics/comment-streams"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.subscriberCount").value(120))
+                .andExpect(jsonPath("$.data.overflowCount").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /comment-rate-limit -> Sınırlayıcı kabul/ret sayaçları döner")
+    void getCommentRateLimitStats_Success() throws Exception {
+        given(commentRateLimitService.stats())
+                .willReturn(new CommentRateLimitStatsResponse(true, 4, 120, 7));
+
+        mockMvc.perform(get("/rest/api/admin/metrics/comment-rate-limit"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.trackedUserCount").value(4))
+                .andExpect(jsonPath("$.data.rejectedCount").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /comment-spam -> Spam filtresi ret sayaçları döner")
+    void getCommentSpamStats_Success() throws Exception {
+        given(commentSpamFilterService.stats())
+                .willReturn(new CommentSpamStatsResponse(true, 12, 340, 500, 9, 4));
+
+        mockMvc.perform(get("/rest/api/admin/metrics/comment-spam"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.userRejectedCount").value(9))
+                .andExpect(jsonPath("$.data.globalRejectedCount").value(4));
+    }
+}
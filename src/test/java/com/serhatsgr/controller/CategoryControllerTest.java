@@ -2,6 +2,7 @@ package com.serhatsgr.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.serhatsgr.controller.Impl.CategoryController;
+import com.serhatsgr.dto.CatalogVersion;
 import com.serhatsgr.dto.DtoCategory;
 import com.serhatsgr.dto.DtoCategoryIU;
 import com.serhatsgr.exception.BaseException;
@@ -9,6 +10,8 @@ import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.handler.GlobalExceptionHandler;
 import com.serhatsgr.service.ICategoryService;
+import com.serhatsgr.service.Impl.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +30,8 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -46,6 +51,14 @@ class CategoryControllerTest {
     @Autowired private ObjectMapper objectMapper;
 
     @MockitoBean private ICategoryService categoryService;
+    @MockitoBean private CatalogVersionService catalogVersionService;
+
+    private static final CatalogVersion VERSION = new CatalogVersion("\"a-1f-2-3c\"", 1_700_000_000_000L);
+
+    @BeforeEach
+    void stubCatalogVersion() {
+        given(catalogVersionService.currentVersion()).willReturn(VERSION);
+    }
 
     @Test
     @DisplayName("GET /list -> Tüm kategorileri getir")
@@ -190,7 +203,32 @@ class CategoryControllerTest {
                 .andExpect(jsonPath("$.message").value("Kategori silinemedi"));
     }
 
+    @Test
+    @DisplayName("GET /rest/api/category/list -> Cevap ETag ve Last-Modified başlıklarını taşımalı")
+    void conditionalGet_EmitsValidators() throws Exception {
+        mockMvc.perform(get("/rest/api/category/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.eTag()))
+                .andExpect(header().exists("Last-Modified"));
+    }
 
+    @Test
+    @DisplayName("GET /rest/api/category/list + If-None-Match güncel -> 304 ve gövde üretilmemeli")
+    void conditionalGet_NotModified() throws Exception {
+        mockMvc.perform(get("/rest/api/category/list").header("If-None-Match", VERSION.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", VERSION.eTag()))
+                .andExpect(content().string(""));
+
+        verify(categoryService, never()).getAllCategories();
+    }
 
+    @Test
+    @DisplayName("GET /rest/api/category/list + If-None-Match eski -> 200 ve yeni gövde")
+    void conditionalGet_Modified() throws Exception {
+        mockMvc.perform(get("/rest/api/category/list").header("If-None-Match", "\"eski-surum\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.eTag()));
+    }
 
-}
\ No newline at end of file
+}
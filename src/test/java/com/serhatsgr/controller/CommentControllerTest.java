@@ -4,13 +4,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.serhatsgr.controller.Impl.CommentControllerImpl;
 import com.serhatsgr.dto.CommentResponse;
 import com.serhatsgr.dto.CreateCommentRequest;
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.UpdateCommentRequest;
 import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.exception.TooManyRequestsException;
 import org.springframework.context.MessageSource;
 import com.serhatsgr.handler.GlobalExceptionHandler;
 import com.serhatsgr.service.ICommentService;
+import com.serhatsgr.service.Impl.CommentStreamService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,7 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
 import java.util.List;
@@ -46,6 +50,9 @@ class CommentControllerTest {
     @Mock
     private ICommentService commentService;
 
+    @Mock
+    private CommentStreamService commentStreamService;
+
     @Mock
     private MessageSource messageSource;
 
@@ -89,7 +96,7 @@ class CommentControllerTest {
 
         CommentResponse res = new CommentResponse(
                 1L, "Harika film!", null, null, "testUser",
-                1L, false, false, null, null);
+                1L, false, false, null, 0L, 0, null);
 
         given(commentService.createComment(any(CreateCommentRequest.class))).willReturn(res);
 
@@ -115,6 +122,22 @@ class CommentControllerTest {
                 .andExpect(jsonPath("$.message").value("Film bulunamadı"));
     }
 
+    @Test
+    @DisplayName("POST /save -> Yazma sınırı aşılırsa 429 dönmeli")
+    void createComment_TooManyRequests() throws Exception {
+        CreateCommentRequest req = new CreateCommentRequest("x", 1L, null);
+
+        given(commentService.createComment(any(CreateCommentRequest.class)))
+                .willThrow(new TooManyRequestsException("Çok fazla yorum gönderdiniz, lütfen 3 saniye sonra tekrar deneyin", 3));
+
+        mockMvc.perform(post("/rest/api/comments/save")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.code").value("1005"));
+    }
+
     @Test
     @DisplayName("POST /save -> INTERNAL ERROR")
     void createComment_InternalError() throws Exception {
@@ -140,7 +163,7 @@ class CommentControllerTest {
 
         CommentResponse res = new CommentResponse(
                 1L, "Yeni içerik", null, null, "testUser",
-                1L, false, false, null, null);
+                1L, false, false, null, 0L, 0, null);
 
         given(commentService.updateComment(eq(1L), any(UpdateCommentRequest.class), eq("testUser"))).willReturn(res);
 
@@ -222,7 +245,7 @@ class CommentControllerTest {
     void getCommentsByFilm_Success() throws Exception {
         CommentResponse res = new CommentResponse(
                 1L, "Nice", null, null, "user",
-                1L, false, false, null, null
+                1L, false, false, null, 0L, 0, null
         );
 
         given(commentService.getCommentsByFilm(1L)).willReturn(List.of(res));
@@ -253,4 +276,89 @@ class CommentControllerTest {
         mockMvc.perform(get("/rest/api/comments/film/1"))
                 .andExpect(status().is5xxServerError());
     }
-}
\ No newline at end of file
+
+    // ==========================================================
+    // THREAD PAGES
+    // ==========================================================
+
+    @Test
+    @DisplayName("GET /film/{filmId}/threads -> Ana yorum sayfası ve imleç dönmeli")
+    void getRootComments_Success() throws Exception {
+        CommentResponse root = new CommentResponse(
+                9L, "Kök", null, null, "user",
+                1L, false, false, null, 3L, 0, List.of());
+        given(commentService.getRootComments(1L, 1, null))
+                .willReturn(new CursorPage<>(List.of(root), CursorPage.encodeCursor(9L), true));
+
+        mockMvc.perform(get("/rest/api/comments/film/1/threads").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].id").value(9))
+                .andExpect(jsonPath("$.data.items[0].replyCount").value(3))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andExpect(jsonPath("$.data.nextCursor").value(CursorPage.encodeCursor(9L)));
+    }
+
+    @Test
+    @DisplayName("GET /{commentId}/replies -> Yanıt sayfası imleçle istenmeli")
+    void getReplies_Success() throws Exception {
+        String cursor = CursorPage.encodeCursor(20L);
+        CommentResponse reply = new CommentResponse(
+                21L, "Yanıt", null, null, "user",
+                1L, false, false, 9L, 0L, 1, List.of());
+        given(commentService.getReplies(9L, null, cursor))
+                .willReturn(new CursorPage<>(List.of(reply), null, false));
+
+        mockMvc.perform(get("/rest/api/comments/9/replies").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].parentCommentId").value(9))
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /{commentId}/replies -> Yorum bulunamadı (ERROR CASE)")
+    void getReplies_NotFound() throws Exception {
+        given(commentService.getReplies(99L, null, null))
+                .willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Yorum bulunamadı")));
+
+        mockMvc.perform(get("/rest/api/comments/99/replies"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /{commentId}/thread -> Ön-sıralı alt ağaç derinlikle dönmeli")
+    void getThread_Success() throws Exception {
+        CommentResponse root = new CommentResponse(
+                9L, "Kök", null, null, "user",
+                1L, false, false, null, 1L, 0, List.of());
+        CommentResponse reply = new CommentResponse(
+                21L, "Yanıt", null, null, "user",
+                1L, false, false, 9L, 0L, 1, List.of());
+        given(commentService.getThread(9L, null, null))
+                .willReturn(new CursorPage<>(List.of(root, reply), null, false));
+
+        mockMvc.perform(get("/rest/api/comments/9/thread"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].depth").value(0))
+                .andExpect(jsonPath("$.data.items[1].depth").value(1))
+                .andExpect(jsonPath("$.data.items[1].parentCommentId").value(9));
+    }
+
+    @Test
+    @DisplayName("GET /film/{filmId}/stream -> SSE aboneliği async olarak başlar")
+    void streamFilmComments_StartsAsync() throws Exception {
+        given(commentStreamService.subscribe(1L)).willReturn(new SseEmitter());
+
+        mockMvc.perform(get("/rest/api/comments/film/1/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /film/{filmId}/stream -> Film yoksa 404")
+    void streamFilmComments_FilmNotFound() throws Exception {
+        given(commentStreamService.subscribe(99L))
+                .willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Film bulunamadı")));
+
+        mockMvc.perform(get("/rest/api/comments/film/99/stream"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -2,14 +2,19 @@ package com.serhatsgr.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.serhatsgr.controller.Impl.FilmControllerImpl;
+import com.serhatsgr.dto.CatalogVersion;
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.ListingType;
 import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.handler.GlobalExceptionHandler;
 import com.serhatsgr.service.IFilmService;
+import com.serhatsgr.service.Impl.CatalogVersionService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,6 +33,8 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -45,6 +52,14 @@ class FilmControllerTest {
     @Autowired private ObjectMapper objectMapper;
 
     @MockitoBean private IFilmService filmService;
+    @MockitoBean private CatalogVersionService catalogVersionService;
+
+    private static final CatalogVersion VERSION = new CatalogVersion("\"a-1f-2-3c\"", 1_700_000_000_000L);
+
+    @BeforeEach
+    void stubCatalogVersion() {
+        given(catalogVersionService.currentVersion()).willReturn(VERSION);
+    }
 
 
     // ============================================================
@@ -77,6 +92,52 @@ class FilmControllerTest {
     }
 
 
+    // ============================================================
+    //                --- GET FILM PAGE (keyset) ---
+    // ============================================================
+    @Test
+    @DisplayName("GET /page -> Sayfa ve sonraki imleç döner")
+    void getFilmPage_Success() throws Exception {
+        DtoFilm film = new DtoFilm();
+        film.setId(42L);
+        film.setTitle("Dune");
+        String next = CursorPage.encodeCursor(42L);
+        given(filmService.getFilmPage(ListingType.VISION, 1, null))
+                .willReturn(new CursorPage<>(List.of(film), next, true));
+
+        mockMvc.perform(get("/rest/api/film/page").param("type", "VISION").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].title").value("Dune"))
+                .andExpect(jsonPath("$.data.nextCursor").value(next))
+                .andExpect(jsonPath("$.data.hasNext").value(true));
+    }
+
+    @Test
+    @DisplayName("GET /summary -> Açıklama içermeyen özet sayfa döner")
+    void getFilmSummaryPage_Success() throws Exception {
+        given(filmService.getFilmSummaryPage(null, 20, null))
+                .willReturn(new CursorPage<>(List.of(new DtoFilmSummary(3L, "Her", "http://p", 4.2)), null, false));
+
+        mockMvc.perform(get("/rest/api/film/summary").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].title").value("Her"))
+                .andExpect(jsonPath("$.data.items[0].averageRating").value(4.2))
+                .andExpect(jsonPath("$.data.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.data.hasNext").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /page?cursor=bozuk -> Geçersiz imleç (error case)")
+    void getFilmPage_InvalidCursor() throws Exception {
+        given(filmService.getFilmPage(null, null, "bozuk"))
+                .willThrow(new BaseException(new ErrorMessage(MessageType.BAD_REQUEST, "Geçersiz sayfa imleci.")));
+
+        mockMvc.perform(get("/rest/api/film/page").param("cursor", "bozuk"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Geçersiz sayfa imleci."));
+    }
+
+
     // ============================================================
     //                --- GET FILM BY ID ---
     // ============================================================
@@ -256,4 +317,59 @@ class FilmControllerTest {
                 .andExpect(jsonPath("$.message").value("Arama hatası"));
     }
 
+    @Test
+    @DisplayName("GET /autocomplete?query=inc -> Öneri listesi")
+    void autocomplete_Success() throws Exception {
+        given(filmService.autocomplete("inc", null))
+                .willReturn(List.of(new DtoFilmSummary(3L, "Inception", "poster")));
+
+        mockMvc.perform(get("/rest/api/film/autocomplete").param("query", "inc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(3))
+                .andExpect(jsonPath("$.data[0].title").value("Inception"));
+    }
+
+    @Test
+    @DisplayName("GET /rest/api/film/list -> Cevap ETag ve Last-Modified başlıklarını taşımalı")
+    void conditionalGet_EmitsValidators() throws Exception {
+        mockMvc.perform(get("/rest/api/film/list"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.eTag()))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    @Test
+    @DisplayName("GET /rest/api/film/list + If-None-Match güncel -> 304 ve gövde üretilmemeli")
+    void conditionalGet_NotModified() throws Exception {
+        mockMvc.perform(get("/rest/api/film/list").header("If-None-Match", VERSION.eTag()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", VERSION.eTag()))
+                .andExpect(content().string(""));
+
+        verify(filmService, never()).getAllFilms(null);
+    }
+
+    @Test
+    @DisplayName("GET /list/{id} -> Sayaçları taşıyan detay katalog ETag'i ile 304 dönmemeli")
+    void getFilmById_NotConditional() throws Exception {
+        DtoFilm film = new DtoFilm();
+        film.setTitle("Inception");
+        given(filmService.getFilmById(1L)).willReturn(film);
+
+        mockMvc.perform(get("/rest/api/film/list/1").header("If-None-Match", VERSION.eTag()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.title").value("Inception"));
+
+        verify(catalogVersionService, never()).currentVersion();
+    }
+
+    @Test
+    @DisplayName("GET /rest/api/film/list + If-None-Match eski -> 200 ve yeni gövde")
+    void conditionalGet_Modified() throws Exception {
+        mockMvc.perform(get("/rest/api/film/list").header("If-None-Match", "\"eski-surum\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.eTag()));
+    }
+
 }
@@ -0,0 +1,231 @@
+package com.serhatsgr.repository;
+
+import com.serhatsgr.entity.Comment;
+import com.serhatsgr.entity.Film;
+import com.serhatsgr.entity.ListingType;
+import com.serhatsgr.entity.User;
+import com.serhatsgr.repository.projection.CommentRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = CommentRepositoryTest.TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS MOVIE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+class CommentRepositoryTest {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("com.serhatsgr.entity")
+    @EnableJpaRepositories("com.serhatsgr.repository")
+    static class TestConfig {}
+
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private FilmRepository filmRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private User author;
+    private Film film;
+
+    @BeforeEach
+    void setUp() {
+        author = new User(); author.setUsername("yazar"); author.setEmail("yazar@test.com");
+        userRepository.save(author);
+        film = saveFilm("Thread Filmi", "thread");
+    }
+
+    @Test
+    @DisplayName("Ana yorum sayfaları -> En yeni önce, imleçten sonrası tekrar etmeden gelmeli")
+    void rootPages_NewestFirstWithoutOverlap() {
+        Comment first = save(null);
+        Comment second = save(null);
+        Comment third = save(null);
+        save(second); // yanıtlar ana yorum sayfasına girmez
+
+        List<CommentRow> page1 = commentRepository.findFirstRootPage(film.getId(), Limit.of(2));
+        List<CommentRow> page2 = commentRepository.findRootPageBefore(film.getId(), page1.get(1).id(), Limit.of(2));
+
+        assertThat(page1).extracting(CommentRow::id).containsExactly(third.getId(), second.getId());
+        assertThat(page2).extracting(CommentRow::id).containsExactly(first.getId());
+        assertThat(page1.get(0).username()).isEqualTo("yazar");
+    }
+
+    @Test
+    @DisplayName("Yanıt sayfaları -> Sadece doğrudan yanıtlar, eskiden yeniye gelmeli")
+    void replyPages_DirectRepliesOldestFirst() {
+        Comment root = save(null);
+        Comment r1 = save(root);
+        Comment r2 = save(root);
+        Comment r3 = save(root);
+        save(r1); // torun yanıt, kökün sayfasına girmez
+
+        List<CommentRow> page1 = commentRepository.findFirstReplyPage(root.getId(), Limit.of(2));
+        List<CommentRow> page2 = commentRepository.findReplyPageAfter(root.getId(), page1.get(1).id(), Limit.of(2));
+
+        assertThat(page1).extracting(CommentRow::id).containsExactly(r1.getId(), r2.getId());
+        assertThat(page2).extracting(CommentRow::id).containsExactly(r3.getId());
+        assertThat(page1).extracting(CommentRow::parentCommentId).containsOnly(root.getId());
+    }
+
+    @Test
+    @DisplayName("Sayaçlar -> Atomik UPDATE ile kaymalı, entity kaydı sayacı eski değerle ezmemeli")
+    void counters_AdjustedAtomically() {
+        Comment root = save(null);
+        commentRepository.adjustReplyCount(root.getId(), 2);
+        filmRepository.adjustCommentCount(film.getId(), 3);
+
+        Film loaded = filmRepository.findById(film.getId()).orElseThrow();
+        loaded.setTitle("Yeni Başlık");
+        filmRepository.saveAndFlush(loaded);
+        Comment loadedComment = commentRepository.findById(root.getId()).orElseThrow();
+        loadedComment.setContent("düzenlendi");
+        commentRepository.saveAndFlush(loadedComment);
+        entityManager.clear();
+
+        assertThat(filmRepository.findById(film.getId()).orElseThrow().getCommentCount()).isEqualTo(3);
+        assertThat(commentRepository.findFirstRootPage(film.getId(), Limit.of(1)))
+                .extracting(CommentRow::replyCount).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Sayaç mutabakatı -> Sapan sayaçlar bulunmalı; film sayacı silinmemiş yorumları, yanıt sayacı tüm yanıtları saymalı")
+    void counters_DriftDetectedAndRecomputed() {
+        Comment root = save(null);
+        save(root);
+        Comment deletedReply = save(root);
+        deletedReply.setDeleted(true);
+        entityManager.flush();
+
+        assertThat(commentRepository.findCommentIdsWithReplyCountDrift()).containsExactly(root.getId());
+        assertThat(filmRepository.findFilmIdsWithCommentCountDrift()).containsExactly(film.getId());
+
+        commentRepository.lockForReplyCountUpdate(root.getId());
+        commentRepository.recomputeReplyCount(root.getId());
+        filmRepository.lockForCommentCountUpdate(film.getId());
+        filmRepository.recomputeCommentCount(film.getId());
+
+        assertThat(commentRepository.findById(root.getId()).orElseThrow().getReplyCount()).isEqualTo(2);
+        assertThat(filmRepository.findById(film.getId()).orElseThrow().getCommentCount()).isEqualTo(2);
+        assertThat(commentRepository.findCommentIdsWithReplyCountDrift()).isEmpty();
+        assertThat(filmRepository.findFilmIdsWithCommentCountDrift()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("existsByParentCommentId / deleteRowById -> Yanıtlar yüklenmeden kontrol edilip tek satır silinmeli")
+    void existsAndDeleteRow_WithoutLoadingReplies() {
+        Comment root = save(null);
+        Comment reply = save(root);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        assertThat(commentRepository.existsByParentCommentId(root.getId())).isTrue();
+        assertThat(commentRepository.existsByParentCommentId(reply.getId())).isFalse();
+        assertThat(commentRepository.deleteRowById(reply.getId())).isEqualTo(1);
+
+        assertThat(stats.getCollectionLoadCount()).isZero();
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(commentRepository.existsById(reply.getId())).isFalse();
+        assertThat(commentRepository.existsByParentCommentId(root.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("findRowsByFilmId -> Yazar ve üst yorum bilgisiyle birlikte tek SQL ile gelmeli")
+    void findRowsByFilmId_SingleStatement() {
+        User banned = new User(); banned.setUsername("banli"); banned.setEmail("banli@test.com"); banned.setEnabled(false);
+        userRepository.save(banned);
+        Comment root = save(null);
+        Comment reply = save(root);
+        Comment bannedComment = commentRepository.save(Comment.builder()
+                .content("spam").user(banned).film(film).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        List<CommentRow> rows = commentRepository.findRowsByFilmId(film.getId());
+
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(rows).extracting(CommentRow::id)
+                .containsExactly(root.getId(), reply.getId(), bannedComment.getId());
+        assertThat(rows.get(0).parentCommentId()).isNull();
+        assertThat(rows.get(1).parentCommentId()).isEqualTo(root.getId());
+        assertThat(rows.get(2).username()).isEqualTo("banli");
+        assertThat(rows.get(2).userId()).isEqualTo(banned.getId());
+    }
+
+    @Test
+    @DisplayName("Alt ağaç -> Path aralığı yorumun kendisini ve tüm alt yanıtlarını ön-sıralı döndürmeli")
+    void subtree_PreOrderedByPath() {
+        Comment root = save(null);
+        Comment a = save(root);
+        Comment b = save(root);
+        Comment a1 = save(a);
+        Comment other = save(null);
+        save(other);
+
+        String rootPath = root.getPath();
+        List<CommentRow> page1 = commentRepository.findFirstSubtreePage(rootPath, rootPath + ":", Limit.of(3));
+        List<CommentRow> page2 = commentRepository.findSubtreePageAfter(page1.get(2).path(), rootPath + ":", Limit.of(3));
+
+        assertThat(page1).extracting(CommentRow::id).containsExactly(root.getId(), a.getId(), a1.getId());
+        assertThat(page2).extracting(CommentRow::id).containsExactly(b.getId());
+        assertThat(commentRepository.findPathById(a1.getId())).contains(a.getPath() + String.format("%010d", a1.getId()));
+    }
+
+    // createComment'teki yol ataması: insert ile ID alınır, yol üst yorumun yoluna eklenir
+    private Comment save(Comment parent) {
+        Comment comment = commentRepository.save(Comment.builder()
+                .content("yorum")
+                .user(author)
+                .film(film)
+                .parentComment(parent)
+                .build());
+        comment.setPath((parent != null ? parent.getPath() : "") + String.format("%010d", comment.getId()));
+        return comment;
+    }
+
+    private Film saveFilm(String title, String suffix) {
+        Film film = new Film();
+        film.setTitle(title);
+        film.setReleaseDate(LocalDate.now());
+        film.setListingType(ListingType.VISION);
+        film.setPosterUrl("http://poster" + suffix + ".url");
+        film.setTrailerUrl("http://trailer" + suffix + ".url");
+        film.setDescription("Test Desc");
+        return filmRepository.save(film);
+    }
+}
@@ -0,0 +1,162 @@
+package com.serhatsgr.repository;
+
+import com.serhatsgr.dto.DtoFilm;
+import com.serhatsgr.dto.DtoFilmSummary;
+import com.serhatsgr.entity.CatalogStamp;
+import com.serhatsgr.entity.Category;
+import com.serhatsgr.entity.Film;
+import com.serhatsgr.entity.ListingType;
+import com.serhatsgr.mapper.FilmMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = FilmRepositoryTest.TestConfig.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:testdb;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS MOVIE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+class FilmRepositoryTest {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan("com.serhatsgr.entity")
+    @EnableJpaRepositories("com.serhatsgr.repository")
+    static class TestConfig {}
+
+    @Autowired private FilmRepository filmRepository;
+    @Autowired private CategoryRepository categoryRepository;
+    @Autowired private CatalogStampRepository catalogStampRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private final FilmMapper filmMapper = new FilmMapper();
+
+    @Test
+    @DisplayName("Film listesi + kategori adları -> SQL sayısı film sayısından bağımsız olmalı")
+    void categoryLoading_ConstantStatementCount() {
+        Category drama = categoryRepository.save(new Category(null, "Dram", null, new HashSet<>()));
+        Category comedy = categoryRepository.save(new Category(null, "Komedi", null, new HashSet<>()));
+        for (int i = 0; i < 12; i++) {
+            saveFilm("Film " + i, i % 2 == 0 ? Set.of(drama) : Set.of(drama, comedy));
+        }
+
+        long smallPage = countStatementsForPage(2);
+        long largePage = countStatementsForPage(12);
+
+        // 1 film sorgusu + 1 kategori sorgusu, N'den bağımsız
+        assertThat(smallPage).isEqualTo(2);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("findCategoryNameMap -> Kategori adları film ID'sine göre gruplanmalı")
+    void findCategoryNameMap_GroupsByFilm() {
+        Category drama = categoryRepository.save(new Category(null, "Dram", null, new HashSet<>()));
+        Category comedy = categoryRepository.save(new Category(null, "Komedi", null, new HashSet<>()));
+        Film f1 = saveFilm("Tek Kategori", Set.of(drama));
+        Film f2 = saveFilm("Iki Kategori", Set.of(drama, comedy));
+        entityManager.flush();
+
+        var map = filmRepository.findCategoryNameMap(List.of(f1.getId(), f2.getId()));
+
+        assertThat(map.get(f1.getId())).containsExactly("Dram");
+        assertThat(map.get(f2.getId())).containsExactlyInAnyOrder("Dram", "Komedi");
+        assertThat(filmRepository.findCategoryNameMap(List.of())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Özet sayfa -> id DESC sıralı, imleçten sonrası ve type filtresi doğru çalışmalı")
+    void summaryPage_KeysetOrdering() {
+        Category drama = categoryRepository.save(new Category(null, "Dram", null, new HashSet<>()));
+        Film f1 = saveFilm("Birinci", Set.of(drama));
+        Film f2 = saveFilm("Ikinci", Set.of(drama));
+        Film f3 = saveFilm("Ucuncu", Set.of(drama));
+        f3.setListingType(ListingType.SERIES);
+        entityManager.flush();
+
+        List<DtoFilmSummary> first = filmRepository.findFirstSummaryPage(Limit.of(2));
+        List<DtoFilmSummary> next = filmRepository.findSummaryPageAfter(f2.getId(), Limit.of(2));
+        List<DtoFilmSummary> series = filmRepository.findFirstSummaryPageByListingType(ListingType.SERIES, Limit.of(5));
+
+        assertThat(first).extracting(DtoFilmSummary::getId).containsExactly(f3.getId(), f2.getId());
+        assertThat(next).extracting(DtoFilmSummary::getId).containsExactly(f1.getId());
+        assertThat(series).extracting(DtoFilmSummary::getTitle).containsExactly("Ucuncu");
+        assertThat(first.get(0).getAverageRating()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("catalog bump -> Sürüm tek satırda artmalı, oy/yorum sayaçları sürümü değiştirmemeli")
+    void catalogStamp_BumpsOnlyOnCatalogWrites() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        catalogStampRepository.save(new CatalogStamp(CatalogStamp.ID, 0L, start));
+        Film film = saveFilm("Damga", Set.of(categoryRepository.save(new Category(null, "Dram", null, new HashSet<>()))));
+        entityManager.flush();
+
+        filmRepository.applyRatingDelta(film.getId(), 4, 1);
+        filmRepository.adjustCommentCount(film.getId(), 1);
+        assertThat(catalogStampRepository.findById(CatalogStamp.ID).orElseThrow().getVersion()).isZero();
+
+        assertThat(catalogStampRepository.bump(LocalDateTime.now())).isEqualTo(1);
+        entityManager.clear();
+
+        CatalogStamp stamp = catalogStampRepository.findById(CatalogStamp.ID).orElseThrow();
+        assertThat(stamp.getVersion()).isEqualTo(1);
+        assertThat(stamp.getUpdatedAt()).isAfter(start);
+    }
+
+    private long countStatementsForPage(int size) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<Film> films = filmRepository.findFirstPage(Limit.of(size));
+        Set<Long> ids = films.stream().map(Film::getId).collect(Collectors.toSet());
+        List<DtoFilm> dtos = filmMapper.toDtoList(films, filmRepository.findCategoryNameMap(ids));
+
+        assertThat(dtos).hasSize(size).allSatisfy(dto -> assertThat(dto.getCategorys()).isNotEmpty());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Film saveFilm(String title, Set<Category> categories) {
+        Film film = new Film();
+        film.setTitle(title);
+        film.setDescription("Açıklama");
+        film.setReleaseDate(LocalDate.now());
+        film.setListingType(ListingType.VISION);
+        film.setPosterUrl("http://poster/" + title);
+        film.setTrailerUrl("http://trailer/" + title);
+        categories.forEach(film::addCategory);
+        return filmRepository.save(film);
+    }
+}
@@ -99,4 +99,65 @@ class RatingRepositoryTest {
         assertThat(average).isNull();
         assertThat(count).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("applyRatingDelta -> Toplam, sayı ve yuvarlanmış ortalama tek UPDATE ile güncellenmeli")
+    void applyRatingDelta_UpdatesRunningTotals() {
+        Film film = saveFilm("Delta Movie", "3");
+
+        filmRepository.applyRatingDelta(film.getId(), 4, 1);
+        filmRepository.applyRatingDelta(film.getId(), 5, 1);
+        filmRepository.applyRatingDelta(film.getId(), 5, 1);
+        filmRepository.applyRatingDelta(film.getId(), -1, 0); // 5 -> 4
+
+        Film reloaded = filmRepository.findById(film.getId()).orElseThrow();
+        assertThat(reloaded.getRatingSum()).isEqualTo(13);
+        assertThat(reloaded.getRatingCount()).isEqualTo(3);
+        assertThat(reloaded.getAverageRating()).isEqualTo(4.3);
+
+        filmRepository.applyRatingDelta(film.getId(), -13, -3);
+
+        Film empty = filmRepository.findById(film.getId()).orElseThrow();
+        assertThat(empty.getRatingCount()).isZero();
+        assertThat(empty.getAverageRating()).isEqualTo(0.0);
+    }
+
+    @Test
+    @DisplayName("Mutabakat sorguları -> Sapan film bulunmalı ve ratings tablosundan düzeltilmeli")
+    void reconcileQueries_FixDrift() {
+        Film film = saveFilm("Drift Movie", "4");
+        User user1 = new User(); user1.setUsername("d1"); user1.setEmail("d1@test.com");
+        User user2 = new User(); user2.setUsername("d2"); user2.setEmail("d2@test.com");
+        userRepository.save(user1);
+        userRepository.save(user2);
+
+        Rating r1 = new Rating(); r1.setFilm(film); r1.setUser(user1); r1.setScore(2);
+        Rating r2 = new Rating(); r2.setFilm(film); r2.setUser(user2); r2.setScore(5);
+        ratingRepository.save(r1);
+        ratingRepository.save(r2);
+        // Sadece bir oy yansıtılmış (sapma)
+        filmRepository.applyRatingDelta(film.getId(), 2, 1);
+
+        assertThat(filmRepository.findFilmIdsWithRatingDrift()).containsExactly(film.getId());
+
+        filmRepository.lockForRatingUpdate(film.getId());
+        filmRepository.recomputeRatingStats(film.getId());
+
+        Film fixed = filmRepository.findById(film.getId()).orElseThrow();
+        assertThat(fixed.getRatingSum()).isEqualTo(7);
+        assertThat(fixed.getRatingCount()).isEqualTo(2);
+        assertThat(fixed.getAverageRating()).isEqualTo(3.5);
+        assertThat(filmRepository.findFilmIdsWithRatingDrift()).isEmpty();
+    }
+
+    private Film saveFilm(String title, String suffix) {
+        Film film = new Film();
+        film.setTitle(title);
+        film.setReleaseDate(LocalDate.now());
+        film.setListingType(ListingType.VISION);
+        film.setPosterUrl("http://poster" + suffix + ".url");
+        film.setTrailerUrl("http://trailer" + suffix + ".url");
+        film.setDescription("Test Desc");
+        return filmRepository.save(film);
+    }
+}
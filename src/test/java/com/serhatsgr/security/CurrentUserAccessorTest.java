@@ -0,0 +1,86 @@
+package com.serhatsgr.security;
+
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserAccessorTest {
+
+    @Mock private UserRepository userRepository;
+
+    @InjectMocks private CurrentUserAccessor currentUserAccessor;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("getId -> JWT principal'ındaki ID kullanılmalı, kullanıcı sorgusu yapılmamalı")
+    void getId_FromAuthenticatedUser() {
+        AuthenticatedUser principal = new AuthenticatedUser(5L, "ali", Set.of(Role.ROLE_USER));
+        authenticate(principal);
+
+        assertThat(currentUserAccessor.getId()).isEqualTo(5L);
+        assertThat(currentUserAccessor.getUsername()).isEqualTo("ali");
+        verify(userRepository, never()).findIdByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("getId -> Principal ID taşımıyorsa kullanıcı adıyla sadece ID sorgulanmalı")
+    void getId_FallsBackToIdQuery() {
+        authenticate("veli");
+        given(userRepository.findIdByUsername("veli")).willReturn(Optional.of(9L));
+
+        assertThat(currentUserAccessor.getId()).isEqualTo(9L);
+        verify(userRepository, never()).findByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("getId -> Kullanıcı bulunamazsa RESOURCE_NOT_FOUND")
+    void getId_UserNotFound() {
+        authenticate("silinmis");
+        given(userRepository.findIdByUsername("silinmis")).willReturn(Optional.empty());
+
+        Throwable thrown = catchThrowable(() -> currentUserAccessor.getId());
+
+        assertThat(thrown).isInstanceOf(BaseException.class);
+        assertThat(((BaseException) thrown).getErrorMessage().getMessageType()).isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("getId -> Oturum yoksa UNAUTHORIZED")
+    void getId_NoAuthentication() {
+        Throwable thrown = catchThrowable(() -> currentUserAccessor.getId());
+
+        assertThat(thrown).isInstanceOf(BaseException.class);
+        assertThat(((BaseException) thrown).getErrorMessage().getMessageType()).isEqualTo(MessageType.UNAUTHORIZED);
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+}
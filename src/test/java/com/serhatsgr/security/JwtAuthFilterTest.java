@@ -0,0 +1,103 @@
+package com.serhatsgr.security;
+
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.entity.User;
+import com.serhatsgr.service.Impl.JwtService;
+import com.serhatsgr.service.Impl.UserService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock private JwtService jwtService;
+    @Mock private UserService userService;
+    @Mock private HandlerExceptionResolver handlerExceptionResolver;
+
+    @InjectMocks private JwtAuthFilter jwtAuthFilter;
+
+    private final Claims claims = Jwts.claims().setSubject("ali");
+    private final AuthenticatedUser principal = new AuthenticatedUser(5L, "ali", Set.of(Role.ROLE_USER));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtAuthFilter, "statelessEnabled", true);
+        given(jwtService.extractAllClaim("token")).willReturn(claims);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Stateless mod -> Kimlik claim'lerden kurulmalı, kullanıcı sorgusu yapılmamalı")
+    void stateless_AuthenticatesFromClaims() throws Exception {
+        given(jwtService.toAuthenticatedUser(claims)).willReturn(principal);
+        given(jwtService.isRevoked(claims)).willReturn(false);
+
+        jwtAuthFilter.doFilter(bearer(), new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getPrincipal()).isEqualTo(principal);
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(userService, never()).loadCachedPrincipal(anyString());
+    }
+
+    @Test
+    @DisplayName("Stateless mod -> İptal edilmiş token ile istek kimliksiz devam etmeli")
+    void stateless_RevokedTokenNotAuthenticated() throws Exception {
+        given(jwtService.toAuthenticatedUser(claims)).willReturn(principal);
+        given(jwtService.isRevoked(claims)).willReturn(true);
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtAuthFilter.doFilter(bearer(), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Eski token (uid/ver yok) -> Kullanıcı veritabanından yüklenerek doğrulanmalı")
+    void legacyToken_LoadsUser() throws Exception {
+        User user = new User();
+        user.setUsername("ali");
+        user.setAuthorities(Set.of(Role.ROLE_ADMIN));
+        given(jwtService.toAuthenticatedUser(claims)).willReturn(null);
+        given(userService.loadCachedPrincipal("ali")).willReturn(user);
+        given(jwtService.validateToken(claims, user)).willReturn(true);
+
+        jwtAuthFilter.doFilter(bearer(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(user);
+    }
+
+    private static MockHttpServletRequest bearer() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/rest/api/film/list");
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
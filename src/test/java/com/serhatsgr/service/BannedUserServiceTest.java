@@ -0,0 +1,75 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.service.Impl.BannedUserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BannedUserServiceTest {
+
+    @Mock private UserRepository userRepository;
+
+    @InjectMocks private BannedUserService bannedUserService;
+
+    @Test
+    @DisplayName("isBanned -> Küme ilk okumada bir kez yüklenmeli, sonraki okumalar veritabanına gitmemeli")
+    void isBanned_LoadsOnce() {
+        given(userRepository.findBannedUserIds()).willReturn(List.of(9L, 3L));
+
+        assertThat(bannedUserService.isBanned(3L)).isTrue();
+        assertThat(bannedUserService.isBanned(9L)).isTrue();
+        assertThat(bannedUserService.isBanned(4L)).isFalse();
+        assertThat(bannedUserService.isBanned(null)).isFalse();
+
+        verify(userRepository, times(1)).findBannedUserIds();
+    }
+
+    @Test
+    @DisplayName("markBanned -> Ban/unban kümeye sıralı olarak eklenip çıkarılmalı")
+    void markBanned_UpdatesSortedSet() {
+        given(userRepository.findBannedUserIds()).willReturn(List.of(2L, 8L));
+        bannedUserService.refresh();
+
+        bannedUserService.markBanned(5L, true);
+        bannedUserService.markBanned(1L, true);
+        bannedUserService.markBanned(8L, false);
+        bannedUserService.markBanned(5L, true); // tekrar ban kümeyi büyütmemeli
+
+        assertThat(bannedUserService.size()).isEqualTo(3);
+        assertThat(bannedUserService.isBanned(1L)).isTrue();
+        assertThat(bannedUserService.isBanned(5L)).isTrue();
+        assertThat(bannedUserService.isBanned(8L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("markBanned -> Transaction içinde yapılan ban commit'ten önce görünmemeli")
+    void markBanned_AppliedAfterCommit() {
+        given(userRepository.findBannedUserIds()).willReturn(List.of());
+        bannedUserService.refresh();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            bannedUserService.markBanned(7L, true);
+            assertThat(bannedUserService.isBanned(7L)).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bannedUserService.isBanned(7L)).isTrue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.CatalogVersion;
+import com.serhatsgr.entity.CatalogStamp;
+import com.serhatsgr.repository.CatalogStampRepository;
+import com.serhatsgr.service.Impl.CatalogVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogVersionServiceTest {
+
+    private static final Duration STALENESS = Duration.ofMinutes(5);
+    // 5 dakikalık dilimin tam başı
+    private static final long WINDOW_START = 1_700_000_100_000L - Math.floorMod(1_700_000_100_000L, STALENESS.toMillis());
+
+    @Mock private CatalogStampRepository catalogStampRepository;
+
+    private final AtomicLong clock = new AtomicLong(WINDOW_START + 1_000);
+
+    @Test
+    @DisplayName("currentVersion -> Katalog sürümü artınca ETag değişmeli")
+    void currentVersion_ChangesAfterBump() {
+        LocalDateTime updatedAt = toLocal(WINDOW_START - 60_000);
+        given(catalogStampRepository.findById(CatalogStamp.ID))
+                .willReturn(Optional.of(new CatalogStamp(CatalogStamp.ID, 7L, updatedAt)))
+                .willReturn(Optional.of(new CatalogStamp(CatalogStamp.ID, 8L, updatedAt)));
+        CatalogVersionService service = service();
+
+        CatalogVersion before = service.currentVersion();
+        service.bump();
+        CatalogVersion after = service.currentVersion();
+
+        verify(catalogStampRepository).bump(any(LocalDateTime.class));
+        assertThat(after.eTag()).isNotEqualTo(before.eTag());
+    }
+
+    @Test
+    @DisplayName("currentVersion -> Aynı dilimde ETag sabit kalmalı, dilim dolunca değişmeli")
+    void currentVersion_RollsOverWithWindow() {
+        given(catalogStampRepository.findById(CatalogStamp.ID))
+                .willReturn(Optional.of(new CatalogStamp(CatalogStamp.ID, 7L, toLocal(WINDOW_START - 60_000))));
+        CatalogVersionService service = service();
+
+        CatalogVersion first = service.currentVersion();
+        clock.addAndGet(STALENESS.toMillis() - 2_000);
+        CatalogVersion sameWindow = service.currentVersion();
+        clock.addAndGet(2_000);
+        CatalogVersion nextWindow = service.currentVersion();
+
+        assertThat(sameWindow.eTag()).isEqualTo(first.eTag());
+        assertThat(nextWindow.eTag()).isNotEqualTo(first.eTag());
+        assertThat(nextWindow.lastModified()).isEqualTo(WINDOW_START + STALENESS.toMillis());
+    }
+
+    @Test
+    @DisplayName("currentVersion -> Last-Modified katalog zamanı ile dilim başlangıcının büyüğü olmalı")
+    void currentVersion_LastModifiedIsMax() {
+        long catalogUpdated = WINDOW_START + 500;
+        given(catalogStampRepository.findById(CatalogStamp.ID))
+                .willReturn(Optional.of(new CatalogStamp(CatalogStamp.ID, 7L, toLocal(WINDOW_START - 60_000))))
+                .willReturn(Optional.of(new CatalogStamp(CatalogStamp.ID, 8L, toLocal(catalogUpdated))));
+        CatalogVersionService service = service();
+
+        assertThat(service.currentVersion().lastModified()).isEqualTo(WINDOW_START);
+        assertThat(service.currentVersion().lastModified()).isEqualTo(catalogUpdated);
+    }
+
+    @Test
+    @DisplayName("currentVersion -> Satır yoksa sürüm 0 ve dilim başlangıcı kullanılmalı")
+    void currentVersion_MissingRow() {
+        given(catalogStampRepository.findById(CatalogStamp.ID)).willReturn(Optional.empty());
+
+        CatalogVersion version = service().currentVersion();
+
+        assertThat(version.eTag()).startsWith("\"0-");
+        assertThat(version.lastModified()).isEqualTo(WINDOW_START);
+    }
+
+    private CatalogVersionService service() {
+        return new CatalogVersionService(catalogStampRepository, STALENESS) {
+            @Override
+            protected long currentTimeMillis() {
+                return clock.get();
+            }
+        };
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
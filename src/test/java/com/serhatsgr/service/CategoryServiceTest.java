@@ -9,7 +9,10 @@ import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.CategoryMapper;
 import com.serhatsgr.repository.CategoryRepository;
 import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.CatalogVersionService;
 import com.serhatsgr.service.Impl.CategoryServiceImpl;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.FilmTitleIndexService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +34,9 @@ class CategoryServiceTest {
     @Mock private CategoryRepository categoryRepository;
     @Mock private FilmRepository filmRepository;
     @Mock private CategoryMapper categoryMapper;
+    @Mock private FilmTitleIndexService filmTitleIndexService;
+    @Mock private FilmCacheService filmCacheService;
+    @Mock private CatalogVersionService catalogVersionService;
 
     @InjectMocks private CategoryServiceImpl categoryService;
 
@@ -115,10 +121,12 @@ class CategoryServiceTest {
         given(categoryRepository.existsByNameIgnoreCase("NewName")).willReturn(false);
         given(categoryRepository.save(any(Category.class))).willReturn(existing);
         given(categoryMapper.toDto(any(Category.class))).willReturn(responseDto);
+        given(filmRepository.findIdsByCategoryId(id)).willReturn(List.of(7L, 8L));
 
         DtoCategory updated = categoryService.updateCategory(req, id);
 
         assertThat(updated.getName()).isEqualTo("NewName");
+        verify(filmCacheService).evictAll(List.of(7L, 8L));
     }
 
     @Test
@@ -181,6 +189,7 @@ class CategoryServiceTest {
         // DÜZELTME: Artık film.save() değil, film.delete() çağrılmalı.
         verify(filmRepository, times(1)).delete(any(Film.class));
         verify(categoryRepository).delete(category);
+        verify(catalogVersionService).bump();
         assertThat(result).contains("başarıyla silindi");
     }
 
@@ -0,0 +1,64 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.repository.CommentRepository;
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.CommentCountReconciliationService;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentCountReconciliationServiceTest {
+
+    @Mock private CommentRepository commentRepository;
+    @Mock private FilmRepository filmRepository;
+    @Mock private FilmCacheService filmCacheService;
+
+    @InjectMocks private CommentCountReconciliationService reconciliationService;
+
+    @Test
+    @DisplayName("reconcileCommentCounts -> Sapma yoksa hiçbir sayaç güncellenmemeli")
+    void reconcile_NoDrift() {
+        given(commentRepository.findCommentIdsWithReplyCountDrift()).willReturn(List.of());
+        given(filmRepository.findFilmIdsWithCommentCountDrift()).willReturn(List.of());
+
+        int fixed = reconciliationService.reconcileCommentCounts();
+
+        assertThat(fixed).isZero();
+        verify(commentRepository, never()).recomputeReplyCount(any());
+        verify(filmRepository, never()).recomputeCommentCount(any());
+        verifyNoInteractions(filmCacheService);
+    }
+
+    @Test
+    @DisplayName("reconcileCommentCounts -> Önce yorum, sonra film sayaçları kilitlenip yeniden hesaplanmalı, cache düşmeli")
+    void reconcile_FixesDriftedCounters() {
+        given(commentRepository.findCommentIdsWithReplyCountDrift()).willReturn(List.of(11L));
+        given(filmRepository.findFilmIdsWithCommentCountDrift()).willReturn(List.of(3L, 9L));
+
+        int fixed = reconciliationService.reconcileCommentCounts();
+
+        assertThat(fixed).isEqualTo(3);
+        InOrder inOrder = inOrder(commentRepository, filmRepository);
+        inOrder.verify(commentRepository).lockForReplyCountUpdate(11L);
+        inOrder.verify(commentRepository).recomputeReplyCount(11L);
+        inOrder.verify(filmRepository).lockForCommentCountUpdate(3L);
+        inOrder.verify(filmRepository).recomputeCommentCount(eq(3L));
+        inOrder.verify(filmRepository).lockForCommentCountUpdate(9L);
+        inOrder.verify(filmRepository).recomputeCommentCount(eq(9L));
+        verify(filmCacheService).evictAll(List.of(3L, 9L));
+    }
+}
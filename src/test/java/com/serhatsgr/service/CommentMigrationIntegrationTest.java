@@ -0,0 +1,178 @@
+package com.serhatsgr.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serhatsgr.dto.CommentImportResponse;
+import com.serhatsgr.dto.CommentNdjsonLine;
+import com.serhatsgr.service.Impl.CommentMigrationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * NDJSON içe/dışa aktarımını gerçek PostgreSQL üzerinde doğrular: sequence'tan ID tahsisi, parçalar arası
+ * üst yorum çözümü, path ve sayaçların batch yazımla tutarlı kalması.
+ */
+@SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "rating.aggregation.incremental=true"
+})
+class CommentMigrationIntegrationTest {
+
+    @Autowired private CommentMigrationService migrationService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    private long filmId;
+    private long otherFilmId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM films");
+        jdbcTemplate.update("DELETE FROM users");
+
+        jdbcTemplate.update("INSERT INTO users (username, email) VALUES ('ali', 'ali@test.com'), ('veli', 'veli@test.com')");
+        filmId = insertFilm("Gala");
+        otherFilmId = insertFilm("Diğer");
+
+        // Parça sınırları üst yorum ile yanıtı ayırsın
+        setChunkSize(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        setChunkSize(1000);
+    }
+
+    @Test
+    @DisplayName("importNdjson -> Geçerli satırlar parçalar halinde yazılmalı, hatalı satırlar raporlanıp atlanmalı")
+    void import_WritesValidLinesAndReportsInvalidOnes() {
+        String ndjson = String.join("\n",
+                line("f1", null, filmId, "ali", "kök", null),
+                line("f2", "f1", filmId, "veli", "yanıt", null),
+                "{bozuk json",
+                line("f3", "f2", filmId, "ali", "silinmiş yanıt", true),
+                line("f4", null, otherFilmId, "veli", "diğer film", null),
+                "",
+                line("f5", null, filmId, "yok", "kullanıcı yok", null),
+                line("f6", "f99", filmId, "ali", "üst yorum yok", null),
+                line("f7", "f1", otherFilmId, "ali", "yanlış film", null),
+                line("f2", null, filmId, "ali", "tekrar", null));
+
+        CommentImportResponse response = migrationService.importNdjson(stream(ndjson));
+
+        assertThat(response.readCount()).isEqualTo(9);
+        assertThat(response.importedCount()).isEqualTo(4);
+        assertThat(response.skippedCount()).isEqualTo(5);
+        assertThat(response.errors()).hasSize(5);
+        assertThat(response.errors().get(0)).startsWith("Satır 3:");
+        assertThat(response.errors().get(1)).startsWith("Satır 7:").contains("Kullanıcı bulunamadı");
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT c.content, c.path, p.content AS parent FROM comments c " +
+                        "LEFT JOIN comments p ON p.id = c.parent_comment_id ORDER BY c.path");
+        assertThat(rows).extracting(row -> row.get("content"))
+                .containsExactly("kök", "yanıt", "silinmiş yanıt", "diğer film");
+        assertThat(rows).extracting(row -> row.get("parent")).containsExactly(null, "kök", "yanıt", null);
+        assertThat((String) rows.get(2).get("path")).startsWith((String) rows.get(1).get("path")).hasSize(30);
+
+        assertThat(commentCount(filmId)).isEqualTo(2); // silinmiş yanıt film sayacına girmez
+        assertThat(commentCount(otherFilmId)).isEqualTo(1);
+        assertReplyCountsExact();
+    }
+
+    @Test
+    @DisplayName("exportNdjson -> Path sırasıyla yazılmalı ve çıktı olduğu gibi geri yüklenebilmeli")
+    void export_RoundTrip() throws Exception {
+        migrationService.importNdjson(stream(String.join("\n",
+                line("a", null, filmId, "ali", "kök", null),
+                line("b", null, otherFilmId, "veli", "başka film", null),
+                line("c", "a", filmId, "veli", "yanıt", null),
+                line("d", "c", filmId, "ali", "torun", null))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = migrationService.exportNdjson(filmId, out);
+
+        List<CommentNdjsonLine> lines = out.toString(StandardCharsets.UTF_8).lines()
+                .map(text -> read(text))
+                .toList();
+        assertThat(written).isEqualTo(3);
+        assertThat(lines).extracting(CommentNdjsonLine::content).containsExactly("kök", "yanıt", "torun");
+        assertThat(lines.get(0).parentExternalId()).isNull();
+        assertThat(lines.get(1).parentExternalId()).isEqualTo(lines.get(0).externalId());
+        assertThat(lines.get(2).parentExternalId()).isEqualTo(lines.get(1).externalId());
+
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("UPDATE films SET comment_count = 0");
+        CommentImportResponse reimported = migrationService.importNdjson(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(reimported.importedCount()).isEqualTo(3);
+        assertThat(reimported.skippedCount()).isZero();
+        assertThat(commentCount(filmId)).isEqualTo(3);
+        assertReplyCountsExact();
+    }
+
+    // @Transactional proxy'sinin değil asıl servisin alanı değişmeli
+    private void setChunkSize(int chunkSize) {
+        CommentMigrationService target = AopTestUtils.getTargetObject(migrationService);
+        ReflectionTestUtils.setField(target, "chunkSize", chunkSize);
+    }
+
+    private String line(String externalId, String parentExternalId, long filmId, String username, String content, Boolean deleted) {
+        try {
+            return objectMapper.writeValueAsString(
+                    new CommentNdjsonLine(externalId, parentExternalId, filmId, username, content, null, null, deleted));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CommentNdjsonLine read(String text) {
+        try {
+            return objectMapper.readValue(text, CommentNdjsonLine.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long insertFilm(String title) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO films (title, description, release_date, poster_url, trailer_url) " +
+                        "VALUES (?, 'Açıklama', ?, ?, ?) RETURNING id",
+                Long.class, title, LocalDate.now(), "http://p/" + title, "http://t/" + title);
+    }
+
+    private int commentCount(long filmId) {
+        return jdbcTemplate.queryForObject("SELECT comment_count FROM films WHERE id = ?", Integer.class, filmId);
+    }
+
+    private void assertReplyCountsExact() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT p.id FROM comments p WHERE p.reply_count <> " +
+                        "(SELECT COUNT(*) FROM comments c WHERE c.parent_comment_id = p.id)", Long.class))
+                .isEmpty();
+    }
+}
@@ -0,0 +1,140 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.BulkModerationRequest;
+import com.serhatsgr.dto.BulkModerationResponse;
+import com.serhatsgr.service.Impl.CommentModerationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Toplu moderasyonun veri değiştiren CTE'lerini gerçek PostgreSQL üzerinde doğrular:
+ * alt ağaç silme ve film/yanıt sayaçlarının aynı ifadede düşülmesi.
+ */
+@SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "rating.aggregation.incremental=true"
+})
+class CommentModerationIntegrationTest {
+
+    @Autowired private CommentModerationService moderationService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long filmId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM films");
+        jdbcTemplate.update("DELETE FROM users");
+
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email) VALUES ('moderator', 'mod@test.com') RETURNING id", Long.class);
+        filmId = jdbcTemplate.queryForObject(
+                "INSERT INTO films (title, description, release_date, poster_url, trailer_url) " +
+                        "VALUES ('Gala', 'Açıklama', ?, 'http://p', 'http://t') RETURNING id",
+                Long.class, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("DELETE -> Yorumlar alt ağaçlarıyla silinmeli, film ve üst yorum sayaçları tutarlı kalmalı")
+    void delete_RemovesSubtreesAndKeepsCountersExact() {
+        long root = insert(null);
+        long spam = insert(root);
+        long spamReply = insert(spam);
+        insert(spamReply);
+        long kept = insert(root);
+        long otherSpam = insert(null);
+
+        // İç içe hedefler (spamReply, spam'in alt ağacında) iki kez sayılmamalı
+        BulkModerationResponse response = moderationService.moderate(
+                new BulkModerationRequest(List.of(spam, spamReply, otherSpam, 999_999L), BulkModerationRequest.Action.DELETE));
+
+        assertThat(response.affectedCount()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM comments ORDER BY id", Long.class))
+                .containsExactly(root, kept);
+        assertCountersExact();
+        assertThat(replyCount(root)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("SOFT_DELETE -> Sadece görünür yorumlar gizlenmeli, film sayacı bir kez düşmeli")
+    void softDelete_HidesVisibleCommentsOnce() {
+        long root = insert(null);
+        long reply = insert(root);
+        long alreadyHidden = insert(null);
+        moderationService.moderate(new BulkModerationRequest(List.of(alreadyHidden), BulkModerationRequest.Action.SOFT_DELETE));
+
+        BulkModerationResponse response = moderationService.moderate(
+                new BulkModerationRequest(List.of(root, reply, alreadyHidden), BulkModerationRequest.Action.SOFT_DELETE));
+
+        assertThat(response.affectedCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT content FROM comments", String.class))
+                .containsOnly("Bu yorum silindi.");
+        assertCountersExact();
+        assertThat(replyCount(root)).isEqualTo(1); // silinmiş yanıt thread'de yer tutar
+    }
+
+    @Test
+    @DisplayName("hideAllByUser -> Sadece o kullanıcının görünür yorumları gizlenmeli, sayaçlar tutarlı kalmalı")
+    void hideAllByUser_HidesOnlyThatUsersComments() {
+        long root = insert(null);
+        long bystander = userId;
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, is_enabled) VALUES ('spammer', 'spam@test.com', FALSE) RETURNING id", Long.class);
+        insert(root);
+        insert(null);
+        userId = bystander;
+        long kept = insert(root);
+
+        int hidden = moderationService.hideAllByUser(
+                jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'spammer'", Long.class));
+
+        assertThat(hidden).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM comments WHERE is_deleted IS NOT TRUE ORDER BY id", Long.class))
+                .containsExactly(root, kept);
+        assertCountersExact();
+    }
+
+    // createComment ile aynı sonuç: path ve sayaçlar yazma yolunda olduğu gibi güncellenir
+    private long insert(Long parentId) {
+        long id = jdbcTemplate.queryForObject(
+                "INSERT INTO comments (content, created_at, user_id, film_id, parent_comment_id) " +
+                        "VALUES ('yorum', now(), ?, ?, ?) RETURNING id",
+                Long.class, userId, filmId, parentId);
+        jdbcTemplate.update("UPDATE comments SET path = COALESCE((SELECT p.path FROM comments p WHERE p.id = ?), '') || LPAD(?::text, 10, '0') WHERE id = ?",
+                parentId, id, id);
+        if (parentId != null) {
+            jdbcTemplate.update("UPDATE comments SET reply_count = reply_count + 1 WHERE id = ?", parentId);
+        }
+        jdbcTemplate.update("UPDATE films SET comment_count = comment_count + 1 WHERE id = ?", filmId);
+        return id;
+    }
+
+    private int replyCount(long commentId) {
+        return jdbcTemplate.queryForObject("SELECT reply_count FROM comments WHERE id = ?", Integer.class, commentId);
+    }
+
+    private void assertCountersExact() {
+        assertThat(jdbcTemplate.queryForObject("SELECT comment_count FROM films WHERE id = ?", Integer.class, filmId))
+                .isEqualTo(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM comments WHERE film_id = ? AND is_deleted IS NOT TRUE", Integer.class, filmId));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT p.id FROM comments p WHERE p.reply_count <> " +
+                        "(SELECT COUNT(*) FROM comments c WHERE c.parent_comment_id = p.id)", Long.class))
+                .isEmpty();
+    }
+}
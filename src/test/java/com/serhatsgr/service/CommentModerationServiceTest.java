@@ -0,0 +1,108 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.BulkModerationRequest;
+import com.serhatsgr.dto.BulkModerationResponse;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.CommentRepository;
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.service.Impl.CommentModerationService;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentModerationServiceTest {
+
+    @Mock private CommentRepository commentRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private FilmCacheService filmCacheService;
+    @Mock private CommentStreamService commentStreamService;
+
+    @InjectMocks private CommentModerationService moderationService;
+
+    @Test
+    @DisplayName("moderate(DELETE) -> Tekrarlı ID'ler ayıklanıp tek set-based silme çalışmalı, filmlerin cache'i düşmeli")
+    void moderate_Delete() {
+        given(commentRepository.findDistinctFilmIdsByIdIn(List.of(5L, 6L))).willReturn(List.of(1L, 2L));
+        given(commentRepository.bulkDeleteWithReplies(List.of(5L, 6L))).willReturn(9);
+
+        BulkModerationResponse response = moderationService.moderate(
+                new BulkModerationRequest(List.of(5L, 6L, 5L), BulkModerationRequest.Action.DELETE));
+
+        assertThat(response).isEqualTo(new BulkModerationResponse(BulkModerationRequest.Action.DELETE, 2, 9));
+        verify(commentRepository, never()).bulkSoftDelete(any(), any());
+        verify(filmCacheService).evictAll(List.of(1L, 2L));
+        verify(commentStreamService).resync(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("moderate(SOFT_DELETE) -> Yorumlar tek UPDATE ile gizlenmeli")
+    void moderate_SoftDelete() {
+        given(commentRepository.findDistinctFilmIdsByIdIn(List.of(5L))).willReturn(List.of(1L));
+        given(commentRepository.bulkSoftDelete(eq(List.of(5L)), any(LocalDateTime.class))).willReturn(1);
+
+        BulkModerationResponse response = moderationService.moderate(
+                new BulkModerationRequest(List.of(5L), BulkModerationRequest.Action.SOFT_DELETE));
+
+        assertThat(response.affectedCount()).isEqualTo(1);
+        verify(commentRepository, never()).bulkDeleteWithReplies(any());
+        verify(commentStreamService).resync(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("moderate -> Hiçbir yorum bulunamazsa yazma yapılmamalı")
+    void moderate_NothingFound() {
+        given(commentRepository.findDistinctFilmIdsByIdIn(List.of(404L))).willReturn(List.of());
+
+        BulkModerationResponse response = moderationService.moderate(
+                new BulkModerationRequest(List.of(404L), BulkModerationRequest.Action.DELETE));
+
+        assertThat(response.affectedCount()).isZero();
+        verify(commentRepository, never()).bulkDeleteWithReplies(any());
+        verifyNoInteractions(filmCacheService, commentStreamService);
+    }
+
+    @Test
+    @DisplayName("hideAllByUser -> Kullanıcının görünür yorumları tek ifadede gizlenmeli, etkilenen filmlerin cache'i düşmeli")
+    void hideAllByUser_Success() {
+        given(userRepository.existsById(4L)).willReturn(true);
+        given(commentRepository.findDistinctVisibleFilmIdsByUserId(4L)).willReturn(List.of(1L, 3L));
+        given(commentRepository.bulkSoftDeleteByUserId(eq(4L), any(LocalDateTime.class))).willReturn(12);
+
+        int hidden = moderationService.hideAllByUser(4L);
+
+        assertThat(hidden).isEqualTo(12);
+        verify(filmCacheService).evictAll(List.of(1L, 3L));
+        verify(commentStreamService).resync(List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("hideAllByUser -> Kullanıcı yoksa NOT_FOUND")
+    void hideAllByUser_UserNotFound() {
+        given(userRepository.existsById(4L)).willReturn(false);
+
+        Throwable ex = catchThrowable(() -> moderationService.hideAllByUser(4L));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+        verifyNoInteractions(commentRepository);
+    }
+}
@@ -0,0 +1,150 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.exception.TooManyRequestsException;
+import com.serhatsgr.service.Impl.CommentRateLimitService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CommentRateLimitServiceTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("acquire -> Kapasite kadar ani istek geçmeli, sonrası 429 ile reddedilmeli")
+    void acquire_BurstThenRejected() {
+        CommentRateLimitService limiter = create(true);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("ali", List.of(Role.ROLE_USER));
+        }
+        Throwable ex = catchThrowable(() -> limiter.acquire("ali", List.of(Role.ROLE_USER)));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.TOO_MANY_REQUESTS);
+        assertThat(ex.getMessage()).contains("10 saniye");
+        assertThat(((TooManyRequestsException) ex).getRetryAfterSeconds()).isEqualTo(10);
+        assertThat(limiter.stats().allowedCount()).isEqualTo(3);
+        assertThat(limiter.stats().rejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("acquire -> Jetonlar dolum süresine göre geri gelmeli, kova kapasiteyi aşmamalı")
+    void acquire_RefillsOverTime() {
+        CommentRateLimitService limiter = create(true);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("ali", List.of(Role.ROLE_USER));
+        }
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limiter.acquire("ali", List.of(Role.ROLE_USER));
+        assertThat(catchThrowable(() -> limiter.acquire("ali", List.of(Role.ROLE_USER)))).isInstanceOf(BaseException.class);
+
+        // Uzun bekleme kovayı sadece kapasitesine kadar doldurur
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("ali", List.of(Role.ROLE_USER));
+        }
+        assertThat(catchThrowable(() -> limiter.acquire("ali", List.of(Role.ROLE_USER)))).isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("acquire -> Kovalar kullanıcı başına ayrı olmalı, en yetkili rolün sınırı uygulanmalı")
+    void acquire_PerUserAndPerRole() {
+        CommentRateLimitService limiter = create(true);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("ali", List.of(Role.ROLE_USER));
+        }
+
+        limiter.acquire("veli", List.of(Role.ROLE_USER));
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("admin", List.of(Role.ROLE_USER, Role.ROLE_ADMIN));
+        }
+
+        assertThat(limiter.stats().trackedUserCount()).isEqualTo(3);
+        assertThat(limiter.stats().rejectedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("acquire -> Eşzamanlı isteklerde kapasiteden fazlası geçmemeli")
+    void acquire_ConcurrentCallersNeverExceedCapacity() throws InterruptedException {
+        CommentRateLimitService limiter = create(true);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int i = 0; i < 64; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    limiter.acquire("ali", List.of(Role.ROLE_USER));
+                    allowed.incrementAndGet();
+                } catch (BaseException | InterruptedException ignored) {
+                    // reddedildi
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(3);
+        assertThat(limiter.stats().rejectedCount()).isEqualTo(61);
+    }
+
+    @Test
+    @DisplayName("evictIdleBuckets -> Tamamen dolmuş kovalar silinmeli, dolmakta olanlar kalmalı")
+    void evictIdleBuckets_RemovesFullBuckets() {
+        CommentRateLimitService limiter = create(true);
+        limiter.acquire("ali", List.of(Role.ROLE_USER));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        limiter.acquire("veli", List.of(Role.ROLE_USER));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+
+        limiter.evictIdleBuckets();
+
+        assertThat(limiter.stats().trackedUserCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("acquire -> Sınırlayıcı kapalıysa hiçbir istek reddedilmemeli")
+    void acquire_Disabled() {
+        CommentRateLimitService limiter = create(false);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire("ali", List.of(Role.ROLE_USER));
+        }
+
+        assertThat(limiter.stats().rejectedCount()).isZero();
+        assertThat(limiter.stats().trackedUserCount()).isZero();
+    }
+
+    // USER: 3 jeton / 10 sn, MOD: 6 jeton / 5 sn, ADMIN: 10 jeton / 1 sn
+    private CommentRateLimitService create(boolean enabled) {
+        return new CommentRateLimitService(enabled,
+                3, Duration.ofSeconds(10),
+                6, Duration.ofSeconds(5),
+                10, Duration.ofSeconds(1)) {
+            @Override
+            protected long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+}
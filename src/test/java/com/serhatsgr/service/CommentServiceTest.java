@@ -1,34 +1,53 @@
 package com.serhatsgr.service;
 
+import com.serhatsgr.dto.CommentEvent;
 import com.serhatsgr.dto.CommentResponse;
 import com.serhatsgr.dto.CreateCommentRequest;
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.entity.Comment;
 import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.User;
 import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.repository.CommentRepository;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.repository.projection.CommentRow;
+import com.serhatsgr.security.CurrentUserAccessor;
+import com.serhatsgr.service.Impl.BannedUserService;
+import com.serhatsgr.service.Impl.CommentRateLimitService;
 import com.serhatsgr.service.Impl.CommentServiceImpl;
+import com.serhatsgr.service.Impl.CommentSpamFilterService;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import com.serhatsgr.service.Impl.FilmCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +56,13 @@ class CommentServiceTest {
     @Mock private CommentRepository commentRepository;
     @Mock private UserRepository userRepository;
     @Mock private FilmRepository filmRepository;
+    @Mock private FilmCacheService filmCacheService;
+    @Mock private CommentStreamService commentStreamService;
+    @Mock private BannedUserService bannedUserService;
+    @Mock private CommentRateLimitService commentRateLimitService;
+    @Mock private CommentSpamFilterService commentSpamFilterService;
+
+    @Mock private CurrentUserAccessor currentUserAccessor;
 
     @InjectMocks private CommentServiceImpl commentService;
 
@@ -71,13 +97,133 @@ class CommentServiceTest {
         comment.setFilm(film);
         comment.setCreatedAt(LocalDateTime.now());
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(user));
+        given(currentUserAccessor.getId()).willReturn(user.getId());
+        given(userRepository.getReferenceById(user.getId())).willReturn(user);
         given(filmRepository.findById(1L)).willReturn(Optional.of(film));
         given(commentRepository.save(any(Comment.class))).willReturn(comment);
+        CommentSpamFilterService.Fingerprint fingerprint = new CommentSpamFilterService.Fingerprint(1L, null, false);
+        given(commentSpamFilterService.check("user", "Yorum")).willReturn(fingerprint);
 
         CommentResponse res = commentService.createComment(req);
 
         assertThat(res.content()).isEqualTo("Yorum");
+        assertThat(comment.getPath()).isEqualTo("0000000010");
+        verify(commentSpamFilterService).record("user", fingerprint);
+        assertThat(res.depth()).isZero();
+        verify(filmRepository).adjustCommentCount(eq(1L), eq(1));
+        verify(commentRepository, never()).adjustReplyCount(any(), anyInt());
+        verify(filmCacheService).evict(1L);
+        verify(commentStreamService).publish(new CommentEvent(CommentEvent.Type.CREATED, 1L, 10L, res));
+    }
+
+    @Test
+    @DisplayName("createComment -> Yanıtın yolu üst yorumun yoluna kendi ID segmenti eklenerek yazılmalı")
+    void createComment_ReplyPath() {
+        CreateCommentRequest req = new CreateCommentRequest("Yanıt", 1L, 7L);
+
+        User user = new User(); user.setUsername("user"); user.setEnabled(true);
+        Film film = new Film(); film.setId(1L);
+        Comment parent = Comment.builder().id(7L).user(user).film(film).build();
+        parent.setPath("00000000030000000007");
+
+        given(currentUserAccessor.getId()).willReturn(user.getId());
+        given(userRepository.getReferenceById(user.getId())).willReturn(user);
+        given(filmRepository.findById(1L)).willReturn(Optional.of(film));
+        given(commentRepository.findById(7L)).willReturn(Optional.of(parent));
+        Comment saved = Comment.builder().id(12L).content("Yanıt").user(user).film(film).parentComment(parent).build();
+        given(commentRepository.save(any(Comment.class))).willReturn(saved);
+
+        CommentResponse res = commentService.createComment(req);
+
+        assertThat(saved.getPath()).isEqualTo("000000000300000000070000000012");
+        assertThat(res.parentCommentId()).isEqualTo(7L);
+        assertThat(res.depth()).isEqualTo(2);
+
+        InOrder inOrder = inOrder(commentRepository, filmRepository);
+        inOrder.verify(commentRepository).adjustReplyCount(7L, 1);
+        inOrder.verify(filmRepository).adjustCommentCount(eq(1L), eq(1));
+    }
+
+    @Test
+    @DisplayName("createComment -> Başka filme ait yoruma yanıt verilemez")
+    void createComment_ParentFromOtherFilm() {
+        CreateCommentRequest req = new CreateCommentRequest("Yanıt", 1L, 7L);
+
+        User user = new User(); user.setUsername("user"); user.setEnabled(true);
+        Film film = new Film(); film.setId(1L);
+        Film otherFilm = new Film(); otherFilm.setId(2L);
+        Comment parent = Comment.builder().id(7L).user(user).film(otherFilm).build();
+        parent.setPath("0000000007");
+
+        given(currentUserAccessor.getId()).willReturn(user.getId());
+        given(filmRepository.findById(1L)).willReturn(Optional.of(film));
+        given(commentRepository.findById(7L)).willReturn(Optional.of(parent));
+
+        Throwable ex = catchThrowable(() -> commentService.createComment(req));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.BAD_REQUEST);
+        verify(commentRepository, never()).save(any());
+        verify(commentRepository, never()).adjustReplyCount(any(), anyInt());
+        verify(filmRepository, never()).adjustCommentCount(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("createComment -> En derin seviyedeki yoruma yanıt verilemez")
+    void createComment_TooDeep() {
+        CreateCommentRequest req = new CreateCommentRequest("Yanıt", 1L, 7L);
+
+        User user = new User(); user.setUsername("user"); user.setEnabled(true);
+        Film film = new Film(); film.setId(1L);
+        Comment parent = Comment.builder().id(7L).user(user).film(film).build();
+        parent.setPath("0000000007".repeat(100));
+
+        given(currentUserAccessor.getId()).willReturn(user.getId());
+        given(filmRepository.findById(1L)).willReturn(Optional.of(film));
+        given(commentRepository.findById(7L)).willReturn(Optional.of(parent));
+
+        Throwable ex = catchThrowable(() -> commentService.createComment(req));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.BAD_REQUEST);
+        verify(commentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("createComment -> Yazma sınırı aşılırsa veritabanına gitmeden TOO_MANY_REQUESTS")
+    void createComment_RateLimited() {
+        CreateCommentRequest req = new CreateCommentRequest("Yorum", 1L, null);
+        willThrow(new BaseException(new ErrorMessage(MessageType.TOO_MANY_REQUESTS, "Çok fazla yorum")))
+                .given(commentRateLimitService).acquire(eq("user"), any());
+
+        Throwable ex = catchThrowable(() -> commentService.createComment(req));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.TOO_MANY_REQUESTS);
+        verifyNoInteractions(userRepository, filmRepository, commentRepository);
+    }
+
+    @Test
+    @DisplayName("createComment -> Kopya içerik veritabanına gitmeden DUPLICATE_RESOURCE ile reddedilmeli")
+    void createComment_DuplicateContent() {
+        CreateCommentRequest req = new CreateCommentRequest("Bedava bilet için tıkla", 1L, null);
+        given(commentSpamFilterService.check("user", "Bedava bilet için tıkla"))
+                .willThrow(new BaseException(new ErrorMessage(MessageType.DUPLICATE_RESOURCE, "Kopya yorum")));
+
+        Throwable ex = catchThrowable(() -> commentService.createComment(req));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.DUPLICATE_RESOURCE);
+        verifyNoInteractions(userRepository, filmRepository, commentRepository);
+        verify(commentSpamFilterService, never()).record(any(), any());
     }
 
     @Test
@@ -85,7 +231,7 @@ class CommentServiceTest {
     void createComment_UserNotFound() {
         CreateCommentRequest req = new CreateCommentRequest("test", 1L, null);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable thrown = catchThrowable(() -> commentService.createComment(req));
 
@@ -101,7 +247,7 @@ class CommentServiceTest {
         CreateCommentRequest req = new CreateCommentRequest("test", 1L, null);
         User user = new User(); user.setEnabled(true);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(user));
+        given(currentUserAccessor.getId()).willReturn(user.getId());
         given(filmRepository.findById(1L)).willReturn(Optional.empty());
 
         Throwable thrown = catchThrowable(() -> commentService.createComment(req));
@@ -150,13 +296,272 @@ class CommentServiceTest {
     @DisplayName("deleteComment -> Sahibiyse başarıyla silinir")
     void deleteComment_Success() {
         User owner = new User(); owner.setUsername("user");
-        Comment comment = new Comment(); comment.setUser(owner);
+        Film film = new Film(); film.setId(3L);
+        Comment comment = new Comment(); comment.setUser(owner); comment.setFilm(film);
 
         // Yorum var, sahibi "user" -> isOwner=true -> isAdmin kontrolü yapılmaz (SecurityContext kullanılmaz)
         given(commentRepository.findById(1L)).willReturn(Optional.of(comment));
 
         commentService.deleteComment(1L, "user");
 
-        verify(commentRepository).delete(comment);
+        verify(commentRepository).existsByParentCommentId(1L);
+        verify(commentRepository).deleteRowById(1L);
+        verify(commentRepository, never()).delete(any(Comment.class));
+        verify(filmRepository).adjustCommentCount(eq(3L), eq(-1));
+        verify(filmCacheService).evict(3L);
+        verify(commentStreamService).publish(new CommentEvent(CommentEvent.Type.DELETED, 3L, 1L, null));
+    }
+
+    @Test
+    @DisplayName("deleteComment -> Yanıtsız yanıt tamamen silinince üst yorumun yanıt sayacı düşmeli")
+    void deleteComment_HardDeleteReply_DecrementsParent() {
+        User owner = new User(); owner.setUsername("user");
+        Film film = new Film(); film.setId(3L);
+        Comment parent = Comment.builder().id(7L).user(owner).film(film).build();
+        Comment reply = Comment.builder().id(8L).user(owner).film(film).parentComment(parent).build();
+        given(commentRepository.findById(8L)).willReturn(Optional.of(reply));
+
+        commentService.deleteComment(8L, "user");
+
+        InOrder inOrder = inOrder(commentRepository, filmRepository);
+        inOrder.verify(commentRepository).deleteRowById(8L);
+        inOrder.verify(commentRepository).adjustReplyCount(7L, -1);
+        inOrder.verify(filmRepository).adjustCommentCount(eq(3L), eq(-1));
+    }
+
+    @Test
+    @DisplayName("deleteComment -> Soft-delete film sayacını düşürmeli, üst yorumun yanıt sayacına dokunmamalı")
+    void deleteComment_SoftDelete_DecrementsFilmOnly() {
+        User owner = new User(); owner.setUsername("user");
+        Film film = new Film(); film.setId(3L);
+        Comment parent = Comment.builder().id(7L).user(owner).film(film).build();
+        Comment comment = Comment.builder().id(8L).user(owner).film(film).parentComment(parent).build();
+        given(commentRepository.findById(8L)).willReturn(Optional.of(comment));
+        given(commentRepository.existsByParentCommentId(8L)).willReturn(true);
+
+        commentService.deleteComment(8L, "user");
+
+        assertThat(comment.isDeleted()).isTrue();
+        verify(commentRepository).save(comment);
+        verify(commentRepository, never()).deleteRowById(any());
+        verify(commentRepository, never()).adjustReplyCount(any(), anyInt());
+        verify(filmRepository).adjustCommentCount(eq(3L), eq(-1));
+
+        // Akışa "[Silindi]" yer tutucusu gider
+        ArgumentCaptor<CommentEvent> event = ArgumentCaptor.forClass(CommentEvent.class);
+        verify(commentStreamService).publish(event.capture());
+        assertThat(event.getValue().type()).isEqualTo(CommentEvent.Type.DELETED);
+        assertThat(event.getValue().comment().content()).isEqualTo("🗑️ [Silindi]");
+    }
+
+    @Test
+    @DisplayName("deleteComment -> Zaten soft-delete edilmiş yorum film sayacından tekrar düşülmemeli")
+    void deleteComment_AlreadySoftDeleted_KeepsFilmCount() {
+        User owner = new User(); owner.setUsername("user");
+        Film film = new Film(); film.setId(3L);
+        Comment parent = Comment.builder().id(7L).user(owner).film(film).build();
+        Comment comment = Comment.builder().id(8L).user(owner).film(film).parentComment(parent).isDeleted(true).build();
+        given(commentRepository.findById(8L)).willReturn(Optional.of(comment));
+
+        commentService.deleteComment(8L, "user");
+
+        verify(commentRepository).deleteRowById(8L);
+        verify(commentRepository).adjustReplyCount(7L, -1);
+        verify(filmRepository, never()).adjustCommentCount(any(), anyInt());
+        verifyNoInteractions(filmCacheService);
+    }
+
+    // --------------------------------------------------------------------
+    // THREAD SAYFALAMA TESTLERİ
+    // --------------------------------------------------------------------
+
+    @Test
+    @DisplayName("getRootComments -> İlk sayfa size+1 ile çekilmeli, yanıt sayıları satırdaki sayaçtan gelmeli")
+    void getRootComments_FirstPage() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 50);
+
+        given(filmRepository.existsById(1L)).willReturn(true);
+        given(commentRepository.findFirstRootPage(1L, Limit.of(3)))
+                .willReturn(List.of(comment(30L, null), comment(20L, null, 4), comment(10L, null)));
+
+        CursorPage<CommentResponse> page = commentService.getRootComments(1L, 2, null);
+
+        assertThat(page.items()).extracting(CommentResponse::id).containsExactly(30L, 20L);
+        assertThat(page.items()).extracting(CommentResponse::replyCount).containsExactly(0L, 4L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorPage.decodeCursor(page.nextCursor())).isEqualTo(20L);
+        verify(commentRepository, never()).findRowsByFilmId(any());
+    }
+
+    @Test
+    @DisplayName("getRootComments -> İmleç varsa o ID'den eski yorumlar istenmeli")
+    void getRootComments_NextPage() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 50);
+
+        given(filmRepository.existsById(1L)).willReturn(true);
+        given(commentRepository.findRootPageBefore(1L, 20L, Limit.of(21)))
+                .willReturn(List.of(comment(10L, null)));
+
+        CursorPage<CommentResponse> page = commentService.getRootComments(1L, null, CursorPage.encodeCursor(20L));
+
+        assertThat(page.items()).extracting(CommentResponse::id).containsExactly(10L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("getRootComments -> Film yoksa NOT_FOUND")
+    void getRootComments_FilmNotFound() {
+        given(filmRepository.existsById(1L)).willReturn(false);
+
+        Throwable ex = catchThrowable(() -> commentService.getRootComments(1L, null, null));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    @DisplayName("getReplies -> Yanıtlar eskiden yeniye, sayfa boyutu üst sınırla kırpılarak gelmeli")
+    void getReplies_ClampsPageSize() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 50);
+
+        given(commentRepository.existsById(5L)).willReturn(true);
+        given(commentRepository.findReplyPageAfter(eq(5L), eq(7L), eq(Limit.of(51))))
+                .willReturn(List.of(comment(8L, 5L), comment(9L, 5L, 1)));
+
+        CursorPage<CommentResponse> page = commentService.getReplies(5L, 500, CursorPage.encodeCursor(7L));
+
+        assertThat(page.items()).extracting(CommentResponse::id).containsExactly(8L, 9L);
+        assertThat(page.items()).extracting(CommentResponse::parentCommentId).containsOnly(5L);
+        assertThat(page.items()).extracting(CommentResponse::replyCount).containsExactly(0L, 1L);
+    }
+
+    @Test
+    @DisplayName("getReplies -> Yorum yoksa NOT_FOUND")
+    void getReplies_CommentNotFound() {
+        given(commentRepository.existsById(5L)).willReturn(false);
+
+        Throwable ex = catchThrowable(() -> commentService.getReplies(5L, null, null));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("getCommentsByFilm -> Tek projeksiyon sorgusuyla ağaç kurulmalı, film ayrıca yüklenmemeli")
+    void getCommentsByFilm_SingleQueryTree() {
+        LocalDateTime t = LocalDateTime.of(2025, 1, 1, 12, 0);
+        given(bannedUserService.isBanned(anyLong())).willAnswer(inv -> inv.getArgument(0, Long.class) == 13L);
+        given(commentRepository.findRowsByFilmId(1L)).willReturn(List.of(
+                new CommentRow(1L, "ilk", t, null, "ali", 11L, 1L, false, null, "0000000001", 2),
+                new CommentRow(2L, "yanıt", t.plusMinutes(1), null, "ayse", 12L, 1L, false, 1L, "00000000010000000002", 0),
+                new CommentRow(3L, "spam", t.plusMinutes(2), null, "banli", 13L, 1L, false, null, "0000000003", 0),
+                new CommentRow(4L, "ikinci yanıt", t.plusMinutes(3), null, "ali", 11L, 1L, false, 1L, "00000000010000000004", 0)
+        ));
+
+        List<CommentResponse> roots = commentService.getCommentsByFilm(1L);
+
+        assertThat(roots).extracting(CommentResponse::id).containsExactly(3L, 1L);
+        assertThat(roots.get(0).content()).isEqualTo("🚫 [Banlı]");
+        assertThat(roots.get(1).replyCount()).isEqualTo(2L);
+        assertThat(roots.get(1).replies()).extracting(CommentResponse::id).containsExactly(2L, 4L);
+        verifyNoInteractions(filmRepository);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("getCommentsByFilm -> Yorum yoksa ve film de yoksa NOT_FOUND")
+    void getCommentsByFilm_FilmNotFound() {
+        given(commentRepository.findRowsByFilmId(1L)).willReturn(List.of());
+        given(filmRepository.existsById(1L)).willReturn(false);
+
+        Throwable ex = catchThrowable(() -> commentService.getCommentsByFilm(1L));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("getThread -> Alt ağaç path aralığıyla ön-sıralı gelmeli, derinlik path'ten hesaplanmalı")
+    void getThread_PreOrderedRangeScan() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 50);
+        LocalDateTime t = LocalDateTime.now();
+
+        given(commentRepository.findPathById(1L)).willReturn(Optional.of("0000000001"));
+        given(commentRepository.findFirstSubtreePage("0000000001", "0000000001:", Limit.of(3))).willReturn(List.of(
+                new CommentRow(1L, "kök", t, null, "ali", 11L, 1L, false, null, "0000000001", 1),
+                new CommentRow(2L, "yanıt", t, null, "ayse", 12L, 1L, false, 1L, "00000000010000000002", 1),
+                new CommentRow(5L, "torun", t, null, "ali", 11L, 1L, false, 2L, "000000000100000000020000000005", 0)
+        ));
+
+        CursorPage<CommentResponse> page = commentService.getThread(1L, 2, null);
+
+        assertThat(page.items()).extracting(CommentResponse::id).containsExactly(1L, 2L);
+        assertThat(page.items()).extracting(CommentResponse::depth).containsExactly(0, 1);
+        assertThat(page.items()).extracting(CommentResponse::replyCount).containsExactly(1L, 1L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorPage.decodeKeyCursor(page.nextCursor())).isEqualTo("00000000010000000002");
+    }
+
+    @Test
+    @DisplayName("getThread -> İmleç verilirse son yolun sonrasından devam etmeli")
+    void getThread_NextPage() {
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 50);
+
+        given(commentRepository.findPathById(1L)).willReturn(Optional.of("0000000001"));
+        given(commentRepository.findSubtreePageAfter("00000000010000000002", "0000000001:", Limit.of(21)))
+                .willReturn(List.of(comment(5L, 2L)));
+
+        CursorPage<CommentResponse> page = commentService.getThread(1L, null, CursorPage.encodeKeyCursor("00000000010000000002"));
+
+        assertThat(page.items()).extracting(CommentResponse::id).containsExactly(5L);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("getThread -> Başka bir thread'e ait imleç BAD_REQUEST")
+    void getThread_ForeignCursor() {
+        given(commentRepository.findPathById(1L)).willReturn(Optional.of("0000000001"));
+
+        Throwable ex = catchThrowable(() ->
+                commentService.getThread(1L, null, CursorPage.encodeKeyCursor("0000000009")));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("getThread -> Yorum yoksa NOT_FOUND")
+    void getThread_NotFound() {
+        given(commentRepository.findPathById(1L)).willReturn(Optional.empty());
+
+        Throwable ex = catchThrowable(() -> commentService.getThread(1L, null, null));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+    }
+
+    private CommentRow comment(Long id, Long parentId) {
+        return comment(id, parentId, 0);
+    }
+
+    private CommentRow comment(Long id, Long parentId, int replyCount) {
+        String path = (parentId != null ? String.format("%010d", parentId) : "") + String.format("%010d", id);
+        return new CommentRow(id, "içerik " + id, LocalDateTime.now(), null, "user", 10L, 1L, false, parentId, path, replyCount);
     }
-}
\ No newline at end of file
+}
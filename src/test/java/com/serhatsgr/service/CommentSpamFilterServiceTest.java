@@ -0,0 +1,152 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.service.Impl.CommentSpamFilterService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class CommentSpamFilterServiceTest {
+
+    private static final String SPAM = "Bedava sinema bileti kazanmak için hemen profilimdeki linke tıklayın!";
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("check -> Kullanıcı aynı yorumu tekrar gönderirse, yazım farkları olsa da reddedilmeli")
+    void check_UserExactDuplicateAfterNormalization() {
+        CommentSpamFilterService filter = create(true);
+        post(filter, "ali", "Harika film!");
+
+        Throwable ex = catchThrowable(() -> filter.check("ali", "  HARİKA   film..."));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.DUPLICATE_RESOURCE);
+        assertThat(filter.stats().userRejectedCount()).isEqualTo(1);
+        // Başka kullanıcının kısa yorumu global kontrole girmez
+        filter.check("veli", "Harika film!");
+    }
+
+    @Test
+    @DisplayName("check -> Uzun yorumun küçük değişiklikli hali yakın kopya sayılmalı, farklı yorum geçmeli")
+    void check_UserNearDuplicate() {
+        CommentSpamFilterService filter = create(true);
+        post(filter, "ali", SPAM);
+
+        assertThat(catchThrowable(() -> filter.check("ali", SPAM.replace("linke", "linkime"))))
+                .isInstanceOf(BaseException.class);
+        assertThat(catchThrowable(() -> filter.check("ali", SPAM.replace("!", "!!!").replace("ı", "i"))))
+                .isInstanceOf(BaseException.class);
+        filter.check("ali", "Oyunculuklar güçlü ama senaryonun ikinci yarısı oldukça zayıftı.");
+    }
+
+    @Test
+    @DisplayName("check -> Kullanıcı penceresi dolunca aynı yorum tekrar kabul edilmeli")
+    void check_UserWindowExpires() {
+        CommentSpamFilterService filter = create(true);
+        post(filter, "ali", "Harika film!");
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        filter.check("ali", "Harika film!");
+    }
+
+    @Test
+    @DisplayName("check -> Aynı spam farklı hesaplardan eşik sayısına ulaşınca global olarak reddedilmeli")
+    void check_GlobalThreshold() {
+        CommentSpamFilterService filter = create(true);
+        post(filter, "bot1", SPAM);
+        post(filter, "bot2", SPAM.toUpperCase());
+        post(filter, "bot3", SPAM.replace("!", "."));
+
+        Throwable ex = catchThrowable(() -> filter.check("bot4", SPAM));
+
+        assertThat(ex).isInstanceOf(BaseException.class);
+        assertThat(filter.stats().globalRejectedCount()).isEqualTo(1);
+        assertThat(filter.stats().globalWindowSize()).isEqualTo(3);
+
+        // Global pencere süresi dolunca içerik yeniden kabul edilir
+        clock.addAndGet(TimeUnit.HOURS.toNanos(2));
+        filter.check("bot4", SPAM);
+        assertThat(filter.stats().globalWindowSize()).isZero();
+    }
+
+    @Test
+    @DisplayName("record -> Global halka kapasiteyi aşınca en eski kayıtlar düşmeli")
+    void record_GlobalWindowBounded() {
+        CommentSpamFilterService filter = create(true);
+        String[] contents = {
+                "Görüntü yönetmenliği ve renk paleti muazzamdı.",
+                "Müzikler sahnelerin önüne geçmiş, fazla yüksek.",
+                "Kitabını okuyanlar için hayal kırıklığı olabilir.",
+                "Final sahnesindeki sürpriz tamamen tahmin edilebilirdi.",
+                "Yan karakterler başrolden çok daha ilgi çekiciydi.",
+                "Çocuklarla izlemek için uygun, şiddet içermiyor.",
+                "Üç saatlik süre gereksiz uzun, kurgu zayıf kalmış.",
+                "Efektler eski görünse de atmosfer hala etkileyici.",
+                "Dublaj yerine altyazılı izlemenizi tavsiye ederim.",
+                "Serinin en iyi filmi kesinlikle ikincisiydi bence."
+        };
+        for (int i = 0; i < contents.length; i++) {
+            post(filter, "kullanici" + i, contents[i]);
+        }
+
+        assertThat(filter.stats().globalWindowSize()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("record -> Transaction içinde kaydedilen parmak izi commit'ten önce kontrolü etkilememeli")
+    void record_AppliedAfterCommit() {
+        CommentSpamFilterService filter = create(true);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            filter.record("ali", filter.check("ali", "Harika film!"));
+            filter.check("ali", "Harika film!");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(catchThrowable(() -> filter.check("ali", "Harika film!"))).isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("check -> Filtre kapalıysa kopyalar reddedilmemeli")
+    void check_Disabled() {
+        CommentSpamFilterService filter = create(false);
+        post(filter, "ali", "Harika film!");
+
+        filter.check("ali", "Harika film!");
+
+        assertThat(filter.stats().checkedCount()).isZero();
+    }
+
+    private static void post(CommentSpamFilterService filter, String username, String content) {
+        filter.record(username, filter.check(username, content));
+    }
+
+    // Kullanıcı penceresi 10 dk / 20 yorum, global pencere 1 saat / 5 kayıt / eşik 3, yakın kopya için en az 20 karakter
+    private CommentSpamFilterService create(boolean enabled) {
+        return new CommentSpamFilterService(enabled,
+                Duration.ofMinutes(10), 20, 1000,
+                Duration.ofHours(1), 5, 3, 20, 0.6) {
+            @Override
+            protected long nanoTime() {
+                return clock.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,297 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.CommentEvent;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class CommentStreamServiceTest {
+
+    @Mock private FilmRepository filmRepository;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private CountDownLatch gate;
+    private CommentStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = create(2, 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("publish -> Olaylar sadece ilgili filmin abonelerine, sırayla gitmeli")
+    void publish_DeliversInOrderToFilmSubscribers() {
+        given(filmRepository.existsById(1L)).willReturn(true);
+        given(filmRepository.existsById(2L)).willReturn(true);
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        service.publish(event(1L, 10L));
+        service.publish(event(1L, 11L));
+
+        RecordingEmitter film1 = emitters.get(0);
+        await(() -> film1.events.size() == 2);
+        assertThat(film1.events).extracting(CommentEvent::commentId).containsExactly(10L, 11L);
+        assertThat(emitters.get(1).events).isEmpty();
+        assertThat(service.stats().deliveredCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("publish -> Transaction içinde yayınlanan olay commit'ten önce gönderilmemeli")
+    void publish_DeferredUntilCommit() {
+        given(filmRepository.existsById(1L)).willReturn(true);
+        service.subscribe(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.publish(event(1L, 10L));
+            assertThat(service.stats().publishedCount()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        await(() -> emitters.get(0).events.size() == 1);
+    }
+
+    @Test
+    @DisplayName("publish -> Kuyruğu taşan yavaş abone resync ile kapatılmalı, yayın ve diğer aboneler beklememeli")
+    void publish_SlowSubscriberOverflows() {
+        given(filmRepository.existsById(1L)).willReturn(true);
+        gate = new CountDownLatch(1);
+        service.subscribe(1L); // gönderimi kapıda bekler
+        gate = null;
+        service.subscribe(1L);
+
+        RecordingEmitter fast = emitters.get(1);
+        for (long id = 1; id <= 5; id++) {
+            service.publish(event(1L, id));
+            int delivered = (int) id;
+            await(() -> fast.events.size() == delivered);
+        }
+
+        RecordingEmitter slow = emitters.get(0);
+        slow.gate.countDown();
+        await(slow::isCompleted);
+        assertThat(slow.names).contains("RESYNC");
+        assertThat(slow.events.size()).isLessThan(5);
+        assertThat(service.stats().overflowCount()).isEqualTo(1);
+        assertThat(service.stats().subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("resync -> Filmin aboneleri commit'ten sonra resync ile kapatılmalı, diğer filmler etkilenmemeli")
+    void resync_ClosesFilmSubscribersAfterCommit() {
+        given(filmRepository.existsById(1L)).willReturn(true);
+        given(filmRepository.existsById(2L)).willReturn(true);
+        service.subscribe(1L);
+        service.subscribe(2L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.resync(List.of(1L));
+            assertThat(emitters.get(0).isCompleted()).isFalse();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        await(() -> emitters.get(0).isCompleted());
+        assertThat(emitters.get(0).names).containsExactly("RESYNC");
+        assertThat(emitters.get(1).isCompleted()).isFalse();
+        assertThat(service.stats().overflowCount()).isZero();
+        assertThat(service.stats().subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("evictStalledSenders -> Gönderimi takılan aboneler düşürülmeli, dağıtıcı diğer abonelere devam etmeli")
+    void evictStalledSenders_KeepsDispatcherRunning() {
+        given(filmRepository.existsById(1L)).willReturn(true);
+        gate = new CountDownLatch(1);
+        // İki dağıtıcı thread'inin ikisi de soketi okumayan istemcide takılır
+        service.subscribe(1L);
+        service.subscribe(1L);
+        gate = null;
+        service.publish(event(1L, 1L));
+        RecordingEmitter stuck1 = emitters.get(0);
+        RecordingEmitter stuck2 = emitters.get(1);
+        await(() -> stuck1.sending && stuck2.sending);
+
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(60));
+        service.evictStalledSenders();
+        service.subscribe(1L);
+        service.publish(event(1L, 2L));
+
+        RecordingEmitter fast = emitters.get(2);
+        await(() -> fast.events.size() == 1);
+        assertThat(service.stats().stalledCount()).isEqualTo(2);
+        assertThat(service.stats().subscriberCount()).isEqualTo(1);
+
+        assertThat(service.stats().dispatchThreadCount()).isEqualTo(4);
+
+        stuck1.gate.countDown();
+        await(() -> stuck1.isCompleted() && stuck2.isCompleted());
+        assertThat(stuck1.events).extracting(CommentEvent::commentId).containsExactly(1L);
+        // Serbest kalan thread'ler için eklenenler geri alınır
+        await(() -> service.stats().dispatchThreadCount() == 2);
+    }
+
+    @Test
+    @DisplayName("evictStalledSenders -> Havuz sınırdayken takılan aboneler havuz büyütülmeden düşürülmeli")
+    void evictStalledSenders_DoesNotGrowBeyondCap() throws Exception {
+        service.shutdown();
+        service = create(2, 100, 3);
+        given(filmRepository.existsById(1L)).willReturn(true);
+        gate = new CountDownLatch(1);
+        service.subscribe(1L);
+        service.subscribe(1L);
+        gate = null;
+        service.publish(event(1L, 1L));
+        RecordingEmitter stuck1 = emitters.get(0);
+        RecordingEmitter stuck2 = emitters.get(1);
+        await(() -> stuck1.sending && stuck2.sending);
+
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(60));
+        service.evictStalledSenders();
+
+        assertThat(service.stats().stalledCount()).isEqualTo(2);
+        assertThat(service.stats().subscriberCount()).isZero();
+        assertThat(service.stats().dispatchThreadCount()).isEqualTo(3);
+
+        stuck1.gate.countDown();
+        await(() -> stuck1.isCompleted() && stuck2.isCompleted());
+        await(() -> service.stats().dispatchThreadCount() == 2);
+    }
+
+    @Test
+    @DisplayName("subscribe -> Film yoksa NOT_FOUND")
+    void subscribe_FilmNotFound() {
+        given(filmRepository.existsById(9L)).willReturn(false);
+
+        Throwable ex = catchThrowable(() -> service.subscribe(9L));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("subscribe -> Abone sınırı aşılınca SERVICE_UNAVAILABLE")
+    void subscribe_LimitReached() {
+        service = create(2, 1);
+        given(filmRepository.existsById(1L)).willReturn(true);
+        service.subscribe(1L);
+
+        Throwable ex = catchThrowable(() -> service.subscribe(1L));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.SERVICE_UNAVAILABLE);
+        assertThat(service.stats().subscriberCount()).isEqualTo(1);
+    }
+
+    private CommentStreamService create(int queueCapacity, int maxSubscribers) {
+        return create(queueCapacity, maxSubscribers, 4);
+    }
+
+    private CommentStreamService create(int queueCapacity, int maxSubscribers, int maxDispatchThreads) {
+        return new CommentStreamService(filmRepository, Duration.ofMinutes(1), queueCapacity, maxSubscribers, 2,
+                maxDispatchThreads, Duration.ofMillis(50)) {
+            @Override
+            protected SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(gate);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    private static CommentEvent event(Long filmId, Long commentId) {
+        return new CommentEvent(CommentEvent.Type.CREATED, filmId, commentId, null);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("koşul zaman aşımına uğradı").isLessThan(deadline);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    // Gönderilen olayları kaydeder; kapı verilirse ilk gönderimde açılana kadar bekler (yavaş istemci).
+    // Bloklayan soket yazması gibi kesmeye tepki vermez
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final CountDownLatch gate;
+        private final List<CommentEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private volatile boolean completed;
+        private volatile boolean sending;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (gate != null) {
+                sending = true;
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (gate.getCount() > 0 && System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+                sending = false;
+            }
+            builder.build().forEach(part -> {
+                if (part.getData() instanceof CommentEvent event) {
+                    events.add(event);
+                } else if (part.getData() instanceof String text && text.contains("event:")) {
+                    names.add(text.substring(text.indexOf("event:") + 6).lines().findFirst().orElse(""));
+                }
+            });
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        boolean isCompleted() {
+            return completed;
+        }
+    }
+}
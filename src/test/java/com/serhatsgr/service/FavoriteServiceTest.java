@@ -5,11 +5,13 @@ import com.serhatsgr.entity.Favorite;
 import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.User;
 import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.FavoriteRepository;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
 import com.serhatsgr.service.Impl.FavoriteService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,12 +20,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -39,20 +40,14 @@ class FavoriteServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private FilmMapper filmMapper;
 
+    @Mock private CurrentUserAccessor currentUserAccessor;
+
     @InjectMocks private FavoriteService favoriteService;
 
     private User currentUser;
 
     @BeforeEach
     void setUp() {
-        // Security Context Mocking
-        Authentication auth = mock(Authentication.class);
-        SecurityContext securityContext = mock(SecurityContext.class);
-
-        given(securityContext.getAuthentication()).willReturn(auth);
-        given(auth.getName()).willReturn("testUser");
-        SecurityContextHolder.setContext(securityContext);
-
         currentUser = new User();
         currentUser.setId(1L);
         currentUser.setUsername("testUser");
@@ -65,9 +60,11 @@ class FavoriteServiceTest {
         Long filmId = 10L;
         Film film = new Film(); film.setId(filmId);
 
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(favoriteRepository.existsByUserIdAndFilmId(currentUser.getId(), filmId)).willReturn(false);
-        given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
+        given(filmRepository.existsById(filmId)).willReturn(true);
+        given(userRepository.getReferenceById(currentUser.getId())).willReturn(currentUser);
+        given(filmRepository.getReferenceById(filmId)).willReturn(film);
 
         // When
         favoriteService.addFavorite(filmId);
@@ -80,7 +77,7 @@ class FavoriteServiceTest {
     @DisplayName("addFavorite -> Zaten ekliyse işlem yapma")
     void addFavorite_AlreadyExists() {
         // Given
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(favoriteRepository.existsByUserIdAndFilmId(currentUser.getId(), 10L)).willReturn(true);
 
         // When
@@ -97,7 +94,7 @@ class FavoriteServiceTest {
         Long filmId = 10L;
         Favorite fav = new Favorite();
 
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(favoriteRepository.findByUserIdAndFilmId(currentUser.getId(), filmId)).willReturn(Optional.of(fav));
 
         // When
@@ -111,7 +108,7 @@ class FavoriteServiceTest {
     @DisplayName("removeFavorite -> Favori bulunamazsa hata")
     void removeFavorite_NotFound() {
         // Given
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(favoriteRepository.findByUserIdAndFilmId(currentUser.getId(), 10L)).willReturn(Optional.empty());
 
         // When
@@ -128,13 +125,13 @@ class FavoriteServiceTest {
     @DisplayName("getMyFavorites -> Liste dönmeli")
     void getMyFavorites_Success() {
         // Given
-        Favorite fav = new Favorite();
         Film film = new Film();
-        fav.setFilm(film);
+        film.setId(7L);
 
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(currentUser));
-        given(favoriteRepository.findAllByUserId(currentUser.getId())).willReturn(List.of(fav));
-        given(filmMapper.toDto(film)).willReturn(new DtoFilm());
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(favoriteRepository.findFilmsByUserId(currentUser.getId())).willReturn(List.of(film));
+        given(filmRepository.findCategoryNameMap(Set.of(7L))).willReturn(Map.of(7L, List.of("Dram")));
+        given(filmMapper.toDtoList(List.of(film), Map.of(7L, List.of("Dram")))).willReturn(List.of(new DtoFilm()));
 
         // When
         List<DtoFilm> result = favoriteService.getMyFavorites();
@@ -146,7 +143,7 @@ class FavoriteServiceTest {
     @Test
     @DisplayName("addFavorite -> Kullanıcı bulunamazsa USER_NOT_FOUND hatası")
     void addFavorite_UserNotFound() {
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable thrown = catchThrowable(() -> favoriteService.addFavorite(10L));
 
@@ -159,7 +156,7 @@ class FavoriteServiceTest {
     @Test
     @DisplayName("removeFavorite -> Kullanıcı bulunamazsa USER_NOT_FOUND hatası")
     void removeFavorite_UserNotFound() {
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable thrown = catchThrowable(() -> favoriteService.removeFavorite(10L));
 
@@ -173,7 +170,7 @@ class FavoriteServiceTest {
     @Test
     @DisplayName("getMyFavorites -> Kullanıcı bulunamazsa USER_NOT_FOUND hatası")
     void getMyFavorites_UserNotFound() {
-        given(userRepository.findByUsername("testUser")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable thrown = catchThrowable(favoriteService::getMyFavorites);
 
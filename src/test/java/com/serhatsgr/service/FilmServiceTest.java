@@ -1,22 +1,33 @@
 package com.serhatsgr.service;
 
+import com.serhatsgr.dto.CursorPage;
 import com.serhatsgr.dto.DtoFilm;
 import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.dto.DtoFilmSummary;
 import com.serhatsgr.entity.Category;
 import com.serhatsgr.entity.Film;
+import com.serhatsgr.entity.ListingType;
 import com.serhatsgr.exception.BaseException;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.CategoryRepository;
 import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.CatalogVersionService;
+import com.serhatsgr.service.Impl.FilmCacheService;
 import com.serhatsgr.service.Impl.FilmServiceImpl;
+import com.serhatsgr.service.Impl.FilmTitleIndexService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +42,10 @@ class FilmServiceTest {
     @Mock private FilmRepository filmRepository;
     @Mock private CategoryRepository categoryRepository;
     @Mock private FilmMapper filmMapper;
+    @Mock private FilmTitleIndexService filmTitleIndexService;
+    @Mock private CatalogVersionService catalogVersionService;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Spy private FilmCacheService filmCacheService = new FilmCacheService(100, Duration.ofMinutes(5));
 
     @InjectMocks private FilmServiceImpl filmService;
 
@@ -75,19 +90,110 @@ class FilmServiceTest {
         DtoFilm res = filmService.addFilm(req);
 
         assertThat(res).isNotNull();
+        verify(filmTitleIndexService).put(argThat(summary ->
+                summary.getId().equals(10L) && summary.getTitle().equals("Test Movie")));
     }
 
     @Test
     @DisplayName("getAllFilms -> Liste döner")
     void getAllFilms_Success() {
         given(filmRepository.findAll()).willReturn(List.of(new Film()));
-        given(filmMapper.toDtoList(any())).willReturn(List.of(new DtoFilm()));
+        given(filmMapper.toDtoList(anyList(), anyMap())).willReturn(List.of(new DtoFilm()));
 
         List<DtoFilm> res = filmService.getAllFilms(null);
 
         assertThat(res).hasSize(1);
     }
 
+    @Test
+    @DisplayName("getFilmPage -> size+1 kayıt gelirse sonraki imleç üretilmeli")
+    void getFilmPage_HasNext() {
+        ReflectionTestUtils.setField(filmService, "defaultPageSize", 2);
+        ReflectionTestUtils.setField(filmService, "maxPageSize", 100);
+
+        DtoFilm d1 = new DtoFilm(); d1.setId(30L);
+        DtoFilm d2 = new DtoFilm(); d2.setId(20L);
+        DtoFilm d3 = new DtoFilm(); d3.setId(10L);
+
+        given(filmRepository.findFirstPage(Limit.of(3))).willReturn(List.of(new Film(), new Film(), new Film()));
+        given(filmMapper.toDtoList(anyList(), anyMap())).willReturn(List.of(d1, d2, d3));
+
+        CursorPage<DtoFilm> page = filmService.getFilmPage(null, null, null);
+
+        assertThat(page.items()).extracting(DtoFilm::getId).containsExactly(30L, 20L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(CursorPage.decodeCursor(page.nextCursor())).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("getFilmPage -> İmleç ve type ile devam sayfası, boyut üst sınırla kırpılmalı")
+    void getFilmPage_AfterCursor_ByType() {
+        ReflectionTestUtils.setField(filmService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(filmService, "maxPageSize", 50);
+
+        DtoFilm d1 = new DtoFilm(); d1.setId(5L);
+        given(filmRepository.findPageByListingTypeAfter(ListingType.SERIES, 20L, Limit.of(51)))
+                .willReturn(List.of(new Film()));
+        given(filmMapper.toDtoList(anyList(), anyMap())).willReturn(List.of(d1));
+
+        CursorPage<DtoFilm> page = filmService.getFilmPage(ListingType.SERIES, 500, CursorPage.encodeCursor(20L));
+
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("getFilmSummaryPage -> Projeksiyon sorgusu kullanılmalı, mapper çağrılmamalı")
+    void getFilmSummaryPage_UsesProjection() {
+        ReflectionTestUtils.setField(filmService, "defaultPageSize", 1);
+        ReflectionTestUtils.setField(filmService, "maxPageSize", 100);
+
+        given(filmRepository.findFirstSummaryPageByListingType(ListingType.VISION, Limit.of(2)))
+                .willReturn(List.of(new DtoFilmSummary(9L, "A", "p1", 4.0), new DtoFilmSummary(8L, "B", "p2", 3.0)));
+
+        CursorPage<DtoFilmSummary> page = filmService.getFilmSummaryPage(ListingType.VISION, null, null);
+
+        assertThat(page.items()).extracting(DtoFilmSummary::getTitle).containsExactly("A");
+        assertThat(CursorPage.decodeCursor(page.nextCursor())).isEqualTo(9L);
+        verifyNoInteractions(filmMapper);
+    }
+
+    @Test
+    @DisplayName("getFilmPage -> Bozuk imleç BAD_REQUEST hatası")
+    void getFilmPage_InvalidCursor() {
+        Throwable thrown = catchThrowable(() -> filmService.getFilmPage(null, 10, "bozuk-imlec"));
+
+        assertThat(thrown)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("searchFilms -> Önek tsquery'si ve sonuç limiti ile sıralı arama yapılmalı")
+    void searchFilms_RankedFullText() {
+        ReflectionTestUtils.setField(filmService, "searchMaxResults", 15);
+        Film film = new Film(); film.setId(1L);
+
+        given(filmRepository.searchRanked("Yıldız:* & sava:*", "Yıldız sava!", 15)).willReturn(List.of(film));
+        given(filmMapper.toDtoList(anyList(), anyMap())).willReturn(List.of(new DtoFilm()));
+
+        List<DtoFilm> result = filmService.searchFilms("  Yıldız sava!  ");
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("searchFilms -> 2 karakterden kısa veya sadece operatör içeren sorguda DB'ye gidilmemeli")
+    void searchFilms_TooShortOrOperatorsOnly() {
+        assertThat(filmService.searchFilms("a")).isEmpty();
+        assertThat(filmService.searchFilms("&|!")).isEmpty();
+        assertThat(filmService.searchFilms(null)).isEmpty();
+
+        verifyNoInteractions(filmRepository);
+    }
+
     @Test
     @DisplayName("getFilmById -> Film bulunamazsa NOT_FOUND hatası")
     void getFilmById_NotFound() {
@@ -115,6 +221,42 @@ class FilmServiceTest {
         assertThat(result).isNotNull();
     }
 
+    @Test
+    @DisplayName("getFilmById -> İkinci çağrı cache'ten dönmeli, güncelleme sonrası tekrar yüklenmeli")
+    void getFilmById_CachedUntilEvicted() {
+        Film film = new Film();
+        film.setId(1L);
+        given(filmRepository.findById(1L)).willReturn(Optional.of(film));
+        given(filmMapper.toDto(film)).willReturn(new DtoFilm());
+
+        DtoFilm first = filmService.getFilmById(1L);
+        DtoFilm second = filmService.getFilmById(1L);
+
+        assertThat(second).isSameAs(first);
+        verify(filmRepository, times(1)).findById(1L);
+        // Cache isabeti transaction açmamalı
+        verify(transactionManager, times(1)).getTransaction(any());
+        assertThat(filmCacheService.stats().hitCount()).isEqualTo(1);
+        assertThat(filmCacheService.stats().missCount()).isEqualTo(1);
+
+        filmCacheService.evict(1L);
+        filmService.getFilmById(1L);
+
+        verify(filmRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("getFilmById -> Bulunamayan film cache'lenmemeli")
+    void getFilmById_NotFoundIsNotCached() {
+        given(filmRepository.findById(2L)).willReturn(Optional.empty());
+
+        catchThrowable(() -> filmService.getFilmById(2L));
+        catchThrowable(() -> filmService.getFilmById(2L));
+
+        verify(filmRepository, times(2)).findById(2L);
+        assertThat(filmCacheService.stats().size()).isZero();
+    }
+
     // --- DÜZELTİLEN TESTLER ---
 
     @Test
@@ -139,5 +281,22 @@ class FilmServiceTest {
         given(filmRepository.findById(5L)).willReturn(Optional.of(film));
         filmService.deleteFilmById(5L);
         verify(filmRepository).delete(film);
+        verify(catalogVersionService).bump();
+        verify(filmTitleIndexService).remove(5L);
+        verify(filmCacheService).evict(5L);
+    }
+
+    @Test
+    @DisplayName("autocomplete -> Limit üst sınıra çekilmeli, sonuç indeksten dönmeli")
+    void autocomplete_ClampsLimit() {
+        ReflectionTestUtils.setField(filmService, "autocompleteDefaultLimit", 10);
+        ReflectionTestUtils.setField(filmService, "autocompleteMaxLimit", 20);
+        List<DtoFilmSummary> hits = List.of(new DtoFilmSummary(1L, "Inception", "p"));
+        given(filmTitleIndexService.search("inc", 20)).willReturn(hits);
+
+        List<DtoFilmSummary> res = filmService.autocomplete("inc", 500);
+
+        assertThat(res).isSameAs(hits);
+        verifyNoInteractions(filmRepository);
     }
 }
\ No newline at end of file
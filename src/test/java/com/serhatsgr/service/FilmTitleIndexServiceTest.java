@@ -0,0 +1,93 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.DtoFilmSummary;
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.FilmTitleIndexService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class FilmTitleIndexServiceTest {
+
+    @Mock private FilmRepository filmRepository;
+
+    @InjectMocks private FilmTitleIndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        given(filmRepository.findAllTitleSummaries()).willReturn(List.of(
+                new DtoFilmSummary(1L, "İstanbul Hatırası", "p1"),
+                new DtoFilmSummary(2L, "IRON MAN", "p2"),
+                new DtoFilmSummary(3L, "Şahsiyet", "p3"),
+                new DtoFilmSummary(4L, "Yıldız Savaşları: Yeni Umut", "p4")
+        ));
+        indexService.rebuild();
+    }
+
+    @Test
+    @DisplayName("search -> Türkçe büyük/küçük harf ve aksan farkı gözetmeden eşleşmeli")
+    void search_TurkishCaseFolding() {
+        assertThat(ids("istanbul")).containsExactly(1L);
+        assertThat(ids("İST")).containsExactly(1L);
+        assertThat(ids("iron")).containsExactly(2L);
+        assertThat(ids("ıron")).containsExactly(2L);
+        assertThat(ids("sahs")).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("search -> Başlığın ortasındaki kelime önekleriyle de eşleşmeli")
+    void search_WordPrefixes() {
+        assertThat(ids("savas")).containsExactly(4L);
+        assertThat(ids("yeni um")).containsExactly(4L);
+        assertThat(ids("hatira")).containsExactly(1L);
+        assertThat(ids("man")).containsExactly(2L);
+        assertThat(ids("umutsuz")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search -> Sorgu başlıklarla aynı kelime ayrımına göre normalize edilmeli")
+    void search_TokenizesPrefixLikeTitles() {
+        assertThat(ids("iron-man")).containsExactly(2L);
+        assertThat(ids("  Iron   MAN ")).containsExactly(2L);
+        assertThat(ids("savaşları: yeni")).containsExactly(4L);
+        assertThat(ids("--")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("put/remove -> Güncelleme eski anahtarları temizlemeli, silme filmi indeksten çıkarmalı")
+    void putAndRemove_KeepIndexConsistent() {
+        indexService.put(new DtoFilmSummary(2L, "Demir Adam", "p2"));
+
+        assertThat(ids("iron")).isEmpty();
+        assertThat(ids("demir")).containsExactly(2L);
+
+        indexService.remove(2L);
+
+        assertThat(ids("demir")).isEmpty();
+        assertThat(ids("adam")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search -> Aynı film birden fazla kez dönmemeli ve limit uygulanmalı")
+    void search_DistinctAndLimited() {
+        indexService.put(new DtoFilmSummary(5L, "Yıldız Yıldız", "p5"));
+
+        assertThat(ids("yildiz")).containsExactlyInAnyOrder(4L, 5L);
+        assertThat(indexService.search("y", 1)).hasSize(1);
+        assertThat(indexService.search("  ", 10)).isEmpty();
+    }
+
+    private List<Long> ids(String prefix) {
+        return indexService.search(prefix, 10).stream().map(DtoFilmSummary::getId).toList();
+    }
+}
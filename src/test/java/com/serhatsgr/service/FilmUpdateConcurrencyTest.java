@@ -0,0 +1,93 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.DtoFilmIU;
+import com.serhatsgr.entity.ListingType;
+import com.serhatsgr.mapper.FilmMapper;
+import com.serhatsgr.repository.FilmRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Film düzenlemesinin (yükle -> değiştir -> kaydet) arada commit edilen oy sayaçlarını eski değerlerle
+ * ezmediğini gerçek PostgreSQL üzerinde doğrular.
+ */
+@SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "rating.aggregation.incremental=true"
+})
+class FilmUpdateConcurrencyTest {
+
+    @Autowired private IFilmService filmService;
+    @Autowired private FilmRepository filmRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean private FilmMapper filmMapper;
+
+    private long filmId;
+    private long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ratings");
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM films");
+        jdbcTemplate.update("DELETE FROM categories");
+
+        categoryId = jdbcTemplate.queryForObject(
+                "INSERT INTO categories (name) VALUES ('Dram') RETURNING id", Long.class);
+        filmId = jdbcTemplate.queryForObject(
+                "INSERT INTO films (title, description, release_date, poster_url, trailer_url, rating_sum, rating_count, average_rating) " +
+                        "VALUES ('Gala', 'Açıklama', ?, 'http://p', 'http://t', 8, 2, 4.0) RETURNING id",
+                Long.class, LocalDate.now());
+        jdbcTemplate.update("INSERT INTO film_category (film_id, category_id) VALUES (?, ?)", filmId, categoryId);
+    }
+
+    @Test
+    @DisplayName("updateFilm -> Film yüklendikten sonra commit edilen oy, kayıt sırasında ezilmemeli")
+    void updateFilm_KeepsRatingDeltaCommittedAfterLoad() {
+        // Film yüklenip değiştirilmeden hemen önce başka bir transaction'da oy sayaçları artar
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                    status -> filmRepository.applyRatingDelta(filmId, 5, 1))).get(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(filmMapper).updateEntity(any(), any(), any());
+
+        DtoFilmIU update = new DtoFilmIU();
+        update.setTitle("Gala (Yönetmen Kurgusu)");
+        update.setDescription("Yeni açıklama");
+        update.setReleaseDate(LocalDate.now());
+        update.setPosterUrl("http://p2");
+        update.setTrailerUrl("http://t2");
+        update.setListingType(ListingType.VISION);
+        update.setCategoryIds(List.of(categoryId));
+
+        filmService.updateFilm(update, filmId);
+
+        Map<String, Object> film = jdbcTemplate.queryForMap(
+                "SELECT title, rating_sum, rating_count, average_rating FROM films WHERE id = ?", filmId);
+        assertThat(film.get("title")).isEqualTo("Gala (Yönetmen Kurgusu)");
+        assertThat(((Number) film.get("rating_sum")).longValue()).isEqualTo(13);
+        assertThat(((Number) film.get("rating_count")).intValue()).isEqualTo(3);
+        assertThat(((Number) film.get("average_rating")).doubleValue()).isEqualTo(4.3);
+    }
+}
@@ -4,9 +4,14 @@ import com.serhatsgr.entity.RefreshToken;
 import com.serhatsgr.entity.Role;
 import com.serhatsgr.entity.User;
 import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.repository.RefreshTokenRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.AuthenticatedUser;
+import com.serhatsgr.service.Impl.BannedUserService;
 import com.serhatsgr.service.Impl.JwtService;
+import com.serhatsgr.service.Impl.TokenVersionService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -15,7 +20,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -23,6 +27,7 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.security.Key;
 import java.time.LocalDateTime;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -38,16 +43,21 @@ class JwtServiceTest {
 
     @Mock private RefreshTokenRepository refreshTokenRepository;
     @Mock private UserRepository userRepository;
+    @Mock private BannedUserService bannedUserService;
+    @Mock private TokenVersionService tokenVersionService;
 
-    @InjectMocks private JwtService jwtService;
+    private JwtService jwtService;
 
     // Test için sabit bir secret key (Base64)
     private final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    // Rotasyonla emekliye ayrılmış, sadece doğrulamada kullanılan anahtar
+    private final String OLD_SECRET = "5A7134743777217A25432A462D4A614E645267556B58703272357538782F413F";
 
     @BeforeEach
     void setup() {
+        jwtService = new JwtService(refreshTokenRepository, userRepository, bannedUserService, tokenVersionService, 100,
+                SECRET, "2026-10", "2026-04:" + OLD_SECRET);
         // @Value ile enjekte edilen değerleri manuel set ediyoruz
-        ReflectionTestUtils.setField(jwtService, "SECRET", SECRET);
         ReflectionTestUtils.setField(jwtService, "ACCESS_TOKEN_EXPIRY", 1000L); // 1000 saniye
         ReflectionTestUtils.setField(jwtService, "REFRESH_TOKEN_EXPIRY", 60L);
     }
@@ -130,6 +140,140 @@ class JwtServiceTest {
         assertThat(ex).isInstanceOf(BaseException.class);
     }
 
+    @Test
+    @DisplayName("extractAllClaim -> Aynı token ikinci kez çözülmemeli, değiştirilmiş token reddedilmeli")
+    void extractAllClaim_VerifiesOnce() {
+        User user = new User();
+        user.setUsername("testUser");
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+        String token = jwtService.generateAccessToken("testUser");
+
+        Claims first = jwtService.extractAllClaim(token);
+
+        assertThat(jwtService.extractAllClaim(token)).isSameAs(first);
+        assertThat(jwtService.validateToken(token, user)).isTrue();
+        assertThat(jwtService.validateToken(first, user)).isTrue();
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThat(catchThrowable(() -> jwtService.extractAllClaim(tampered))).isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("extractAllClaim -> Cache'teki claim'ler paylaşıldığı için değiştirilememeli")
+    void extractAllClaim_ReturnsImmutableClaims() {
+        User user = new User();
+        user.setUsername("testUser");
+        user.setAuthorities(Set.of(Role.ROLE_USER));
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+        String token = jwtService.generateAccessToken("testUser");
+
+        Claims claims = jwtService.extractAllClaim(token);
+
+        assertThat(catchThrowable(() -> claims.setSubject("admin"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> claims.put("authorities", List.of("ROLE_ADMIN")))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(catchThrowable(() -> claims.get("authorities", List.class).add("ROLE_ADMIN"))).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(jwtService.extractAllClaim(token).getSubject()).isEqualTo("testUser");
+        assertThat(jwtService.extractAllClaim(token).get("authorities", List.class)).containsExactly("ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Anahtar rotasyonu -> Yeni token güncel kid taşımalı, eski anahtarla imzalı token kabul edilmeli")
+    void keyRotation_AcceptsPreviousKeys() {
+        User user = new User(); user.setUsername("testUser");
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+
+        String current = jwtService.generateAccessToken("testUser");
+        String old = signed(OLD_SECRET, "2026-04");
+        String unknownKid = signed(OLD_SECRET, "2025-01");
+        String withoutKid = signed(SECRET, null);
+
+        assertThat(Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build()
+                .parseClaimsJws(current).getHeader().getKeyId()).isEqualTo("2026-10");
+        assertThat(jwtService.extractUsername(old)).isEqualTo("test");
+        assertThat(jwtService.extractUsername(withoutKid)).isEqualTo("test");
+        assertThat(catchThrowable(() -> jwtService.extractUsername(unknownKid))).isInstanceOf(BaseException.class);
+        // Eski kid ile güncel anahtar kabul edilmemeli
+        assertThat(catchThrowable(() -> jwtService.extractUsername(signed(SECRET, "2026-04"))))
+                .isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("Anahtar rotasyonu -> kid taşımayan token eski anahtarla imzalıysa da kabul edilmeli")
+    void keyRotation_KidlessTokenTriesPreviousKeys() {
+        String withoutKid = signed(OLD_SECRET, null);
+
+        assertThat(jwtService.extractUsername(withoutKid)).isEqualTo("test");
+        assertThat(catchThrowable(() -> jwtService.extractUsername(signed(OLD_SECRET.replace('5', '6'), null))))
+                .isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("Anahtar rotasyonu -> Tekrar eden kid açılışta reddedilmeli")
+    void keyRotation_DuplicateKidRejected() {
+        Throwable sameAsCurrent = catchThrowable(() -> new JwtService(refreshTokenRepository, userRepository,
+                bannedUserService, tokenVersionService, 100, SECRET, "2026-10", "2026-10:" + OLD_SECRET));
+        Throwable repeated = catchThrowable(() -> new JwtService(refreshTokenRepository, userRepository,
+                bannedUserService, tokenVersionService, 100, SECRET, "2026-10", "2026-04:" + OLD_SECRET + ",2026-04:" + SECRET));
+
+        assertThat(sameAsCurrent).isInstanceOf(BaseException.class);
+        assertThat(((BaseException) sameAsCurrent).getErrorMessage().getMessageType()).isEqualTo(MessageType.INTERNAL_ERROR);
+        assertThat(repeated).isInstanceOf(BaseException.class);
+    }
+
+    @Test
+    @DisplayName("toAuthenticatedUser -> Principal veritabanına gitmeden token claim'lerinden kurulmalı")
+    void toAuthenticatedUser_FromClaims() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("testUser");
+        user.setTokenVersion(2);
+        user.setAuthorities(Set.of(Role.ROLE_ADMIN, Role.ROLE_USER));
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+
+        Claims claims = jwtService.extractAllClaim(jwtService.generateAccessToken("testUser"));
+        AuthenticatedUser principal = jwtService.toAuthenticatedUser(claims);
+
+        assertThat(principal.id()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("testUser");
+        assertThat(principal.getAuthorities()).containsExactlyInAnyOrder(Role.ROLE_ADMIN, Role.ROLE_USER);
+        assertThat(claims.get("ver", Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("toAuthenticatedUser -> uid/ver içermeyen eski tokenlarda null dönmeli")
+    void toAuthenticatedUser_LegacyToken() {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        String legacyToken = Jwts.builder()
+                .setSubject("test")
+                .setExpiration(new Date(System.currentTimeMillis() + 10000))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+
+        Claims claims = jwtService.extractAllClaim(legacyToken);
+
+        assertThat(jwtService.toAuthenticatedUser(claims)).isNull();
+        assertThat(jwtService.isRevoked(claims)).isFalse();
+    }
+
+    @Test
+    @DisplayName("isRevoked -> Banlı kullanıcı veya eskimiş token sürümü reddedilmeli")
+    void isRevoked_BannedOrStaleVersion() {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("testUser");
+        user.setTokenVersion(1);
+        given(userRepository.findByUsername("testUser")).willReturn(Optional.of(user));
+        Claims claims = jwtService.extractAllClaim(jwtService.generateAccessToken("testUser"));
+
+        given(bannedUserService.isBanned(7L)).willReturn(false, true);
+        given(tokenVersionService.isCurrent(7L, 1)).willReturn(true, false);
+
+        assertThat(jwtService.isRevoked(claims)).isFalse();
+        assertThat(jwtService.isRevoked(claims)).isTrue();
+        given(bannedUserService.isBanned(7L)).willReturn(false);
+        assertThat(jwtService.isRevoked(claims)).isTrue();
+    }
+
     @Test
     @DisplayName("generateRefreshToken -> Token kaydedilmeli")
     void generateRefreshToken_Success() {
@@ -201,4 +345,13 @@ class JwtServiceTest {
         verify(refreshTokenRepository).deleteByUsername("serhat");
     }
 
-}
\ No newline at end of file
+    private String signed(String secret, String keyId) {
+        var builder = Jwts.builder()
+                .setSubject("test")
+                .setExpiration(new Date(System.currentTimeMillis() + 10000));
+        if (keyId != null) {
+            builder.setHeaderParam("kid", keyId);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret)), SignatureAlgorithm.HS256).compact();
+    }
+}
@@ -0,0 +1,121 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.entity.Role;
+import com.serhatsgr.entity.User;
+import com.serhatsgr.repository.RefreshTokenRepository;
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.service.Impl.BannedUserService;
+import com.serhatsgr.service.Impl.JwtService;
+import com.serhatsgr.service.Impl.TokenVersionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * İstek başına JWT doğrulama maliyetini karşılaştırır: eski akış (filtre + validateToken içinde üç ayrı çözme),
+ * istek başına tek doğrulama ve doğrulanmış token cache'i. Surefire tarafından çalıştırılmaz; test sınıfları
+ * derlendikten sonra main() ile (IDE'den ya da aşağıdaki komutla) başlatılır:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) com.serhatsgr.service.JwtVerificationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int USERS = 1000;
+
+    private List<String> tokens;
+    private User user;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @Setup(Level.Trial)
+    public void issueTokens() {
+        UserRepository userRepository = mock(UserRepository.class);
+        user = new User();
+        user.setId(1L);
+        user.setUsername("user");
+        user.setAuthorities(Set.of(Role.ROLE_USER));
+        given(userRepository.findByUsername(anyString())).willReturn(Optional.of(user));
+
+        // Aynı kullanıcı adıyla farklı sürelerle üretilmiş tokenlar: her biri ayrı cache kaydıdır
+        JwtService issuer = jwtService(userRepository, 0);
+        tokens = IntStream.range(0, USERS)
+                .mapToObj(i -> {
+                    ReflectionTestUtils.setField(issuer, "ACCESS_TOKEN_EXPIRY", 3600L + i);
+                    return issuer.generateAccessToken("user");
+                })
+                .toList();
+
+        uncached = jwtService(mock(UserRepository.class), 0);
+        cached = jwtService(mock(UserRepository.class), 10_000);
+    }
+
+    @Benchmark
+    public boolean tripleParse() {
+        String token = nextToken();
+        String username = uncached.extractUsername(token);
+        return username.equals(user.getUsername())
+                && uncached.extractUsername(token) != null
+                && !uncached.isTokenExpired(token);
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        return uncached.validateToken(uncached.extractAllClaim(nextToken()), user);
+    }
+
+    @Benchmark
+    public boolean cachedParse() {
+        return cached.validateToken(cached.extractAllClaim(nextToken()), user);
+    }
+
+    private String nextToken() {
+        return tokens.get(ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    private static JwtService jwtService(UserRepository userRepository, long verifiedCacheMaxSize) {
+        JwtService jwtService = new JwtService(mock(RefreshTokenRepository.class), userRepository,
+                mock(BannedUserService.class), mock(TokenVersionService.class), verifiedCacheMaxSize,
+                SECRET, "primary", "");
+        ReflectionTestUtils.setField(jwtService, "ACCESS_TOKEN_EXPIRY", 3600L);
+        ReflectionTestUtils.setField(jwtService, "REFRESH_TOKEN_EXPIRY", 60L);
+        return jwtService;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
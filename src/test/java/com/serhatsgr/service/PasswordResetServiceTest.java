@@ -12,6 +12,7 @@ import com.serhatsgr.repository.UserRepository;
 import com.serhatsgr.service.Impl.EmailService;
 import com.serhatsgr.service.Impl.JwtService;
 import com.serhatsgr.service.Impl.PasswordResetService;
+import com.serhatsgr.service.Impl.UserPrincipalCacheService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -37,6 +38,7 @@ class PasswordResetServiceTest {
     @Mock private EmailService emailService;
     @Mock private PasswordEncoder passwordEncoder;
     @Mock private JwtService jwtService;
+    @Mock private UserPrincipalCacheService userPrincipalCacheService;
 
     @InjectMocks private PasswordResetService resetService;
 
@@ -196,6 +198,7 @@ class PasswordResetServiceTest {
 
         verify(userRepository).save(user);
         verify(jwtService).revokeAllRefreshTokens("testuser");
+        verify(userPrincipalCacheService).evict("testuser");
         verify(tokenRepository).delete(token);
     }
 
@@ -0,0 +1,61 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.mapper.FilmMapper;
+import com.serhatsgr.repository.CommentBatchRepository;
+import com.serhatsgr.repository.RatingBatchRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
+import com.serhatsgr.service.Impl.CatalogVersionService;
+import com.serhatsgr.service.Impl.CommentMigrationService;
+import com.serhatsgr.service.Impl.CommentModerationService;
+import com.serhatsgr.service.Impl.CommentStreamService;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.FilmServiceImpl;
+import com.serhatsgr.service.Impl.FilmTitleIndexService;
+import com.serhatsgr.service.Impl.RatingService;
+import com.serhatsgr.service.Impl.RatingWriteBehindService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.io.IOException;
+
+/**
+ * Oylama yolunu, film güncellemesini, toplu yorum moderasyonunu ve yorum taşımayı gerçek PostgreSQL üzerinde çalıştıran testler için ortak bağlam
+ * (ON CONFLICT / RETURNING / veri değiştiren CTE / satır kilitleri H2'de birebir taklit edilemiyor).
+ */
+@Configuration
+@EnableAutoConfiguration
+@EntityScan("com.serhatsgr.entity")
+@EnableJpaRepositories("com.serhatsgr.repository")
+@Import({RatingService.class, RatingWriteBehindService.class, RatingBatchRepository.class, FilmCacheService.class,
+        CommentModerationService.class, CommentMigrationService.class, CommentBatchRepository.class, CurrentUserAccessor.class,
+        CommentStreamService.class, FilmServiceImpl.class, FilmMapper.class, FilmTitleIndexService.class,
+        CatalogVersionService.class})
+class PostgresTestDatabaseConfig {
+
+    static final int POOL_SIZE = 20;
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        // Test verisi kalıcı değil; commit başına fsync beklemesi ölçülen şey değil
+        return EmbeddedPostgres.builder()
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+    }
+
+    // Havuzsuz DataSource her transaction'da yeni bağlantı (backend process) açar
+    @Bean(destroyMethod = "close")
+    HikariDataSource dataSource(EmbeddedPostgres embeddedPostgres) {
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(embeddedPostgres.getPostgresDatabase());
+        config.setMaximumPoolSize(POOL_SIZE);
+        return new HikariDataSource(config);
+    }
+}
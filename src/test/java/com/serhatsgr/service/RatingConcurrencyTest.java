@@ -0,0 +1,163 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.RatingRequest;
+import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.MessageType;
+import com.serhatsgr.service.Impl.RatingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Oylama yolunun gerçek PostgreSQL üzerinde (ON CONFLICT / RETURNING / satır kilitleri)
+ * eşzamanlı yük altında kayıp güncelleme ve unique constraint hatası üretmediğini doğrular.
+ */
+@SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.show-sql=false",
+        "rating.aggregation.incremental=true"
+})
+class RatingConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int USERS = 1000;
+
+    @Autowired private RatingService ratingService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private long filmId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM ratings");
+        jdbcTemplate.update("DELETE FROM films");
+        jdbcTemplate.update("DELETE FROM users");
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email) VALUES (?, ?)",
+                IntStream.range(0, USERS)
+                        .mapToObj(i -> new Object[]{"voter" + i, "voter" + i + "@test.com"})
+                        .toList());
+
+        filmId = jdbcTemplate.queryForObject(
+                "INSERT INTO films (title, description, release_date, poster_url, trailer_url) " +
+                        "VALUES ('Gala', 'Açıklama', ?, 'http://p', 'http://t') RETURNING id",
+                Long.class, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("Binlerce paralel ilk oy -> Ortalama ve sayı birebir doğru olmalı")
+    void parallelFirstVotes_ExactAverageAndCount() throws Exception {
+        List<Callable<Void>> votes = new ArrayList<>();
+        long expectedSum = 0;
+        for (int i = 0; i < USERS; i++) {
+            int score = (i % 5) + 1;
+            expectedSum += score;
+            votes.add(vote("voter" + i, score));
+        }
+
+        runAll(votes);
+
+        Map<String, Object> film = filmStats();
+        assertThat(((Number) film.get("rating_count")).longValue()).isEqualTo(USERS);
+        assertThat(((Number) film.get("rating_sum")).longValue()).isEqualTo(expectedSum);
+        assertThat(((Number) film.get("average_rating")).doubleValue())
+                .isEqualTo(Math.round(expectedSum * 10.0 / USERS) / 10.0);
+    }
+
+    @Test
+    @DisplayName("Aynı kullanıcıların eşzamanlı oy/değişiklik/silme fırtınası -> İstatistik ratings tablosuyla birebir eşleşmeli")
+    void mixedVoteStorm_StatsMatchRatingsTable() throws Exception {
+        int hotUsers = 200;
+        List<Callable<Void>> operations = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String username = "voter" + (i % hotUsers);
+            if (i % 7 == 6) {
+                operations.add(unvote(username));
+            } else {
+                operations.add(vote(username, ThreadLocalRandom.current().nextInt(1, 6)));
+            }
+        }
+
+        runAll(operations);
+
+        Map<String, Object> film = filmStats();
+        Map<String, Object> actual = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS cnt, COALESCE(SUM(score), 0) AS total FROM ratings WHERE film_id = ?", filmId);
+        long count = ((Number) actual.get("cnt")).longValue();
+        long total = ((Number) actual.get("total")).longValue();
+
+        assertThat(((Number) film.get("rating_count")).longValue()).isEqualTo(count);
+        assertThat(((Number) film.get("rating_sum")).longValue()).isEqualTo(total);
+        assertThat(((Number) film.get("average_rating")).doubleValue())
+                .isEqualTo(count == 0 ? 0.0 : Math.round(total * 10.0 / count) / 10.0);
+    }
+
+    private Callable<Void> vote(String username, int score) {
+        return asUser(username, () -> ratingService.createOrUpdateRating(filmId, new RatingRequest(score)));
+    }
+
+    private Callable<Void> unvote(String username) {
+        return asUser(username, () -> {
+            try {
+                ratingService.deleteRating(filmId);
+            } catch (BaseException e) {
+                // Henüz oy vermemiş kullanıcı için RESOURCE_NOT_FOUND beklenen bir durum
+                if (e.getErrorMessage().getMessageType() != MessageType.RESOURCE_NOT_FOUND) {
+                    throw e;
+                }
+            }
+        });
+    }
+
+    private Callable<Void> asUser(String username, Runnable action) {
+        return () -> {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(username, null, List.of()));
+            try {
+                action.run();
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+            return null;
+        };
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get(); // herhangi bir constraint/deadlock hatası testi düşürür
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private Map<String, Object> filmStats() {
+        return jdbcTemplate.queryForMap(
+                "SELECT rating_sum, rating_count, average_rating FROM films WHERE id = ?", filmId);
+    }
+}
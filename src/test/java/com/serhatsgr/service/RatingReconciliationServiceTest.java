@@ -0,0 +1,57 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.RatingReconciliationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingReconciliationServiceTest {
+
+    @Mock private FilmRepository filmRepository;
+    @Mock private FilmCacheService filmCacheService;
+
+    @InjectMocks private RatingReconciliationService reconciliationService;
+
+    @Test
+    @DisplayName("reconcileRatingStats -> Sapma yoksa hiçbir film güncellenmemeli")
+    void reconcile_NoDrift() {
+        given(filmRepository.findFilmIdsWithRatingDrift()).willReturn(List.of());
+
+        int fixed = reconciliationService.reconcileRatingStats();
+
+        assertThat(fixed).isZero();
+        verify(filmRepository, never()).recomputeRatingStats(any());
+        verifyNoInteractions(filmCacheService);
+    }
+
+    @Test
+    @DisplayName("reconcileRatingStats -> Sapan her film kilitlenip yeniden hesaplanmalı, cache düşmeli")
+    void reconcile_FixesDriftedFilms() {
+        given(filmRepository.findFilmIdsWithRatingDrift()).willReturn(List.of(3L, 9L));
+
+        int fixed = reconciliationService.reconcileRatingStats();
+
+        assertThat(fixed).isEqualTo(2);
+        InOrder inOrder = inOrder(filmRepository);
+        inOrder.verify(filmRepository).lockForRatingUpdate(3L);
+        inOrder.verify(filmRepository).recomputeRatingStats(eq(3L));
+        inOrder.verify(filmRepository).lockForRatingUpdate(9L);
+        inOrder.verify(filmRepository).recomputeRatingStats(eq(9L));
+        verify(filmCacheService).evictAll(List.of(3L, 9L));
+    }
+}
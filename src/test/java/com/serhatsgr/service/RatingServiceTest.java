@@ -2,30 +2,33 @@ package com.serhatsgr.service;
 
 import com.serhatsgr.dto.RatingRequest;
 import com.serhatsgr.dto.UserRatingResponse;
-import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.Rating;
 import com.serhatsgr.entity.User;
 import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.RatingRepository;
-import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
+import com.serhatsgr.service.Impl.FilmCacheService;
 import com.serhatsgr.service.Impl.RatingService;
+import com.serhatsgr.service.Impl.RatingWriteBehindService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -34,7 +37,10 @@ class RatingServiceTest {
 
     @Mock private RatingRepository ratingRepository;
     @Mock private FilmRepository filmRepository;
-    @Mock private UserRepository userRepository;
+    @Mock private FilmCacheService filmCacheService;
+    @Mock private RatingWriteBehindService ratingWriteBehindService;
+
+    @Mock private CurrentUserAccessor currentUserAccessor;
 
     @InjectMocks private RatingService ratingService;
 
@@ -42,12 +48,6 @@ class RatingServiceTest {
 
     @BeforeEach
     void setUp() {
-        Authentication auth = mock(Authentication.class);
-        SecurityContext securityContext = mock(SecurityContext.class);
-        given(securityContext.getAuthentication()).willReturn(auth);
-        given(auth.getName()).willReturn("user");
-        SecurityContextHolder.setContext(securityContext);
-
         currentUser = new User();
         currentUser.setId(1L);
         currentUser.setUsername("user");
@@ -58,52 +58,79 @@ class RatingServiceTest {
     // ------------------------------------------------------------
 
     @Test
-    @DisplayName("createOrUpdateRating -> Yeni rating kaydedilmeli ve film istatistikleri güncellenmeli")
+    @DisplayName("createOrUpdateRating -> Yeni oy eklenmeli, toplam ve sayı tek UPDATE ile artmalı")
     void createOrUpdateRating_NewRating() {
+        ReflectionTestUtils.setField(ratingService, "incrementalAggregation", true);
         Long filmId = 10L;
-        RatingRequest req = new RatingRequest(5);
-        Film film = new Film(); film.setId(filmId);
-
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
-        given(ratingRepository.findByFilmIdAndUserId(filmId, 1L)).willReturn(Optional.empty());
-        given(ratingRepository.getAverageRating(filmId)).willReturn(4.5);
-        given(ratingRepository.getRatingCount(filmId)).willReturn(10);
 
-        ratingService.createOrUpdateRating(filmId, req);
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(filmId)).willReturn(true);
+        given(ratingRepository.insertIfAbsent(eq(filmId), eq(1L), eq(4), any(LocalDateTime.class))).willReturn(Optional.of(100L));
 
-        verify(ratingRepository).save(any(Rating.class));
-        verify(filmRepository).save(film);
+        ratingService.createOrUpdateRating(filmId, new RatingRequest(4));
 
-        assertThat(film.getAverageRating()).isEqualTo(4.5);
-        assertThat(film.getRatingCount()).isEqualTo(10);
+        verify(filmRepository).applyRatingDelta(eq(filmId), eq(4L), eq(1));
+        verify(ratingRepository, never()).updateScoreReturningPrevious(any(), any(), anyInt(), any());
+        verify(ratingRepository, never()).getAverageRating(any());
+        verify(filmCacheService).evict(filmId);
     }
 
     @Test
-    @DisplayName("createOrUpdateRating -> Var olan rating güncellenmeli")
+    @DisplayName("createOrUpdateRating -> Var olan oy güncellenmeli, sadece puan farkı uygulanmalı")
     void createOrUpdateRating_UpdateExisting() {
+        ReflectionTestUtils.setField(ratingService, "incrementalAggregation", true);
         Long filmId = 10L;
-        RatingRequest req = new RatingRequest(3);
 
-        Film film = new Film(); film.setId(filmId);
-        Rating rating = Rating.builder().user(currentUser).film(film).score(5).build();
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(filmId)).willReturn(true);
+        given(ratingRepository.insertIfAbsent(eq(filmId), eq(1L), eq(2), any(LocalDateTime.class))).willReturn(Optional.empty());
+        given(ratingRepository.updateScoreReturningPrevious(eq(filmId), eq(1L), eq(2), any(LocalDateTime.class))).willReturn(Optional.of(5));
+
+        ratingService.createOrUpdateRating(filmId, new RatingRequest(2));
+
+        verify(filmRepository).applyRatingDelta(eq(filmId), eq(-3L), eq(0));
+    }
+
+    @Test
+    @DisplayName("createOrUpdateRating -> Satır araya giren silme ile kaybolursa tekrar eklenmeli")
+    void createOrUpdateRating_RetriesWhenRowVanishes() {
+        ReflectionTestUtils.setField(ratingService, "incrementalAggregation", true);
+        Long filmId = 10L;
+
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(filmId)).willReturn(true);
+        given(ratingRepository.insertIfAbsent(eq(filmId), eq(1L), eq(3), any(LocalDateTime.class)))
+                .willReturn(Optional.empty(), Optional.of(101L));
+        given(ratingRepository.updateScoreReturningPrevious(eq(filmId), eq(1L), eq(3), any(LocalDateTime.class)))
+                .willReturn(Optional.empty());
+
+        ratingService.createOrUpdateRating(filmId, new RatingRequest(3));
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
-        given(ratingRepository.findByFilmIdAndUserId(filmId, 1L)).willReturn(Optional.of(rating));
-        given(ratingRepository.getAverageRating(filmId)).willReturn(3.0);
-        given(ratingRepository.getRatingCount(filmId)).willReturn(1);
+        verify(filmRepository).applyRatingDelta(eq(filmId), eq(3L), eq(1));
+    }
+
+    @Test
+    @DisplayName("createOrUpdateRating (tam hesaplama) -> Film satırı kilitlenip ratings'ten yeniden hesaplanmalı")
+    void createOrUpdateRating_FullRecompute() {
+        Long filmId = 10L;
+
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(filmId)).willReturn(true);
+        given(ratingRepository.insertIfAbsent(eq(filmId), eq(1L), eq(5), any(LocalDateTime.class))).willReturn(Optional.of(100L));
 
-        ratingService.createOrUpdateRating(filmId, req);
+        ratingService.createOrUpdateRating(filmId, new RatingRequest(5));
 
-        assertThat(rating.getScore()).isEqualTo(3);
-        verify(ratingRepository).save(rating);
+        InOrder inOrder = inOrder(filmRepository);
+        inOrder.verify(filmRepository).lockForRatingUpdate(filmId);
+        inOrder.verify(filmRepository).recomputeRatingStats(eq(filmId));
+        verify(filmRepository, never()).applyRatingDelta(any(), anyLong(), anyInt());
+        verify(filmCacheService).evict(filmId);
     }
 
     @Test
     @DisplayName("createOrUpdateRating -> Kullanıcı bulunamazsa hata fırlatmalı")
     void createOrUpdateRating_UserNotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable ex = catchThrowable(() ->
                 ratingService.createOrUpdateRating(5L, new RatingRequest(5))
@@ -118,8 +145,8 @@ class RatingServiceTest {
     @Test
     @DisplayName("createOrUpdateRating -> Film bulunamazsa hata fırlatmalı")
     void createOrUpdateRating_FilmNotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(filmRepository.findById(10L)).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(10L)).willReturn(false);
 
         Throwable ex = catchThrowable(() ->
                 ratingService.createOrUpdateRating(10L, new RatingRequest(5))
@@ -129,6 +156,21 @@ class RatingServiceTest {
                 .isInstanceOf(BaseException.class)
                 .extracting("errorMessage.messageType")
                 .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+        verifyNoInteractions(ratingRepository);
+    }
+
+    @Test
+    @DisplayName("createOrUpdateRating (write-behind) -> Oy tampona alınmalı, veritabanına yazılmamalı")
+    void createOrUpdateRating_WriteBehind() {
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(filmRepository.existsById(10L)).willReturn(true);
+        given(ratingWriteBehindService.isEnabled()).willReturn(true);
+
+        ratingService.createOrUpdateRating(10L, new RatingRequest(4));
+
+        verify(ratingWriteBehindService).enqueueScore(10L, 1L, 4);
+        verifyNoInteractions(ratingRepository, filmCacheService);
+        verify(filmRepository, never()).applyRatingDelta(any(), anyLong(), anyInt());
     }
 
     // ------------------------------------------------------------
@@ -136,27 +178,54 @@ class RatingServiceTest {
     // ------------------------------------------------------------
 
     @Test
-    @DisplayName("deleteRating -> Silme başarılı olmalı")
+    @DisplayName("deleteRating -> Silinen puan toplamdan düşülmeli")
     void deleteRating_Success() {
-        Long filmId = 10L;
-        Film film = new Film(); film.setId(filmId);
-        Rating rating = new Rating();
+        ReflectionTestUtils.setField(ratingService, "incrementalAggregation", true);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(ratingRepository.findByFilmIdAndUserId(filmId, 1L)).willReturn(Optional.of(rating));
-        given(filmRepository.findById(filmId)).willReturn(Optional.of(film));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(ratingRepository.deleteReturningScore(10L, 1L)).willReturn(Optional.of(3));
 
-        ratingService.deleteRating(filmId);
+        ratingService.deleteRating(10L);
 
-        verify(ratingRepository).delete(rating);
-        verify(filmRepository).save(film);
+        verify(filmRepository).applyRatingDelta(eq(10L), eq(-3L), eq(-1));
+        verify(filmRepository, never()).findById(any());
+        verify(filmCacheService).evict(10L);
     }
 
     @Test
     @DisplayName("deleteRating -> Rating bulunamazsa hata fırlatmalı")
     void deleteRating_NotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(ratingRepository.findByFilmIdAndUserId(10L, 1L)).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(ratingRepository.deleteReturningScore(10L, 1L)).willReturn(Optional.empty());
+
+        Throwable ex = catchThrowable(() -> ratingService.deleteRating(10L));
+
+        assertThat(ex)
+                .isInstanceOf(BaseException.class)
+                .extracting("errorMessage.messageType")
+                .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+        verifyNoInteractions(filmRepository);
+    }
+
+    @Test
+    @DisplayName("deleteRating (write-behind) -> Tampondaki oy için silme isteği tampona alınmalı")
+    void deleteRating_WriteBehind_PendingVote() {
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(ratingWriteBehindService.isEnabled()).willReturn(true);
+        given(ratingWriteBehindService.pendingScore(10L, 1L)).willReturn(Optional.of(5));
+
+        ratingService.deleteRating(10L);
+
+        verify(ratingWriteBehindService).enqueueDelete(10L, 1L);
+        verifyNoInteractions(ratingRepository, filmRepository);
+    }
+
+    @Test
+    @DisplayName("deleteRating (write-behind) -> Tamponda zaten silinmişse hata fırlatmalı")
+    void deleteRating_WriteBehind_AlreadyDeleted() {
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(ratingWriteBehindService.isEnabled()).willReturn(true);
+        given(ratingWriteBehindService.pendingScore(10L, 1L)).willReturn(Optional.of(RatingWriteBehindService.DELETED));
 
         Throwable ex = catchThrowable(() -> ratingService.deleteRating(10L));
 
@@ -164,6 +233,7 @@ class RatingServiceTest {
                 .isInstanceOf(BaseException.class)
                 .extracting("errorMessage.messageType")
                 .isEqualTo(MessageType.RESOURCE_NOT_FOUND);
+        verify(ratingWriteBehindService, never()).enqueueDelete(any(), any());
     }
 
     // ------------------------------------------------------------
@@ -176,7 +246,7 @@ class RatingServiceTest {
         Rating r = new Rating();
         r.setScore(4);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(ratingRepository.findByFilmIdAndUserId(10L, 1L)).willReturn(Optional.of(r));
 
         UserRatingResponse res = ratingService.getUserRating(10L);
@@ -187,7 +257,7 @@ class RatingServiceTest {
     @Test
     @DisplayName("getUserRating -> Kullanıcı hiç puan vermemişse 0 dönmeli")
     void getUserRating_NoRating() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(ratingRepository.findByFilmIdAndUserId(10L, 1L)).willReturn(Optional.empty());
 
         UserRatingResponse res = ratingService.getUserRating(10L);
@@ -195,10 +265,22 @@ class RatingServiceTest {
         assertThat(res.score()).isEqualTo(0);
     }
 
+    @Test
+    @DisplayName("getUserRating -> Tamponda bekleyen oy veritabanındakinden önce dönmeli")
+    void getUserRating_PendingVote() {
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(ratingWriteBehindService.pendingScore(10L, 1L)).willReturn(Optional.of(2));
+
+        UserRatingResponse res = ratingService.getUserRating(10L);
+
+        assertThat(res.score()).isEqualTo(2);
+        verifyNoInteractions(ratingRepository);
+    }
+
     @Test
     @DisplayName("getUserRating -> Kullanıcı bulunamazsa hata fırlatmalı")
     void getUserRating_UserNotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable ex = catchThrowable(() -> ratingService.getUserRating(10L));
 
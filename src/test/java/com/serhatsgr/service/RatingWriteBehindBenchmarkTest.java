@@ -0,0 +1,177 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.dto.RatingRequest;
+import com.serhatsgr.service.Impl.RatingService;
+import com.serhatsgr.service.Impl.RatingWriteBehindService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prömiyer benzeri oy fırtınasında senkron yol ile write-behind tamponunun verimini karşılaştırır.
+ * Uzun sürdüğü için varsayılan derlemede çalışmaz:
+ * {@code mvn test -Dtest=RatingWriteBehindBenchmarkTest -Dbenchmark=true [-Dbenchmark.ops=20000]}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class RatingWriteBehindBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int USERS = 2000;
+    private static final int FILMS = 3;
+    private static final int OPERATIONS = Integer.getInteger("benchmark.ops", 8000);
+    private static final int WARMUP_OPERATIONS = 1000;
+
+    private static final Map<String, Double> OPS_PER_SECOND = new LinkedHashMap<>();
+
+    @AfterAll
+    static void report() {
+        OPS_PER_SECOND.forEach((mode, ops) -> System.out.printf("%-12s %10.0f oy/sn%n", mode, ops));
+        Double sync = OPS_PER_SECOND.get("senkron");
+        Double buffered = OPS_PER_SECOND.get("write-behind");
+        if (sync != null && buffered != null) {
+            System.out.printf("write-behind / senkron = %.1fx%n", buffered / sync);
+        }
+    }
+
+    @Nested
+    @SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+    @TestPropertySource(properties = {
+            "spring.flyway.enabled=true",
+            "spring.jpa.hibernate.ddl-auto=none",
+            "spring.jpa.show-sql=false",
+            "rating.write-behind.enabled=false"
+    })
+    class Synchronous extends Scenario {
+
+        @Test
+        @DisplayName("Senkron yol: her oy ayrı transaction")
+        void throughput() throws Exception {
+            measure("senkron");
+        }
+    }
+
+    @Nested
+    @SpringBootTest(classes = PostgresTestDatabaseConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+    @TestPropertySource(properties = {
+            "spring.flyway.enabled=true",
+            "spring.jpa.hibernate.ddl-auto=none",
+            "spring.jpa.show-sql=false",
+            "rating.write-behind.enabled=true"
+    })
+    class WriteBehind extends Scenario {
+
+        @Test
+        @DisplayName("Write-behind: oylar birleştirilip batch ile yazılır")
+        void throughput() throws Exception {
+            measure("write-behind");
+        }
+    }
+
+    abstract static class Scenario {
+
+        @Autowired private RatingService ratingService;
+        @Autowired private RatingWriteBehindService ratingWriteBehindService;
+        @Autowired private JdbcTemplate jdbcTemplate;
+
+        void measure(String mode) throws Exception {
+            List<Long> filmIds = seed();
+
+            // Isınma turu (JIT, bağlantı havuzu, Hibernate sorgu planları) ölçüme dahil değil
+            runVotes(votes(filmIds, WARMUP_OPERATIONS, new Random(7)));
+            ratingWriteBehindService.flush();
+
+            // Sabit tohum: iki mod da aynı oy dizisini işler
+            List<Callable<Void>> votes = votes(filmIds, OPERATIONS, new Random(42));
+
+            long start = System.nanoTime();
+            runVotes(votes);
+            // Adil karşılaştırma: tampondaki son oylar da veritabanına yazılana kadar ölçülür
+            ratingWriteBehindService.flush();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            OPS_PER_SECOND.put(mode, OPERATIONS / seconds);
+
+            for (Long filmId : filmIds) {
+                Map<String, Object> film = jdbcTemplate.queryForMap(
+                        "SELECT rating_sum, rating_count FROM films WHERE id = ?", filmId);
+                Map<String, Object> actual = jdbcTemplate.queryForMap(
+                        "SELECT COUNT(*) AS cnt, COALESCE(SUM(score), 0) AS total FROM ratings WHERE film_id = ?", filmId);
+                assertThat(((Number) film.get("rating_count")).longValue()).isEqualTo(((Number) actual.get("cnt")).longValue());
+                assertThat(((Number) film.get("rating_sum")).longValue()).isEqualTo(((Number) actual.get("total")).longValue());
+            }
+        }
+
+        private List<Callable<Void>> votes(List<Long> filmIds, int count, Random random) {
+            List<Callable<Void>> votes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String username = "voter" + random.nextInt(USERS);
+                Long filmId = filmIds.get(random.nextInt(FILMS));
+                int score = random.nextInt(5) + 1;
+                votes.add(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(username, null, List.of()));
+                    try {
+                        ratingService.createOrUpdateRating(filmId, new RatingRequest(score));
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                    return null;
+                });
+            }
+            return votes;
+        }
+
+        private void runVotes(List<Callable<Void>> votes) throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                for (Future<Void> future : executor.invokeAll(votes)) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            }
+        }
+
+        private List<Long> seed() {
+            jdbcTemplate.update("DELETE FROM ratings");
+            jdbcTemplate.update("DELETE FROM films");
+            jdbcTemplate.update("DELETE FROM users");
+
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, email) VALUES (?, ?)",
+                    IntStream.range(0, USERS)
+                            .mapToObj(i -> new Object[]{"voter" + i, "voter" + i + "@test.com"})
+                            .toList());
+
+            return IntStream.range(0, FILMS)
+                    .mapToObj(i -> jdbcTemplate.queryForObject(
+                            "INSERT INTO films (title, description, release_date, poster_url, trailer_url) " +
+                                    "VALUES (?, 'Açıklama', ?, ?, ?) RETURNING id",
+                            Long.class, "Gala " + i, LocalDate.now(), "http://p/" + i, "http://t/" + i))
+                    .toList();
+        }
+    }
+}
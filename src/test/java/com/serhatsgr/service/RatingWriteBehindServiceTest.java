@@ -0,0 +1,158 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.repository.FilmRepository;
+import com.serhatsgr.repository.RatingBatchRepository;
+import com.serhatsgr.repository.RatingBatchRepository.ScoreWrite;
+import com.serhatsgr.service.Impl.FilmCacheService;
+import com.serhatsgr.service.Impl.RatingWriteBehindService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingWriteBehindServiceTest {
+
+    @Mock private RatingBatchRepository ratingBatchRepository;
+    @Mock private FilmRepository filmRepository;
+    @Mock private FilmCacheService filmCacheService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private RatingWriteBehindService service;
+
+    @BeforeEach
+    void setUp() {
+        service = create(1000);
+    }
+
+    @Test
+    @DisplayName("enqueue -> Aynı (film, kullanıcı) için sadece son oy tutulmalı")
+    void enqueue_LastVoteWins() {
+        service.enqueueScore(10L, 1L, 2);
+        service.enqueueScore(10L, 1L, 5);
+        service.enqueueScore(10L, 1L, 3);
+
+        assertThat(service.pendingCount()).isEqualTo(1);
+        assertThat(service.pendingScore(10L, 1L)).contains(3);
+
+        service.enqueueDelete(10L, 1L);
+
+        assertThat(service.pendingCount()).isEqualTo(1);
+        assertThat(service.pendingScore(10L, 1L)).contains(RatingWriteBehindService.DELETED);
+    }
+
+    @Test
+    @DisplayName("flush -> Oylar ve silmeler batch ile yazılmalı, her film bir kez yeniden hesaplanmalı")
+    void flush_WritesBatchesAndRecomputesEachFilmOnce() {
+        service.enqueueScore(20L, 2L, 4);
+        service.enqueueScore(10L, 1L, 1);
+        service.enqueueScore(10L, 1L, 5);
+        service.enqueueDelete(10L, 3L);
+
+        int flushed = service.flush();
+
+        assertThat(flushed).isEqualTo(3);
+        assertThat(service.pendingCount()).isZero();
+        verify(ratingBatchRepository).upsertScores(
+                eq(List.of(new ScoreWrite(10L, 1L, 5), new ScoreWrite(20L, 2L, 4))), eq(500), any(LocalDateTime.class));
+        verify(ratingBatchRepository).deleteScores(List.of(new ScoreWrite(10L, 3L, RatingWriteBehindService.DELETED)), 500);
+
+        InOrder inOrder = inOrder(filmRepository);
+        inOrder.verify(filmRepository).lockForRatingUpdate(10L);
+        inOrder.verify(filmRepository).recomputeRatingStats(eq(10L));
+        inOrder.verify(filmRepository).lockForRatingUpdate(20L);
+        inOrder.verify(filmRepository).recomputeRatingStats(eq(20L));
+        verify(filmCacheService).evictAll(Set.of(10L, 20L));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("flush -> Yazma sürerken boşaltılan oy okunabilmeli, commit sonrası tampondan düşmeli")
+    void flush_InFlightScoreVisibleUntilCommit() {
+        service.enqueueScore(10L, 1L, 4);
+        willAnswer(invocation -> {
+            assertThat(service.pendingCount()).isZero();
+            assertThat(service.pendingScore(10L, 1L)).contains(4);
+            return null;
+        }).given(ratingBatchRepository).upsertScores(anyList(), anyInt(), any(LocalDateTime.class));
+
+        assertThat(service.flush()).isEqualTo(1);
+
+        assertThat(service.pendingScore(10L, 1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush -> Boş tamponda veritabanına gidilmemeli")
+    void flush_EmptyBuffer() {
+        assertThat(service.flush()).isZero();
+
+        verifyNoInteractions(ratingBatchRepository, filmRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("flush -> Yazma başarısız olursa oylar kaybolmamalı ve sonraki flush'ta yazılmalı")
+    void flush_RequeuesOnFailure() {
+        willThrow(new DataAccessResourceFailureException("bağlantı koptu"))
+                .willDoNothing()
+                .given(ratingBatchRepository).upsertScores(anyList(), anyInt(), any(LocalDateTime.class));
+
+        service.enqueueScore(10L, 1L, 4);
+
+        assertThat(service.flush()).isZero();
+        assertThat(service.pendingScore(10L, 1L)).contains(4);
+        verify(transactionManager).rollback(any());
+
+        // Hata sonrası gelen daha yeni oy geri konan eski oyu ezmeli
+        service.enqueueScore(10L, 1L, 2);
+        assertThat(service.flush()).isEqualTo(1);
+        verify(ratingBatchRepository).upsertScores(
+                eq(List.of(new ScoreWrite(10L, 1L, 2))), eq(500), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("enqueue -> Bekleyen oy sayısı eşiğe ulaşınca arka planda flush tetiklenmeli")
+    void enqueue_TriggersFlushAtThreshold() {
+        service = create(2);
+
+        service.enqueueScore(10L, 1L, 4);
+        service.enqueueScore(10L, 2L, 3);
+
+        verify(ratingBatchRepository, timeout(2000)).upsertScores(anyList(), eq(500), any(LocalDateTime.class));
+        verify(filmCacheService, timeout(2000)).evictAll(Set.of(10L));
+    }
+
+    @Test
+    @DisplayName("shutdown -> Kapanışta bekleyen oylar yazılmalı")
+    void shutdown_FlushesPendingVotes() throws InterruptedException {
+        service.enqueueScore(10L, 1L, 4);
+
+        service.shutdown();
+
+        assertThat(service.pendingCount()).isZero();
+        verify(ratingBatchRepository).upsertScores(
+                eq(List.of(new ScoreWrite(10L, 1L, 4))), eq(500), any(LocalDateTime.class));
+    }
+
+    private RatingWriteBehindService create(int maxPending) {
+        return new RatingWriteBehindService(ratingBatchRepository, filmRepository, filmCacheService,
+                new TransactionTemplate(transactionManager), true, maxPending, 500, 4);
+    }
+}
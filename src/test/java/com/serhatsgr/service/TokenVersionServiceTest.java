@@ -0,0 +1,98 @@
+package com.serhatsgr.service;
+
+import com.serhatsgr.entity.RevokedUserToken;
+import com.serhatsgr.repository.RevokedUserTokenRepository;
+import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.repository.projection.UserTokenVersion;
+import com.serhatsgr.service.Impl.TokenVersionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionServiceTest {
+
+    @Mock private UserRepository userRepository;
+    @Mock private RevokedUserTokenRepository revokedUserTokenRepository;
+
+    @InjectMocks private TokenVersionService tokenVersionService;
+
+    @Test
+    @DisplayName("isCurrent -> Tablo ilk okumada bir kez yüklenmeli, eski sürümlü token reddedilmeli")
+    void isCurrent_LoadsOnce() {
+        given(userRepository.findRaisedTokenVersions()).willReturn(List.of(new UserTokenVersion(3L, 2)));
+
+        assertThat(tokenVersionService.isCurrent(3L, 1)).isFalse();
+        assertThat(tokenVersionService.isCurrent(3L, 2)).isTrue();
+        // Tabloda olmayan kullanıcının sürümü 0 kabul edilir
+        assertThat(tokenVersionService.isCurrent(4L, 0)).isTrue();
+
+        verify(userRepository, times(1)).findRaisedTokenVersions();
+    }
+
+    @Test
+    @DisplayName("refresh -> Silinen kullanıcının iptal kaydı yenilemede kaybolmamalı, sürümler geri gitmemeli")
+    void refresh_KeepsLocalRevocations() {
+        given(userRepository.findRaisedTokenVersions())
+                .willReturn(List.of(new UserTokenVersion(1L, 5)))
+                .willReturn(List.of(new UserTokenVersion(1L, 4)));
+        tokenVersionService.refresh();
+
+        tokenVersionService.markRevoked(9L, TokenVersionService.REVOKED_FOREVER);
+        tokenVersionService.refresh();
+
+        assertThat(tokenVersionService.isCurrent(9L, 100)).isFalse();
+        assertThat(tokenVersionService.isCurrent(1L, 4)).isFalse();
+        assertThat(tokenVersionService.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("revokeForever -> Silinen kullanıcının iptali kalıcı yazılmalı, yeni instance yüklemede okumalı")
+    void revokeForever_SurvivesRestart() {
+        given(userRepository.findRaisedTokenVersions()).willReturn(List.of());
+        tokenVersionService.revokeForever(9L);
+
+        verify(revokedUserTokenRepository).save(any(RevokedUserToken.class));
+        assertThat(tokenVersionService.isCurrent(9L, 0)).isFalse();
+
+        // Yeniden başlayan (veya başka) instance: bellek boş, kayıt tablodan gelir
+        TokenVersionService restarted = new TokenVersionService(userRepository, revokedUserTokenRepository);
+        given(revokedUserTokenRepository.findAllUserIds()).willReturn(List.of(9L));
+
+        assertThat(restarted.isCurrent(9L, 0)).isFalse();
+        assertThat(restarted.isCurrent(9L, 100)).isFalse();
+    }
+
+    @Test
+    @DisplayName("markRevoked -> Transaction içinde artırılan sürüm commit'ten önce görünmemeli")
+    void markRevoked_AppliedAfterCommit() {
+        given(userRepository.findRaisedTokenVersions()).willReturn(List.of());
+        tokenVersionService.refresh();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            tokenVersionService.markRevoked(7L, 1);
+            assertThat(tokenVersionService.isCurrent(7L, 0)).isTrue();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(tokenVersionService.isCurrent(7L, 0)).isFalse();
+        assertThat(tokenVersionService.isCurrent(7L, 1)).isTrue();
+    }
+}
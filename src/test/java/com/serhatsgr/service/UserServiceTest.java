@@ -10,15 +10,23 @@ import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.UserMapper;
 import com.serhatsgr.repository.CommentRepository;
 import com.serhatsgr.repository.UserRepository;
+import com.serhatsgr.service.Impl.BannedUserService;
+import com.serhatsgr.service.Impl.TokenVersionService;
+import com.serhatsgr.service.Impl.UserPrincipalCacheService;
 import com.serhatsgr.service.Impl.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.time.Duration;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -26,6 +34,7 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +44,11 @@ class UserServiceTest {
     @Mock private CommentRepository commentRepository;
     @Mock private UserMapper userMapper;
     @Mock private BCryptPasswordEncoder passwordEncoder;
+    @Mock private BannedUserService bannedUserService;
+    @Mock private TokenVersionService tokenVersionService;
+
+    // Gerçek cache: yükleme ve geçersiz kılma birlikte doğrulanır
+    @Spy private UserPrincipalCacheService userPrincipalCacheService = new UserPrincipalCacheService(100, Duration.ofMinutes(5));
 
     @InjectMocks private UserService userService;
 
@@ -120,6 +134,59 @@ class UserServiceTest {
 
         assertThat(result.getUsername()).isEqualTo("newName");
         assertThat(result.getEmail()).isEqualTo("new@mail.com");
+        // Eski kullanıcı adını taşıyan tokenlar geçersiz olmalı
+        assertThat(result.getTokenVersion()).isEqualTo(1);
+        verify(tokenVersionService).markRevoked(null, 1);
+        verify(userPrincipalCacheService).evict("oldName");
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername -> Form girişi cache'e bakmadan her seferinde veritabanından yüklemeli")
+    void loadUserByUsername_NotCached() {
+        User user = new User();
+        user.setUsername("ali");
+        user.setPassword("hash");
+        given(userRepository.findByUsername("ali")).willReturn(Optional.of(user));
+
+        assertThat(userService.loadUserByUsername("ali").getPassword()).isEqualTo("hash");
+        userService.loadUserByUsername("ali");
+
+        verify(userRepository, times(2)).findByUsername("ali");
+        assertThat(userPrincipalCacheService.stats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("loadCachedPrincipal -> Kullanıcı görüntüsü cache'lenmeli, ban sonrası yeniden yüklenmeli")
+    void loadCachedPrincipal_CachedUntilBan() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("ali");
+        user.setPassword("hash");
+        user.setAuthorities(new HashSet<>(Set.of(Role.ROLE_USER)));
+        given(userRepository.findByUsername("ali")).willReturn(Optional.of(user));
+        given(userRepository.findById(5L)).willReturn(Optional.of(user));
+        given(userRepository.save(user)).willReturn(user);
+
+        UserDetails first = userService.loadCachedPrincipal("ali");
+        assertThat(userService.loadCachedPrincipal("ali")).isSameAs(first);
+        assertThat(first.isEnabled()).isTrue();
+        assertThat(first.getPassword()).isNull();
+
+        userService.toggleUserBan(5L);
+
+        assertThat(userService.loadCachedPrincipal("ali").isEnabled()).isFalse();
+        verify(userRepository, times(2)).findByUsername("ali");
+        assertThat(userPrincipalCacheService.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("loadCachedPrincipal -> Bulunamayan kullanıcı cache'lenmemeli")
+    void loadCachedPrincipal_NotFound() {
+        given(userRepository.findByUsername("yok")).willReturn(Optional.empty());
+
+        assertThat(catchThrowable(() -> userService.loadCachedPrincipal("yok")))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThat(userPrincipalCacheService.stats().size()).isZero();
     }
 
     @Test
@@ -167,6 +234,44 @@ class UserServiceTest {
 
         verify(commentRepository).deleteByUserId(1L);
         verify(userRepository).deleteById(1L);
+        verify(bannedUserService).markBanned(1L, false);
+        verify(tokenVersionService).revokeForever(1L);
+        verify(userPrincipalCacheService).evictById(1L);
+    }
+
+    @Test
+    @DisplayName("toggleUserBan -> Aktif kullanıcı banlanmalı ve ban kümesine eklenmeli")
+    void toggleUserBan_Ban() {
+        User user = new User();
+        user.setId(5L);
+        user.setUsername("spam");
+        given(userRepository.findById(5L)).willReturn(Optional.of(user));
+        given(userRepository.save(user)).willReturn(user);
+
+        var result = userService.toggleUserBan(5L);
+
+        assertThat(result.isEnabled()).isFalse();
+        verify(bannedUserService).markBanned(5L, true);
+        verify(tokenVersionService).markRevoked(5L, 1);
+    }
+
+    @Test
+    @DisplayName("toggleUserRole -> Rol değişince token sürümü artırılmalı")
+    void toggleUserRole_RaisesTokenVersion() {
+        User user = new User();
+        user.setId(6L);
+        user.setUsername("mod");
+        user.setTokenVersion(2);
+        user.setAuthorities(new HashSet<>(Set.of(Role.ROLE_USER)));
+        given(userRepository.findById(6L)).willReturn(Optional.of(user));
+        given(userRepository.save(user)).willReturn(user);
+
+        var result = userService.toggleUserRole(6L);
+
+        assertThat(result.roles()).containsExactly("ROLE_ADMIN");
+        assertThat(user.getTokenVersion()).isEqualTo(3);
+        verify(tokenVersionService).markRevoked(6L, 3);
+        verify(userPrincipalCacheService).evict("mod");
     }
 
     @Test
@@ -5,11 +5,13 @@ import com.serhatsgr.entity.Film;
 import com.serhatsgr.entity.User;
 import com.serhatsgr.entity.Watched;
 import com.serhatsgr.exception.BaseException;
+import com.serhatsgr.exception.ErrorMessage;
 import com.serhatsgr.exception.MessageType;
 import com.serhatsgr.mapper.FilmMapper;
 import com.serhatsgr.repository.FilmRepository;
 import com.serhatsgr.repository.UserRepository;
 import com.serhatsgr.repository.WatchedRepository;
+import com.serhatsgr.security.CurrentUserAccessor;
 import com.serhatsgr.service.Impl.WatchedService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +20,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +27,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -39,19 +40,14 @@ class WatchedServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private FilmMapper filmMapper;
 
+    @Mock private CurrentUserAccessor currentUserAccessor;
+
     @InjectMocks private WatchedService watchedService;
 
     private User currentUser;
 
     @BeforeEach
     void setUp() {
-        Authentication auth = mock(Authentication.class);
-        SecurityContext sec = mock(SecurityContext.class);
-
-        given(sec.getAuthentication()).willReturn(auth);
-        given(auth.getName()).willReturn("user");
-        SecurityContextHolder.setContext(sec);
-
         currentUser = new User();
         currentUser.setId(1L);
         currentUser.setUsername("user");
@@ -63,9 +59,11 @@ class WatchedServiceTest {
         Long filmId = 5L;
         Film film = new Film(); film.setId(filmId);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(watchedRepository.existsByUserIdAndFilmId(1L, 5L)).willReturn(false);
-        given(filmRepository.findById(5L)).willReturn(Optional.of(film));
+        given(filmRepository.existsById(5L)).willReturn(true);
+        given(userRepository.getReferenceById(currentUser.getId())).willReturn(currentUser);
+        given(filmRepository.getReferenceById(5L)).willReturn(film);
 
         watchedService.markAsWatched(5L);
 
@@ -75,7 +73,7 @@ class WatchedServiceTest {
     @Test
     @DisplayName("markAsWatched -> Kullanıcı bulunamazsa hata fırlatmalı")
     void markAsWatched_UserNotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.empty());
+        given(currentUserAccessor.getId()).willThrow(new BaseException(new ErrorMessage(MessageType.RESOURCE_NOT_FOUND, "Kullanıcı bulunamadı")));
 
         Throwable thrown = catchThrowable(() -> watchedService.markAsWatched(5L));
 
@@ -88,9 +86,9 @@ class WatchedServiceTest {
     @Test
     @DisplayName("markAsWatched -> Film bulunamazsa hata fırlatmalı")
     void markAsWatched_FilmNotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(watchedRepository.existsByUserIdAndFilmId(1L, 5L)).willReturn(false);
-        given(filmRepository.findById(5L)).willReturn(Optional.empty());
+        given(filmRepository.existsById(5L)).willReturn(false);
 
         Throwable thrown = catchThrowable(() -> watchedService.markAsWatched(5L));
 
@@ -105,7 +103,7 @@ class WatchedServiceTest {
     void unmarkWatched_Success() {
         Watched watched = new Watched();
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(watchedRepository.findByUserIdAndFilmId(1L, 5L)).willReturn(Optional.of(watched));
 
         watchedService.unmarkWatched(5L);
@@ -116,7 +114,7 @@ class WatchedServiceTest {
     @Test
     @DisplayName("unmarkWatched -> Kayıt bulunamazsa hata")
     void unmarkWatched_NotFound() {
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
         given(watchedRepository.findByUserIdAndFilmId(1L, 5L)).willReturn(Optional.empty());
 
         Throwable thrown = catchThrowable(() -> watchedService.unmarkWatched(5L));
@@ -130,11 +128,11 @@ class WatchedServiceTest {
     @Test
     @DisplayName("getMyWatchedList -> Liste döner")
     void getMyWatchedList_Success() {
-        Watched w = new Watched(); w.setFilm(new Film());
+        Film film = new Film(); film.setId(3L);
 
-        given(userRepository.findByUsername("user")).willReturn(Optional.of(currentUser));
-        given(watchedRepository.findAllByUserId(1L)).willReturn(List.of(w));
-        given(filmMapper.toDto(any())).willReturn(new DtoFilm());
+        given(currentUserAccessor.getId()).willReturn(currentUser.getId());
+        given(watchedRepository.findFilmsByUserId(1L)).willReturn(List.of(film));
+        given(filmMapper.toDtoList(anyList(), anyMap())).willReturn(List.of(new DtoFilm()));
 
         List<DtoFilm> result = watchedService.getMyWatchedList();
 